@@ -0,0 +1,70 @@
+package com.portifolio.apiintegration.benchmark;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da estrutura do Caffeine em acerto e falta, com tamanho máximo e expiração.
+ * Não reproduz o cache "addresses": sem loader, refresh-after-write nem weigher, a falta aqui
+ * é só um {@code put}, sem a recarga que o cache real dispara.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class AddressCacheBenchmark {
+
+    private static final int ENTRADAS = 1000;
+
+    private Cache<Object, Object> cache;
+    private AddressResponse endereco;
+
+    @Setup
+    public void setUp() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(ENTRADAS)
+                .expireAfterWrite(Duration.ofMinutes(65))
+                .recordStats()
+                .build();
+        endereco = new AddressResponse("01310-100", "Avenida Paulista", null, "Bela Vista",
+                "São Paulo", "São Paulo", "SP", "11");
+        for (int i = 0; i < ENTRADAS; i++) {
+            cache.put(1310100 + i, endereco);
+        }
+    }
+
+    @Benchmark
+    public Object acerto() {
+        return cache.getIfPresent(1310100 + ThreadLocalRandom.current().nextInt(ENTRADAS));
+    }
+
+    @Benchmark
+    public Object faltaComCarga() {
+        int chave = 20_000_000 + ThreadLocalRandom.current().nextInt(1_000_000);
+        Object valor = cache.getIfPresent(chave);
+        if (valor == null) {
+            cache.put(chave, endereco);
+            valor = endereco;
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,110 @@
+package com.portifolio.apiintegration.benchmark;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.portifolio.apiintegration.ApiIntegrationSystemApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Caminho completo GET /api/v1/address/cep/{cep}: Tomcat, controller, cache e cliente HTTP,
+ * com o ViaCEP substituído por um stub WireMock local.
+ *
+ * <p>Token bucket, limite adaptativo e bulkhead ficam desligados e o ViaCEP é o único provedor:
+ * com eles, {@code faltaNoCache} mediria a espera pelos limites (20 chamadas/s) ou a recusa, e o
+ * roteador poderia mandar a consulta aos provedores reais.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddressControllerBenchmark {
+
+    private WireMockServer viaCep;
+    private ConfigurableApplicationContext contexto;
+    private CacheManager cacheManager;
+    private HttpClient httpClient;
+    private HttpRequest requisicao;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        viaCep = new WireMockServer(options().dynamicPort());
+        viaCep.start();
+        viaCep.stubFor(get(urlPathMatching("/ws/\\d{8}/json/"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(ViaCepMappingBenchmark.RESPOSTA_VIACEP)));
+
+        contexto = SpringApplication.run(ApiIntegrationSystemApplication.class,
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.portifolio.apiintegration=WARN",
+                "--address.disk-cache.enabled=false",
+                "--address.providers.order=viacep",
+                "--address.providers.explore-ratio=0",
+                "--external-apis.brasilapi.enabled=false",
+                "--external-apis.opencep.enabled=false",
+                "--external-apis.viacep.rate-limiter.enabled=false",
+                "--external-apis.viacep.adaptive-concurrency.enabled=false",
+                "--external-apis.viacep.bulkhead.enabled=false",
+                "--external-apis.viacep.base-url=" + viaCep.baseUrl() + "/ws");
+        cacheManager = contexto.getBean(CacheManager.class);
+
+        int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        httpClient = HttpClient.newHttpClient();
+        requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/v1/address/cep/01310-100"))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+        viaCep.stop();
+    }
+
+    @State(Scope.Benchmark)
+    public static class CacheVazio {
+
+        @Setup(Level.Invocation)
+        public void limpar(AddressControllerBenchmark benchmark) {
+            benchmark.cacheManager.getCache("addresses").clear();
+        }
+    }
+
+    @Benchmark
+    public String acertoNoCache() throws Exception {
+        return httpClient.send(requisicao, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public String faltaNoCache(CacheVazio cacheVazio) throws Exception {
+        return httpClient.send(requisicao, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
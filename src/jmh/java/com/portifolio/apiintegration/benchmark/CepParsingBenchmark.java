@@ -0,0 +1,50 @@
+package com.portifolio.apiintegration.benchmark;
+
+import com.portifolio.apiintegration.domain.Cep;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limpeza e validação de CEP: caminho com regex (limparCep/validarCep do ViaCepClient)
+ * comparado à normalização direta para chave inteira.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepParsingBenchmark {
+
+    @Param({"01310100", "01310-100"})
+    public String cep;
+
+    @Benchmark
+    public String regex() {
+        String limpo = cep.replaceAll("[^0-9]", "");
+        if (limpo.length() != 8 || !limpo.matches("\\d{8}")) {
+            throw new IllegalArgumentException(cep);
+        }
+        return limpo;
+    }
+
+    @Benchmark
+    public int chaveInteira() {
+        return Cep.chave(cep);
+    }
+
+    @Benchmark
+    public String chaveFormatada() {
+        return Cep.formatar(Cep.chave(cep));
+    }
+}
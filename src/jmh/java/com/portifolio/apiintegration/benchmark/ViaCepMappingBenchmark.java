@@ -0,0 +1,98 @@
+package com.portifolio.apiintegration.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portifolio.apiintegration.client.viacep.ViaCepParser;
+import com.portifolio.apiintegration.client.viacep.dto.ViaCepResponse;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.service.AddressMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Desserialização da resposta do ViaCEP e conversão para AddressResponse: pelo bean com o
+ * ObjectMapper e em streaming com o {@link ViaCepParser}; na escrita, ObjectMapper contra o
+ * gerador de {@link AddressResponse#escreverJson}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViaCepMappingBenchmark {
+
+    static final String RESPOSTA_VIACEP = """
+            {
+              "cep": "01310-100",
+              "logradouro": "Avenida Paulista",
+              "complemento": "de 612 a 1510 - lado par",
+              "unidade": "",
+              "bairro": "Bela Vista",
+              "localidade": "São Paulo",
+              "uf": "SP",
+              "estado": "São Paulo",
+              "regiao": "Sudeste",
+              "ibge": "3550308",
+              "gia": "1004",
+              "ddd": "11",
+              "siafi": "7107"
+            }
+            """;
+
+    private ObjectMapper objectMapper;
+    private byte[] corpo;
+    private ViaCepResponse viaCepResponse;
+    private AddressResponse emCache;
+    private ByteArrayOutputStream saida;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        corpo = RESPOSTA_VIACEP.getBytes(StandardCharsets.UTF_8);
+        viaCepResponse = objectMapper.readValue(corpo, ViaCepResponse.class);
+        emCache = ViaCepParser.ler(new ByteArrayInputStream(corpo));
+        saida = new ByteArrayOutputStream(256);
+    }
+
+    @Benchmark
+    public ViaCepResponse desserializar() throws Exception {
+        return objectMapper.readValue(corpo, ViaCepResponse.class);
+    }
+
+    @Benchmark
+    public AddressResponse converter() {
+        return AddressMapper.paraAddressResponse(viaCepResponse);
+    }
+
+    @Benchmark
+    public byte[] serializarResposta() throws Exception {
+        return objectMapper.writeValueAsBytes(AddressMapper.paraAddressResponse(viaCepResponse));
+    }
+
+    @Benchmark
+    public AddressResponse lerEmStreaming() throws Exception {
+        return ViaCepParser.ler(new ByteArrayInputStream(corpo));
+    }
+
+    @Benchmark
+    public int serializarDoCache() throws Exception {
+        saida.reset();
+        emCache.escreverJson(saida);
+        return saida.size();
+    }
+}
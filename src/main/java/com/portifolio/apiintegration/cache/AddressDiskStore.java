@@ -0,0 +1,513 @@
+package com.portifolio.apiintegration.cache;
+
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Segundo nível do cache de endereços, em arquivo mapeado em memória.
+ * Fica fora do heap, sobrevive a reinícios e é consultado quando o Caffeine não tem o CEP.
+ *
+ * <p>Layout do arquivo: cabeçalho de 64 bytes, tabela hash com endereçamento aberto
+ * (pares chave/posição de 4 bytes cada) e uma área de dados onde os registros são
+ * apenas acrescentados. Leituras não usam lock: a posição do registro só é publicada
+ * depois que ele foi totalmente escrito.
+ *
+ * <p>Regravar um CEP deixa o registro anterior sem uso; o cabeçalho soma esses bytes. Quando a
+ * área de dados enche ou a tabela passa de {@value #OCUPACAO_MAXIMA} de ocupação, a gravação é
+ * descartada e o arquivo é compactado em segundo plano: só a versão atual de cada CEP fresco é
+ * copiada para um arquivo novo, que substitui o atual. Se ainda assim ficaria acima de
+ * {@value #FOLGA} dos limites, os CEPs gravados há mais tempo também saem, para que novos
+ * voltem a ser aceitos. Leituras em andamento continuam no mapeamento antigo, que segue válido.
+ */
+@Component
+public class AddressDiskStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(AddressDiskStore.class);
+
+    private static final int MAGICO = 0x43455031; // "CEP1"
+    private static final int VERSAO = 1;
+    private static final int CABECALHO = 64;
+    private static final int POS_MAGICO = 0;
+    private static final int POS_VERSAO = 4;
+    private static final int POS_CAPACIDADE = 8;
+    private static final int POS_TAMANHO_DADOS = 16;
+    private static final int POS_FIM_DADOS = 24;
+    private static final int POS_QUANTIDADE = 32;
+    private static final int POS_DESCARTADOS = 40;
+    private static final int CAMPOS = 8;
+    private static final double OCUPACAO_MAXIMA = 0.75;
+    private static final double FOLGA = 0.8;
+    private static final int BITS_TAMANHO = 20;
+    private static final Duration ESPERA_APOS_FALHA = Duration.ofMinutes(1);
+
+    private static final VarHandle INT =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final boolean habilitado;
+    private final Path arquivo;
+    private final int capacidade;
+    private final long tamanhoDados;
+    private final Duration maxAge;
+    private final Executor compactacao;
+
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final AtomicBoolean compactando = new AtomicBoolean();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+
+    private FileChannel canal;
+    private volatile MappedByteBuffer buffer;
+    private int inicioDados;
+    private long tamanhoTotal;
+    private boolean avisoCheio;
+    private volatile long proximaCompactacao;
+
+    public AddressDiskStore(@Value("${address.disk-cache.enabled:false}") boolean habilitado,
+                            @Value("${address.disk-cache.path:data/addresses.db}") String arquivo,
+                            @Value("${address.disk-cache.capacity:2097152}") int capacidade,
+                            @Value("${address.disk-cache.data-size:268435456}") long tamanhoDados,
+                            @Value("${address.disk-cache.max-age:30d}") Duration maxAge,
+                            @Qualifier("cacheRefreshExecutor") Executor compactacao) {
+        this.habilitado = habilitado;
+        this.arquivo = Paths.get(arquivo);
+        this.capacidade = Integer.highestOneBit(Math.max(capacidade - 1, 1)) << 1;
+        this.tamanhoDados = tamanhoDados;
+        this.maxAge = maxAge;
+        this.compactacao = compactacao;
+    }
+
+    @PostConstruct
+    public void abrir() throws IOException {
+        if (!habilitado) {
+            return;
+        }
+
+        inicioDados = CABECALHO + capacidade * 8;
+        tamanhoTotal = inicioDados + tamanhoDados;
+        if (tamanhoTotal > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Cache em disco maior que 2GB não é suportado");
+        }
+
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (canal.size() == tamanhoTotal) {
+            buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoTotal);
+            if (cabecalhoValido(buffer)) {
+                logger.info("Cache em disco reaberto: {} CEPs em {}", buffer.getInt(POS_QUANTIDADE), arquivo);
+                return;
+            }
+        }
+
+        // Arquivo novo ou de outra configuração: recria com a tabela zerada
+        canal.truncate(0);
+        buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoTotal);
+        inicializar(buffer);
+        logger.info("Cache em disco criado em {} (capacidade {} CEPs)", arquivo, capacidade);
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        if (canal != null) {
+            canal.close();
+        }
+    }
+
+    public Registro buscar(int chave) {
+        MappedByteBuffer dados = buffer;
+        if (dados == null) {
+            return null;
+        }
+
+        int mascara = capacidade - 1;
+        for (int slot = hash(chave) & mascara, tentativas = 0; tentativas < capacidade;
+             slot = (slot + 1) & mascara, tentativas++) {
+            int posicao = CABECALHO + slot * 8;
+            int chaveSlot = (int) INT.getAcquire(dados, posicao);
+            if (chaveSlot == 0) {
+                break;
+            }
+            if (chaveSlot == chave + 1) {
+                acertos.increment();
+                return ler(dados, (int) INT.getAcquire(dados, posicao + 4));
+            }
+        }
+        faltas.increment();
+        return null;
+    }
+
+    public void gravar(int chave, AddressResponse endereco) {
+        if (buffer == null) {
+            return;
+        }
+        byte[] registro = codificar(chave, endereco, System.currentTimeMillis());
+
+        boolean gravado;
+        escrita.lock();
+        try {
+            gravado = gravarComLock(chave, registro);
+        } finally {
+            escrita.unlock();
+        }
+        if (!gravado) {
+            agendarCompactacao();
+        }
+    }
+
+    // Chamado com o lock de escrita; false quando falta espaço para o registro
+    private boolean gravarComLock(int chave, byte[] registro) {
+        MappedByteBuffer dados = buffer;
+        if (dados == null) {
+            return true;
+        }
+        long fim = dados.getLong(POS_FIM_DADOS);
+        if (fim + registro.length > inicioDados + tamanhoDados) {
+            avisarCheio();
+            return false;
+        }
+
+        int mascara = capacidade - 1;
+        int slot = hash(chave) & mascara;
+        int chaveSlot;
+        while ((chaveSlot = (int) INT.getAcquire(dados, CABECALHO + slot * 8)) != 0 && chaveSlot != chave + 1) {
+            slot = (slot + 1) & mascara;
+        }
+
+        boolean novo = chaveSlot == 0;
+        int quantidade = dados.getInt(POS_QUANTIDADE);
+        if (novo && quantidade >= capacidade * OCUPACAO_MAXIMA) {
+            avisarCheio();
+            return false;
+        }
+
+        // O registro é escrito antes de ser publicado na tabela
+        dados.put((int) fim, registro);
+        dados.putLong(POS_FIM_DADOS, fim + registro.length);
+
+        int posicao = CABECALHO + slot * 8;
+        if (!novo) {
+            int anterior = (int) INT.getAcquire(dados, posicao + 4);
+            dados.putLong(POS_DESCARTADOS, dados.getLong(POS_DESCARTADOS) + 4 + dados.getInt(anterior));
+        }
+        INT.setRelease(dados, posicao + 4, (int) fim);
+        if (novo) {
+            INT.setRelease(dados, posicao, chave + 1);
+            dados.putInt(POS_QUANTIDADE, quantidade + 1);
+        }
+        return true;
+    }
+
+    // Uma compactação por vez, fora da thread de quem grava; depois de uma falha espera um pouco
+    private void agendarCompactacao() {
+        if (System.nanoTime() < proximaCompactacao || !compactando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactacao.execute(() -> {
+                try {
+                    if (!compactar()) {
+                        proximaCompactacao = System.nanoTime() + ESPERA_APOS_FALHA.toNanos();
+                    }
+                } finally {
+                    compactando.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            compactando.set(false);
+        }
+    }
+
+    /**
+     * Copia a versão atual de cada CEP que fica para um arquivo novo e troca o mapeamento.
+     * A cópia é feita sem lock; com o lock de escrita só são reaplicados os registros gravados
+     * durante ela, na ordem em que foram gravados. Em caso de erro o arquivo atual continua em uso.
+     */
+    private boolean compactar() {
+        MappedByteBuffer atual = buffer;
+        if (atual == null) {
+            return false;
+        }
+        long fimCopia;
+        int quantidadeCopia;
+        escrita.lock();
+        try {
+            fimCopia = atual.getLong(POS_FIM_DADOS);
+            quantidadeCopia = atual.getInt(POS_QUANTIDADE);
+        } finally {
+            escrita.unlock();
+        }
+
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        FileChannel novoCanal = null;
+        try {
+            novoCanal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer novo = novoCanal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoTotal);
+            inicializar(novo);
+
+            Corte corte = corte(atual, fimCopia, quantidadeCopia);
+            int empates = corte.empates();
+            int quantidade = 0;
+            long fim = inicioDados;
+            for (int slot = 0; slot < capacidade; slot++) {
+                int chaveSlot = (int) INT.getAcquire(atual, CABECALHO + slot * 8);
+                int origem = (int) INT.getAcquire(atual, CABECALHO + slot * 8 + 4);
+                // Registros gravados depois do início da cópia entram na reaplicação
+                if (chaveSlot == 0 || origem >= fimCopia) {
+                    continue;
+                }
+                long gravadoEm = atual.getLong(origem + 8);
+                if (gravadoEm < corte.gravadoEm() || gravadoEm == corte.gravadoEm() && empates-- <= 0) {
+                    continue;
+                }
+                int tamanho = 4 + atual.getInt(origem);
+                novo.put((int) fim, atual, origem, tamanho);
+                inserir(novo, chaveSlot, (int) fim);
+                fim += tamanho;
+                quantidade++;
+            }
+            novo.force();
+
+            escrita.lock();
+            try {
+                long descartados = 0;
+                long fimAtual = atual.getLong(POS_FIM_DADOS);
+                for (long origem = fimCopia; origem < fimAtual; ) {
+                    int tamanho = 4 + atual.getInt((int) origem);
+                    if (fim + tamanho > inicioDados + tamanhoDados) {
+                        throw new IOException("registros gravados durante a compactação não cabem no arquivo novo");
+                    }
+                    novo.put((int) fim, atual, (int) origem, tamanho);
+                    int anterior = inserir(novo, atual.getInt((int) origem + 4) + 1, (int) fim);
+                    if (anterior == 0) {
+                        quantidade++;
+                    } else {
+                        descartados += 4 + novo.getInt(anterior);
+                    }
+                    fim += tamanho;
+                    origem += tamanho;
+                }
+                novo.putLong(POS_FIM_DADOS, fim);
+                novo.putInt(POS_QUANTIDADE, quantidade);
+                novo.putLong(POS_DESCARTADOS, descartados);
+
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                FileChannel antigo = canal;
+                canal = novoCanal;
+                buffer = novo;
+                antigo.close();
+                avisoCheio = false;
+            } finally {
+                escrita.unlock();
+            }
+
+            logger.info("Cache em disco compactado: {} CEPs, {} bytes livres",
+                    quantidade, inicioDados + tamanhoDados - fim);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Falha ao compactar o cache em disco {}: {}", arquivo, e.getMessage());
+            if (novoCanal != null && novoCanal != canal) {
+                try {
+                    novoCanal.close();
+                    Files.deleteIfExists(temporario);
+                } catch (IOException ignorada) {
+                    // O temporário é truncado na próxima tentativa
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Data de gravação a partir da qual os registros são copiados. Os vencidos saem sempre; se os
+     * frescos passariam de {@value #FOLGA} da ocupação máxima ou da área de dados, saem também os
+     * mais antigos. {@code empates} é quantos registros gravados exatamente no corte ainda cabem.
+     */
+    private Corte corte(ByteBuffer atual, long fimCopia, int quantidadeCopia) {
+        long vencimento = System.currentTimeMillis() - maxAge.toMillis();
+        // Data de gravação nos bits altos e tamanho nos baixos: ordenar é ordenar pela idade
+        long[] registros = new long[quantidadeCopia];
+        int n = 0;
+        for (int slot = 0; slot < capacidade && n < registros.length; slot++) {
+            int chaveSlot = (int) INT.getAcquire(atual, CABECALHO + slot * 8);
+            int origem = (int) INT.getAcquire(atual, CABECALHO + slot * 8 + 4);
+            if (chaveSlot == 0 || origem >= fimCopia) {
+                continue;
+            }
+            long gravadoEm = atual.getLong(origem + 8);
+            if (gravadoEm >= vencimento) {
+                registros[n++] = gravadoEm << BITS_TAMANHO | (4 + atual.getInt(origem));
+            }
+        }
+        Arrays.sort(registros, 0, n);
+
+        long maxQuantidade = (long) (capacidade * OCUPACAO_MAXIMA * FOLGA);
+        long maxBytes = (long) (tamanhoDados * FOLGA);
+        long bytes = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            bytes += registros[i] & ((1L << BITS_TAMANHO) - 1);
+            if (n - i > maxQuantidade || bytes > maxBytes) {
+                long gravadoEm = registros[i] >>> BITS_TAMANHO;
+                int empates = 0;
+                for (int j = i + 1; j < n && registros[j] >>> BITS_TAMANHO == gravadoEm; j++) {
+                    empates++;
+                }
+                return new Corte(gravadoEm, empates);
+            }
+        }
+        return new Corte(vencimento, Integer.MAX_VALUE);
+    }
+
+    // Tabela de um arquivo ainda sem leitores; devolve a posição do registro substituído ou 0
+    private int inserir(ByteBuffer dados, int chaveSlot, int posicao) {
+        int mascara = capacidade - 1;
+        int slot = hash(chaveSlot - 1) & mascara;
+        int existente;
+        while ((existente = dados.getInt(CABECALHO + slot * 8)) != 0 && existente != chaveSlot) {
+            slot = (slot + 1) & mascara;
+        }
+        int anterior = existente == 0 ? 0 : dados.getInt(CABECALHO + slot * 8 + 4);
+        dados.putInt(CABECALHO + slot * 8, chaveSlot);
+        dados.putInt(CABECALHO + slot * 8 + 4, posicao);
+        return anterior;
+    }
+
+    public boolean isFresco(Registro registro) {
+        return System.currentTimeMillis() - registro.gravadoEm() <= maxAge.toMillis();
+    }
+
+    public int getQuantidade() {
+        return buffer == null ? 0 : buffer.getInt(POS_QUANTIDADE);
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFaltas() {
+        return faltas.sum();
+    }
+
+    private boolean cabecalhoValido(ByteBuffer dados) {
+        return dados.getInt(POS_MAGICO) == MAGICO
+                && dados.getInt(POS_VERSAO) == VERSAO
+                && dados.getInt(POS_CAPACIDADE) == capacidade
+                && dados.getLong(POS_TAMANHO_DADOS) == tamanhoDados;
+    }
+
+    private void inicializar(ByteBuffer dados) {
+        dados.putInt(POS_MAGICO, MAGICO);
+        dados.putInt(POS_VERSAO, VERSAO);
+        dados.putInt(POS_CAPACIDADE, capacidade);
+        dados.putLong(POS_TAMANHO_DADOS, tamanhoDados);
+        dados.putLong(POS_FIM_DADOS, inicioDados);
+        dados.putInt(POS_QUANTIDADE, 0);
+        dados.putLong(POS_DESCARTADOS, 0);
+    }
+
+    private void avisarCheio() {
+        if (!avisoCheio) {
+            avisoCheio = true;
+            logger.warn("Cache em disco {} cheio; gravações descartadas até a compactação terminar", arquivo);
+        }
+    }
+
+    private static int hash(int chave) {
+        int h = chave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static byte[] codificar(int chave, AddressResponse endereco, long gravadoEm) {
+        byte[][] campos = {
+                bytes(endereco.getCep()), bytes(endereco.getLogradouro()), bytes(endereco.getComplemento()),
+                bytes(endereco.getBairro()), bytes(endereco.getCidade()), bytes(endereco.getEstado()),
+                bytes(endereco.getUf()), bytes(endereco.getDdd())
+        };
+        int tamanho = 4 + 8 + CAMPOS * 2;
+        for (byte[] campo : campos) {
+            tamanho += campo == null ? 0 : campo.length;
+        }
+
+        ByteBuffer registro = ByteBuffer.allocate(4 + tamanho);
+        registro.putInt(tamanho);
+        registro.putInt(chave);
+        registro.putLong(gravadoEm);
+        for (byte[] campo : campos) {
+            if (campo == null) {
+                registro.putShort((short) -1);
+            } else {
+                registro.putShort((short) campo.length);
+                registro.put(campo);
+            }
+        }
+        return registro.array();
+    }
+
+    private static Registro ler(ByteBuffer dados, int posicao) {
+        byte[] registro = new byte[dados.getInt(posicao)];
+        dados.get(posicao + 4, registro);
+
+        ByteBuffer leitura = ByteBuffer.wrap(registro);
+        leitura.getInt(); // chave
+        long gravadoEm = leitura.getLong();
+        String[] campos = new String[CAMPOS];
+        for (int i = 0; i < CAMPOS; i++) {
+            short tamanho = leitura.getShort();
+            if (tamanho >= 0) {
+                campos[i] = new String(registro, leitura.position(), tamanho, StandardCharsets.UTF_8);
+                leitura.position(leitura.position() + tamanho);
+            }
+        }
+
+        AddressResponse endereco = new AddressResponse(campos[0], campos[1], campos[2], campos[3],
+                campos[4], campos[5], campos[6], campos[7]);
+        return new Registro(endereco, gravadoEm);
+    }
+
+    private static byte[] bytes(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        // Campos do ViaCEP são curtos; o limite protege o prefixo de 2 bytes
+        return bytes.length > Short.MAX_VALUE ? null : bytes;
+    }
+
+    public record Registro(AddressResponse endereco, long gravadoEm) {}
+
+    private record Corte(long gravadoEm, int empates) {}
+}
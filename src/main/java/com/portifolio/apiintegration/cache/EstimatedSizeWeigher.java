@@ -0,0 +1,32 @@
+package com.portifolio.apiintegration.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+
+/**
+ * Peso aproximado em bytes de cada entrada, usado quando o cache é limitado por maximumWeight.
+ */
+public class EstimatedSizeWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJETO = 16;
+    private static final int STRING = 40;
+    // Cabeçalho, int do CEP, cinco textos, UF, UF e DDD fora do padrão (em geral nulos) e DDD
+    private static final int ENDERECO = OBJETO + 4 + 5 * 4 + 3 * 4 + 4;
+
+    @Override
+    public int weigh(Object chave, Object valor) {
+        if (valor instanceof AddressResponse endereco) {
+            // Cidade, estado, bairro e complemento vêm do StringPool e são divididos entre os CEPs;
+            // só o logradouro pertence à entrada
+            return ENDERECO + tamanho(endereco.getLogradouro());
+        }
+        if (valor instanceof CharSequence texto) {
+            return STRING + texto.length();
+        }
+        return OBJETO;
+    }
+
+    private static int tamanho(String valor) {
+        return valor == null ? 0 : STRING + valor.length();
+    }
+}
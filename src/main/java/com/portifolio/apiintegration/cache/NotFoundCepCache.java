@@ -0,0 +1,39 @@
+package com.portifolio.apiintegration.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache negativo para CEPs inexistentes ou inválidos.
+ * Guarda apenas resultados definitivos ("não encontrado"); falhas transitórias nunca entram aqui.
+ */
+@Component
+public class NotFoundCepCache {
+
+    private final Cache<Integer, Boolean> cache;
+
+    public NotFoundCepCache(@Value("${address.negative-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${address.negative-cache.ttl:2m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public boolean contem(int chave) {
+        return cache.getIfPresent(chave) != null;
+    }
+
+    public void registrar(int chave) {
+        cache.put(chave, Boolean.TRUE);
+    }
+
+    public Cache<Integer, Boolean> getNativeCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,91 @@
+package com.portifolio.apiintegration.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de chamadas concorrentes ("single-flight").
+ * Apenas uma chamada por chave fica em andamento; quem chega enquanto ela executa
+ * aguarda e recebe o mesmo resultado ou a mesma exceção.
+ */
+public class SingleFlight<K, V> {
+
+    private final String nome;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+    private final LongAdder execucoes = new LongAdder();
+    private final LongAdder coalescidas = new LongAdder();
+
+    public SingleFlight(String nome) {
+        this.nome = nome;
+    }
+
+    public V executar(K chave, Supplier<V> chamada) {
+        CompletableFuture<V> novo = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, novo);
+        if (existente != null) {
+            coalescidas.increment();
+            return aguardar(existente);
+        }
+
+        execucoes.increment();
+        try {
+            V valor = chamada.get();
+            novo.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            novo.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, novo);
+        }
+    }
+
+    private V aguardar(CompletableFuture<V> chamada) {
+        try {
+            return chamada.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public int getEmAndamento() {
+        return emAndamento.size();
+    }
+
+    public long getExecucoes() {
+        return execucoes.sum();
+    }
+
+    public long getCoalescidas() {
+        return coalescidas.sum();
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("singleflight.calls", this, SingleFlight::getExecucoes)
+                .tag("name", nome)
+                .description("Chamadas efetivamente executadas")
+                .register(registry);
+        FunctionCounter.builder("singleflight.coalesced", this, SingleFlight::getCoalescidas)
+                .tag("name", nome)
+                .description("Chamadas que aguardaram uma execução já em andamento")
+                .register(registry);
+        Gauge.builder("singleflight.inflight", this, SingleFlight::getEmAndamento)
+                .tag("name", nome)
+                .description("Chamadas em andamento")
+                .register(registry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.portifolio.apiintegration.cache;
+
+import com.github.benmanes.caffeine.cache.Interner;
+
+/**
+ * Pool de textos repetidos entre endereços (cidade, bairro, complemento): cada valor distinto
+ * fica uma única vez no heap. As referências são fracas, então um texto sai do pool quando
+ * nenhum endereço em cache o usa mais.
+ */
+public final class StringPool {
+
+    private static final Interner<String> TEXTOS = Interner.newWeakInterner();
+
+    private StringPool() {}
+
+    public static String compartilhar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        if (texto.isEmpty()) {
+            return "";
+        }
+        return TEXTOS.intern(texto);
+    }
+}
@@ -0,0 +1,81 @@
+package com.portifolio.apiintegration.client.brasilapi;
+
+import com.portifolio.apiintegration.client.brasilapi.dto.BrasilApiResponse;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import com.portifolio.apiintegration.logging.LogRateLimiter;
+import com.portifolio.apiintegration.provider.CepProvider;
+import com.portifolio.apiintegration.resilience.UpstreamGuard;
+import com.portifolio.apiintegration.service.AddressMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Provedor secundário de CEP (BrasilAPI). Não informa complemento nem DDD.
+ */
+@Component
+@ConditionalOnProperty(prefix = "external-apis.brasilapi", name = "enabled", havingValue = "true")
+public class BrasilApiClient implements CepProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrasilApiClient.class);
+    // Com a API fora, o mesmo erro se repetiria a cada consulta
+    private static final LogRateLimiter logErros = new LogRateLimiter(5, Duration.ofSeconds(10));
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("brasilApiGuard")
+    private UpstreamGuard brasilApiGuard;
+
+    @Value("${external-apis.brasilapi.base-url:https://brasilapi.com.br/api/cep/v1}")
+    private String baseUrl;
+
+    @Override
+    public String getNome() {
+        return "brasilapi";
+    }
+
+    @Override
+    public AddressResponse consultar(Cep cep) {
+        return brasilApiGuard.executar("consultarCep", () -> chamar(cep));
+    }
+
+    private AddressResponse chamar(Cep cep) {
+        try {
+            logger.debug("Consultando CEP {} na BrasilAPI", cep);
+
+            BrasilApiResponse response = restTemplate.getForObject(baseUrl + "/" + cep.digitos(),
+                    BrasilApiResponse.class);
+            if (response == null) {
+                throw new ApiIntegrationException("BrasilAPI", "consultarCep",
+                        "Resposta nula da API");
+            }
+            return AddressMapper.paraAddressResponse(cep, response);
+
+        } catch (HttpClientErrorException.BadRequest | HttpClientErrorException.NotFound e) {
+            logger.debug("CEP {} recusado pela BrasilAPI: {}", cep, e.getStatusCode());
+            throw new CepNotFoundException("BrasilAPI", "consultarCep",
+                    "CEP inválido ou inexistente: " + cep, e);
+        } catch (RestClientException e) {
+            long suprimidas = logErros.permitir();
+            if (suprimidas >= 0) {
+                logger.error("Erro ao consultar CEP {} na BrasilAPI: {} ({} erros omitidos)", cep, e.getMessage(), suprimidas);
+            }
+            throw new ApiIntegrationException("BrasilAPI", "consultarCep",
+                    "Erro na comunicação com a API", e);
+        }
+    }
+}
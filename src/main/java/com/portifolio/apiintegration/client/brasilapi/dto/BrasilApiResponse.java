@@ -0,0 +1,64 @@
+package com.portifolio.apiintegration.client.brasilapi.dto;
+
+/**
+ * Corpo de {@code GET /api/cep/v1/{cep}} da BrasilAPI.
+ */
+public class BrasilApiResponse {
+
+    private String cep;
+    private String state;
+    private String city;
+    private String neighborhood;
+    private String street;
+    private String service;
+
+    public BrasilApiResponse() {}
+
+    public String getCep() {
+        return cep;
+    }
+
+    public void setCep(String cep) {
+        this.cep = cep;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getNeighborhood() {
+        return neighborhood;
+    }
+
+    public void setNeighborhood(String neighborhood) {
+        this.neighborhood = neighborhood;
+    }
+
+    public String getStreet() {
+        return street;
+    }
+
+    public void setStreet(String street) {
+        this.street = street;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public void setService(String service) {
+        this.service = service;
+    }
+}
@@ -0,0 +1,53 @@
+package com.portifolio.apiintegration.client.currency;
+
+import com.portifolio.apiintegration.client.currency.dto.ExchangeRateResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.resilience.UpstreamGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+@Component
+@ConditionalOnProperty(prefix = "external-apis.currency", name = "enabled", havingValue = "true")
+public class CurrencyClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrencyClient.class);
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("currencyGuard")
+    private UpstreamGuard currencyGuard;
+
+    @Value("${external-apis.currency.base-url:https://api.exchangerate-api.com/v4/latest}")
+    private String baseUrl;
+
+    public ExchangeRateResponse consultarCotacoes(String base) {
+        return currencyGuard.executar("consultarCotacoes", () -> chamar(base));
+    }
+
+    private ExchangeRateResponse chamar(String base) {
+        try {
+            logger.debug("Consultando cotações de {}", base);
+
+            ExchangeRateResponse response = restTemplate.getForObject(baseUrl + "/{base}",
+                    ExchangeRateResponse.class, base);
+            if (response == null || response.rates() == null || response.rates().isEmpty()) {
+                throw new ApiIntegrationException("ExchangeRate-API", "consultarCotacoes",
+                        "Resposta sem cotações para " + base);
+            }
+            return response;
+
+        } catch (RestClientException e) {
+            throw new ApiIntegrationException("ExchangeRate-API", "consultarCotacoes",
+                    "Erro na comunicação com a API", e);
+        }
+    }
+}
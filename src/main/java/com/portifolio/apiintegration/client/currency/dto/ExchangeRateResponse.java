@@ -0,0 +1,13 @@
+package com.portifolio.apiintegration.client.currency.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+/**
+ * Corpo de {@code GET /v4/latest/{base}} da ExchangeRate-API: valor de 1 unidade da base em
+ * cada moeda.
+ */
+public record ExchangeRateResponse(String base, String date,
+                                   @JsonProperty("time_last_updated") Long timeLastUpdated,
+                                   Map<String, Double> rates) {}
@@ -0,0 +1,85 @@
+package com.portifolio.apiintegration.client.opencep;
+
+import com.portifolio.apiintegration.client.viacep.ViaCepParser;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import com.portifolio.apiintegration.logging.LogRateLimiter;
+import com.portifolio.apiintegration.provider.CepProvider;
+import com.portifolio.apiintegration.resilience.UpstreamGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Provedor secundário de CEP (OpenCEP). O corpo segue o formato do ViaCEP, então é lido pelo
+ * {@link ViaCepParser}; CEP inexistente volta como 404.
+ */
+@Component
+@ConditionalOnProperty(prefix = "external-apis.opencep", name = "enabled", havingValue = "true")
+public class OpenCepClient implements CepProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenCepClient.class);
+    // Com a API fora, o mesmo erro se repetiria a cada consulta
+    private static final LogRateLimiter logErros = new LogRateLimiter(5, Duration.ofSeconds(10));
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("openCepGuard")
+    private UpstreamGuard openCepGuard;
+
+    @Value("${external-apis.opencep.base-url:https://opencep.com/v1}")
+    private String baseUrl;
+
+    @Override
+    public String getNome() {
+        return "opencep";
+    }
+
+    @Override
+    public AddressResponse consultar(Cep cep) {
+        return openCepGuard.executar("consultarCep", () -> chamar(cep));
+    }
+
+    private AddressResponse chamar(Cep cep) {
+        try {
+            logger.debug("Consultando CEP {} no OpenCEP", cep);
+
+            AddressResponse response = restTemplate.execute(baseUrl + "/" + cep.digitos(), HttpMethod.GET,
+                    requisicao -> requisicao.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    resposta -> ViaCepParser.ler(resposta.getBody()));
+            if (response == null) {
+                throw new CepNotFoundException("OpenCEP", "consultarCep",
+                        "CEP não encontrado: " + cep);
+            }
+            return response;
+
+        } catch (HttpClientErrorException.BadRequest | HttpClientErrorException.NotFound e) {
+            logger.debug("CEP {} recusado pelo OpenCEP: {}", cep, e.getStatusCode());
+            throw new CepNotFoundException("OpenCEP", "consultarCep",
+                    "CEP inválido ou inexistente: " + cep, e);
+        } catch (RestClientException e) {
+            long suprimidas = logErros.permitir();
+            if (suprimidas >= 0) {
+                logger.error("Erro ao consultar CEP {} no OpenCEP: {} ({} erros omitidos)", cep, e.getMessage(), suprimidas);
+            }
+            throw new ApiIntegrationException("OpenCEP", "consultarCep",
+                    "Erro na comunicação com a API", e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.portifolio.apiintegration.client.viacep;
+
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import com.portifolio.apiintegration.logging.LogRateLimiter;
+import com.portifolio.apiintegration.resilience.HedgedRetry;
+import com.portifolio.apiintegration.resilience.UpstreamGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+/**
+ * Contraparte não bloqueante do {@link ViaCepClient}, sobre WebClient/Reactor Netty.
+ * Mantém as mesmas regras: {@code erro=true}, 400 e 404 viram {@link CepNotFoundException};
+ * qualquer outra falha vira {@link ApiIntegrationException}. O corpo também é lido pelo
+ * {@link ViaCepParser}, direto dos buffers recebidos.
+ */
+@Component
+public class ReactiveViaCepClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveViaCepClient.class);
+    // Com a API fora, o mesmo erro se repetiria a cada consulta
+    private static final LogRateLimiter logErros = new LogRateLimiter(5, Duration.ofSeconds(10));
+
+    @Autowired
+    private WebClient webClient;
+
+    @Autowired
+    @Qualifier("viaCepGuard")
+    private UpstreamGuard viaCepGuard;
+
+    @Autowired
+    @Qualifier("viaCepRetry")
+    private HedgedRetry viaCepRetry;
+
+    @Value("${external-apis.viacep.base-url:https://viacep.com.br/ws}")
+    private String baseUrl;
+
+    // Mesmas proteções do cliente bloqueante; cada tentativa passa pelo guard
+    public Mono<AddressResponse> consultarCep(Cep cep) {
+        return viaCepRetry.executarMono(() -> viaCepGuard.executarMono("consultarCep", () -> chamar(cep)));
+    }
+
+    private Mono<AddressResponse> chamar(Cep cep) {
+        String url = baseUrl + "/" + cep.digitos() + "/json/";
+
+        return DataBufferUtils.join(webClient.get()
+                        .uri(url)
+                        .retrieve()
+                        .bodyToFlux(DataBuffer.class))
+                .switchIfEmpty(Mono.error(() -> new ApiIntegrationException("ViaCEP", "consultarCep",
+                        "Resposta nula da API")))
+                .<AddressResponse>handle((corpo, sink) -> {
+                    // O buffer é liberado ao fechar o stream
+                    try (InputStream entrada = corpo.asInputStream(true)) {
+                        AddressResponse endereco = ViaCepParser.ler(entrada);
+                        if (endereco == null) {
+                            sink.error(new CepNotFoundException("ViaCEP", "consultarCep",
+                                    "CEP não encontrado: " + cep));
+                        } else {
+                            sink.next(endereco);
+                        }
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                })
+                .onErrorMap(WebClientResponseException.class, e -> traduzirStatus(cep, e))
+                .onErrorMap(e -> !(e instanceof ApiIntegrationException), e -> {
+                    registrarErro(cep, e);
+                    return new ApiIntegrationException("ViaCEP", "consultarCep",
+                            "Erro na comunicação com a API", e);
+                });
+    }
+
+    private RuntimeException traduzirStatus(Cep cep, WebClientResponseException e) {
+        if (e.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST)
+                || e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            // Resposta definitiva da API: o CEP não existe ou foi recusado
+            logger.debug("CEP {} recusado pelo ViaCEP: {}", cep, e.getStatusCode());
+            return new CepNotFoundException("ViaCEP", "consultarCep",
+                    "CEP inválido ou inexistente: " + cep, e);
+        }
+        registrarErro(cep, e);
+        return new ApiIntegrationException("ViaCEP", "consultarCep",
+                "Erro na comunicação com a API", e);
+    }
+
+    private static void registrarErro(Cep cep, Throwable e) {
+        long suprimidas = logErros.permitir();
+        if (suprimidas >= 0) {
+            logger.error("Erro ao consultar CEP {}: {} ({} erros omitidos)", cep, e.getMessage(), suprimidas);
+        }
+    }
+}
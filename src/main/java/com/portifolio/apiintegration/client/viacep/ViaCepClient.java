@@ -1,69 +1,86 @@
 package com.portifolio.apiintegration.client.viacep;
 
-import com.portifolio.apiintegration.client.viacep.dto.ViaCepResponse;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
 import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import com.portifolio.apiintegration.logging.LogRateLimiter;
+import com.portifolio.apiintegration.resilience.HedgedRetry;
+import com.portifolio.apiintegration.resilience.UpstreamGuard;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.List;
+
 @Component
 public class ViaCepClient {
 
     private static final Logger logger = LoggerFactory.getLogger(ViaCepClient.class);
-    private static final String VIACEP_BASE_URL = "https://viacep.com.br/ws";
+    // Com a API fora, o mesmo erro se repetiria a cada consulta
+    private static final LogRateLimiter logErros = new LogRateLimiter(5, Duration.ofSeconds(10));
 
     @Autowired
     private RestTemplate restTemplate;
 
-    public ViaCepResponse consultarCep(String cep) {
-        try {
-            logger.info("Consultando CEP: {}", cep);
+    @Autowired
+    @Qualifier("viaCepGuard")
+    private UpstreamGuard viaCepGuard;
+
+    @Autowired
+    @Qualifier("viaCepRetry")
+    private HedgedRetry viaCepRetry;
 
-            String cepLimpo = limparCep(cep);
-            validarCep(cepLimpo);
+    @Value("${external-apis.viacep.base-url:https://viacep.com.br/ws}")
+    private String baseUrl;
 
-            String url = String.format("%s/%s/json/", VIACEP_BASE_URL, cepLimpo);
+    // Retry/hedge por fora; cada tentativa passa pelo circuit breaker, limites e bulkhead
+    public AddressResponse consultarCep(Cep cep) {
+        return viaCepRetry.executar(() -> viaCepGuard.executar("consultarCep", () -> chamar(cep)));
+    }
+
+    private AddressResponse chamar(Cep cep) {
+        try {
+            logger.debug("Consultando CEP: {}", cep);
+
+            // O CEP já chega validado; a URL usa diretamente os 8 dígitos
+            String url = baseUrl + "/" + cep.digitos() + "/json/";
             logger.debug("URL da requisição: {}", url);
 
-            ViaCepResponse response = restTemplate.getForObject(url, ViaCepResponse.class);
+            // O corpo é lido em streaming direto para o endereço do cache; null é {"erro": true}
+            AddressResponse response = restTemplate.execute(url, HttpMethod.GET,
+                    requisicao -> requisicao.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    resposta -> ViaCepParser.ler(resposta.getBody()));
 
             if (response == null) {
-                throw new ApiIntegrationException("ViaCEP", "consultarCep",
-                        "Resposta nula da API");
-            }
-
-            if (Boolean.TRUE.equals(response.getErro())) {
-                throw new ApiIntegrationException("ViaCEP", "consultarCep",
+                throw new CepNotFoundException("ViaCEP", "consultarCep",
                         "CEP não encontrado: " + cep);
             }
 
-            logger.info("CEP {} consultado com sucesso", cep);
+            logger.debug("CEP {} consultado com sucesso", cep);
             return response;
 
+        } catch (HttpClientErrorException.BadRequest | HttpClientErrorException.NotFound e) {
+            // Resposta definitiva da API: o CEP não existe ou foi recusado
+            logger.debug("CEP {} recusado pelo ViaCEP: {}", cep, e.getStatusCode());
+            throw new CepNotFoundException("ViaCEP", "consultarCep",
+                    "CEP inválido ou inexistente: " + cep, e);
         } catch (RestClientException e) {
-            logger.error("Erro ao consultar CEP {}: {}", cep, e.getMessage());
+            long suprimidas = logErros.permitir();
+            if (suprimidas >= 0) {
+                logger.error("Erro ao consultar CEP {}: {} ({} erros omitidos)", cep, e.getMessage(), suprimidas);
+            }
             throw new ApiIntegrationException("ViaCEP", "consultarCep",
                     "Erro na comunicação com a API", e);
         }
     }
-
-    private String limparCep(String cep) {
-        if (cep == null) {
-            throw new IllegalArgumentException("CEP não pode ser nulo");
-        }
-        return cep.replaceAll("[^0-9]", "");
-    }
-
-    private void validarCep(String cep) {
-        if (cep.length() != 8) {
-            throw new IllegalArgumentException("CEP deve conter exatamente 8 dígitos");
-        }
-
-        if (!cep.matches("\\d{8}")) {
-            throw new IllegalArgumentException("CEP deve conter apenas números");
-        }
-    }
-}
\ No newline at end of file
+}
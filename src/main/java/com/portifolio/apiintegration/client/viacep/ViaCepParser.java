@@ -0,0 +1,84 @@
+package com.portifolio.apiintegration.client.viacep;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lê o JSON do ViaCEP (o mesmo formato do OpenCEP) direto do corpo da resposta para o
+ * {@link AddressResponse} que vai para o cache, em uma passada pelos tokens: sem o bean
+ * {@code ViaCepResponse}, sem reflexão e sem cópia de campos. Campos que a resposta não usa
+ * (ibge, gia, siafi, ...) são pulados.
+ */
+public final class ViaCepParser {
+
+    private static final JsonFactory FABRICA = new JsonFactory();
+
+    private ViaCepParser() {}
+
+    /**
+     * @return o endereço, ou {@code null} quando a resposta é {@code {"erro": true}}
+     * @throws IOException se o corpo não é um objeto JSON
+     */
+    public static AddressResponse ler(InputStream corpo) throws IOException {
+        try (JsonParser parser = FABRICA.createParser(corpo)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Resposta do ViaCEP deve ser um objeto JSON");
+            }
+
+            String cep = null;
+            String logradouro = null;
+            String complemento = null;
+            String bairro = null;
+            String localidade = null;
+            String uf = null;
+            String ddd = null;
+            boolean erro = false;
+
+            String campo;
+            while ((campo = parser.nextFieldName()) != null) {
+                JsonToken valor = parser.nextToken();
+                switch (campo) {
+                    case "cep" -> cep = texto(parser, valor);
+                    case "logradouro" -> logradouro = texto(parser, valor);
+                    case "complemento" -> complemento = texto(parser, valor);
+                    case "bairro" -> bairro = texto(parser, valor);
+                    case "localidade" -> localidade = texto(parser, valor);
+                    case "uf" -> uf = texto(parser, valor);
+                    case "ddd" -> ddd = texto(parser, valor);
+                    // O ViaCEP já devolveu tanto true quanto "true"
+                    case "erro" -> erro = valor == JsonToken.VALUE_TRUE
+                            || (valor == JsonToken.VALUE_STRING && "true".equalsIgnoreCase(parser.getText()));
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw new JsonParseException(parser, "Resposta do ViaCEP incompleta");
+            }
+
+            if (erro) {
+                return null;
+            }
+            return new AddressResponse(cep, logradouro, complemento, bairro,
+                    localidade,
+                    localidade, // Nome completo da cidade
+                    uf, ddd);
+        }
+    }
+
+    private static String texto(JsonParser parser, JsonToken valor) throws IOException {
+        if (valor == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (valor.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+}
@@ -0,0 +1,89 @@
+package com.portifolio.apiintegration.client.weather;
+
+import com.portifolio.apiintegration.client.weather.dto.OpenWeatherResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.logging.LogRateLimiter;
+import com.portifolio.apiintegration.resilience.UpstreamGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Clima atual no OpenWeatherMap, por nome da cidade ou por coordenadas.
+ * A chave da API vai só na URL da chamada; nunca é registrada em log.
+ */
+@Component
+@ConditionalOnProperty(prefix = "external-apis.weather", name = "enabled", havingValue = "true")
+public class WeatherClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeatherClient.class);
+    private static final LogRateLimiter logErros = new LogRateLimiter(5, Duration.ofSeconds(10));
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("weatherGuard")
+    private UpstreamGuard weatherGuard;
+
+    @Value("${external-apis.weather.base-url:https://api.openweathermap.org/data/2.5}")
+    private String baseUrl;
+
+    @Value("${external-apis.weather.api-key:}")
+    private String apiKey;
+
+    // O parâmetro q só aceita estado para os EUA; no Brasil a busca é cidade + país
+    public OpenWeatherResponse consultarPorCidade(String cidade) {
+        return weatherGuard.executar("consultarClima", () -> chamar(cidade,
+                url().queryParam("q", cidade + ",BR")));
+    }
+
+    public OpenWeatherResponse consultarPorCoordenadas(double latitude, double longitude) {
+        String local = latitude + "," + longitude;
+        return weatherGuard.executar("consultarClima", () -> chamar(local,
+                url().queryParam("lat", latitude).queryParam("lon", longitude)));
+    }
+
+    private UriComponentsBuilder url() {
+        return UriComponentsBuilder.fromUriString(baseUrl)
+                .path("/weather")
+                .queryParam("units", "metric")
+                .queryParam("lang", "pt_br");
+    }
+
+    private OpenWeatherResponse chamar(String local, UriComponentsBuilder url) {
+        URI uri = url.queryParam("appid", apiKey).encode().build().toUri();
+        try {
+            logger.debug("Consultando clima de {}", local);
+
+            OpenWeatherResponse response = restTemplate.getForObject(uri, OpenWeatherResponse.class);
+            if (response == null || response.coord() == null || response.main() == null) {
+                throw new ApiIntegrationException("OpenWeatherMap", "consultarClima",
+                        "Resposta incompleta da API");
+            }
+            return response;
+
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new ApiIntegrationException("OpenWeatherMap", "consultarClima",
+                    "Local não encontrado: " + local, e);
+        } catch (RestClientException e) {
+            long suprimidas = logErros.permitir();
+            if (suprimidas >= 0) {
+                logger.error("Erro ao consultar clima de {}: {} ({} erros omitidos)", local, e.getMessage(), suprimidas);
+            }
+            throw new ApiIntegrationException("OpenWeatherMap", "consultarClima",
+                    "Erro na comunicação com a API", e);
+        }
+    }
+}
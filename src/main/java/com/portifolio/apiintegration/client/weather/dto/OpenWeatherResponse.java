@@ -0,0 +1,20 @@
+package com.portifolio.apiintegration.client.weather.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Corpo de {@code GET /data/2.5/weather} do OpenWeatherMap (com {@code units=metric}).
+ * Só os campos usados pelo {@code WeatherService}.
+ */
+public record OpenWeatherResponse(String name, Long dt, Coord coord, List<Weather> weather, Main main, Wind wind) {
+
+    public record Coord(double lat, double lon) {}
+
+    public record Weather(String main, String description, String icon) {}
+
+    public record Main(Double temp, @JsonProperty("feels_like") Double feelsLike, Integer humidity, Integer pressure) {}
+
+    public record Wind(Double speed) {}
+}
@@ -0,0 +1,48 @@
+package com.portifolio.apiintegration.config;
+
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Escreve um {@link AddressResponse} em {@code application/json} com
+ * {@link AddressResponse#escreverJson}, sem o ObjectMapper. Não atende nenhum outro tipo nem
+ * outro media type, e só escreve; a leitura continua com o Jackson.
+ */
+public class AddressResponseMessageConverter extends AbstractHttpMessageConverter<AddressResponse> {
+
+    public AddressResponseMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AddressResponse.class == clazz;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected AddressResponse readInternal(Class<? extends AddressResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("AddressResponse não é lido por este conversor", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(AddressResponse endereco, HttpOutputMessage outputMessage) throws IOException {
+        endereco.escreverJson(outputMessage.getBody());
+    }
+}
@@ -1,26 +1,148 @@
 package com.portifolio.apiintegration.config;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portifolio.apiintegration.cache.EstimatedSizeWeigher;
+import com.portifolio.apiintegration.service.AddressCacheLoader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CachePolicyProperties.class)
 public class CacheConfig {
 
+    public static final String ADDRESSES = "addresses";
+
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(CachePolicyProperties properties,
+                                     AddressCacheLoader addressCacheLoader,
+                                     @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor,
+                                     @Value("${spring.cache.caffeine.spec:}") String specPadrao) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(1000)
-                .expireAfterWrite(5, TimeUnit.MINUTES)
-                .recordStats());
+        // Caches sem política própria usam a especificação do profile ativo
+        if (StringUtils.hasText(specPadrao)) {
+            cacheManager.setCacheSpecification(especificacao(specPadrao, null));
+        }
+
+        Map<String, CacheLoader<Object, Object>> loaders = Map.of(ADDRESSES, addressCacheLoader);
+
+        properties.getPolicies().forEach((nome, politica) -> {
+            Caffeine<Object, Object> builder = Caffeine.from(especificacao(specPadrao, politica));
+            if (politica.getMaximumWeight() != null) {
+                builder.weigher(new EstimatedSizeWeigher());
+            }
+
+            CacheLoader<Object, Object> loader = loaders.get(nome);
+            if (loader != null) {
+                cacheManager.registerCustomCache(nome, builder.executor(cacheRefreshExecutor).build(loader));
+            } else if (politica.getRefreshAfterWrite() != null) {
+                throw new IllegalStateException("Cache '" + nome + "' usa refresh-after-write mas não possui loader");
+            } else {
+                cacheManager.registerCustomCache(nome, builder.build());
+            }
+        });
         return cacheManager;
     }
+
+    /**
+     * Combina a especificação padrão com a política do cache. Os campos da política
+     * substituem as opções equivalentes da especificação, em vez de conflitar com elas.
+     */
+    static String especificacao(String specPadrao, CachePolicyProperties.Policy politica) {
+        Map<String, String> opcoes = new LinkedHashMap<>();
+        lerEspecificacao(specPadrao, opcoes);
+        if (politica == null) {
+            return juntar(opcoes);
+        }
+        lerEspecificacao(politica.getSpec(), opcoes);
+
+        if (politica.getMaximumSize() != null) {
+            opcoes.remove("maximumWeight");
+            opcoes.put("maximumSize", String.valueOf(politica.getMaximumSize()));
+        }
+        if (politica.getMaximumWeight() != null) {
+            opcoes.remove("maximumSize");
+            opcoes.put("maximumWeight", String.valueOf(politica.getMaximumWeight()));
+        }
+        if (politica.getExpireAfterAccess() != null) {
+            opcoes.put("expireAfterAccess", duracao(politica.getExpireAfterAccess()));
+        }
+        if (politica.getExpireAfterWrite() != null) {
+            opcoes.put("expireAfterWrite", duracao(politica.getExpireAfterWrite()));
+        }
+        if (politica.getRefreshAfterWrite() != null) {
+            opcoes.put("refreshAfterWrite", duracao(politica.getRefreshAfterWrite()));
+            // Após o refresh, o valor antigo ainda pode ser servido durante staleIfError
+            Duration idadeMaxima = idadeMaximaAntigo(politica);
+            if (idadeMaxima != null) {
+                opcoes.put("expireAfterWrite", duracao(idadeMaxima));
+            }
+        }
+        if (politica.isRecordStats()) {
+            opcoes.put("recordStats", null);
+        } else {
+            opcoes.remove("recordStats");
+        }
+        return juntar(opcoes);
+    }
+
+    /**
+     * Idade até a qual um valor ainda pode ser servido quando a recarga falha: refreshAfterWrite
+     * mais staleIfError. {@code null} quando a política não define os dois.
+     */
+    public static Duration idadeMaximaAntigo(CachePolicyProperties.Policy politica) {
+        if (politica == null || politica.getRefreshAfterWrite() == null || politica.getStaleIfError() == null) {
+            return null;
+        }
+        return politica.getRefreshAfterWrite().plus(politica.getStaleIfError());
+    }
+
+    private static void lerEspecificacao(String spec, Map<String, String> opcoes) {
+        if (!StringUtils.hasText(spec)) {
+            return;
+        }
+        for (String opcao : spec.split(",")) {
+            String texto = opcao.trim();
+            if (texto.isEmpty()) {
+                continue;
+            }
+            int separador = texto.indexOf('=');
+            if (separador < 0) {
+                opcoes.put(texto, null);
+            } else {
+                opcoes.put(texto.substring(0, separador).trim(), texto.substring(separador + 1).trim());
+            }
+        }
+    }
+
+    private static String juntar(Map<String, String> opcoes) {
+        StringBuilder spec = new StringBuilder();
+        opcoes.forEach((chave, valor) -> {
+            if (!spec.isEmpty()) {
+                spec.append(',');
+            }
+            spec.append(chave);
+            if (valor != null) {
+                spec.append('=').append(valor);
+            }
+        });
+        return spec.toString();
+    }
+
+    private static String duracao(Duration duracao) {
+        return Math.max(1, duracao.toSeconds()) + "s";
+    }
 }
-// to do -> implementar a classe dto
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.portifolio.apiintegration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Políticas por cache nomeado. Campos não informados herdam de spring.cache.caffeine.spec,
+ * que continua sendo a política padrão de cada profile.
+ */
+@ConfigurationProperties(prefix = "cache")
+public class CachePolicyProperties {
+
+    // Threads usadas pelas recargas assíncronas (refreshAfterWrite)
+    private int refreshPoolSize = 4;
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    public int getRefreshPoolSize() {
+        return refreshPoolSize;
+    }
+
+    public void setRefreshPoolSize(int refreshPoolSize) {
+        this.refreshPoolSize = refreshPoolSize;
+    }
+
+    public Map<String, Policy> getPolicies() {
+        return policies;
+    }
+
+    public void setPolicies(Map<String, Policy> policies) {
+        this.policies = policies;
+    }
+
+    public static class Policy {
+
+        // Especificação Caffeine completa; os campos abaixo têm precedência sobre ela
+        private String spec;
+        private Long maximumSize;
+        // Limite por peso estimado em bytes (alternativa a maximumSize)
+        private Long maximumWeight;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration refreshAfterWrite;
+        // Janela extra em que o valor antigo é servido se a recarga falhar
+        private Duration staleIfError;
+        private boolean recordStats = true;
+
+        public String getSpec() {
+            return spec;
+        }
+
+        public void setSpec(String spec) {
+            this.spec = spec;
+        }
+
+        public Long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(Long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(Long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+
+        public Duration getRefreshAfterWrite() {
+            return refreshAfterWrite;
+        }
+
+        public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+
+        public Duration getStaleIfError() {
+            return staleIfError;
+        }
+
+        public void setStaleIfError(Duration staleIfError) {
+            this.staleIfError = staleIfError;
+        }
+
+        public boolean isRecordStats() {
+            return recordStats;
+        }
+
+        public void setRecordStats(boolean recordStats) {
+            this.recordStats = recordStats;
+        }
+    }
+}
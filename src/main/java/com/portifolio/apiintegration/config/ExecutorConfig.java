@@ -0,0 +1,111 @@
+package com.portifolio.apiintegration.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executores das consultas em lote, das recargas do cache, do hedging e do enriquecimento.
+ * Com {@code spring.threads.virtual.enabled=true} passam a usar uma virtual thread por
+ * tarefa, assim como o Tomcat; o limite de concorrência continua sendo o semáforo de cada lote.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(name = "batchExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor batchExecutor(
+            @Value("${address.batch.pool-size:32}") int poolSize,
+            @Value("${address.batch.queue-capacity:1000}") int queueCapacity) {
+
+        // Pool dedicado para que lotes grandes não ocupem as threads do Tomcat
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("batch-cep-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(name = "batchExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualBatchExecutor() {
+        return virtualExecutor("batch-cep-");
+    }
+
+    @Bean(name = "cacheRefreshExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(CachePolicyProperties properties) {
+        int poolSize = properties.getRefreshPoolSize();
+
+        // Recargas do refreshAfterWrite fazem I/O bloqueante; não devem usar o ForkJoinPool comum
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("cache-refresh-");
+        return executor;
+    }
+
+    @Bean(name = "cacheRefreshExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualCacheRefreshExecutor() {
+        return virtualExecutor("cache-refresh-");
+    }
+
+    @Bean(name = "hedgeExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor hedgeExecutor(@Qualifier("viaCepProperties") UpstreamProperties viaCepProperties) {
+        int poolSize = viaCepProperties.getBulkhead().getMaxConcurrentCalls() * 2;
+
+        // Cada chamada com hedge ocupa até duas threads (primeira tentativa e hedge), além das
+        // corridas do roteador; sem fila, o excedente é rejeitado e a chamada segue sem hedge
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("hedge-");
+        return executor;
+    }
+
+    @Bean(name = "hedgeExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualHedgeExecutor() {
+        return virtualExecutor("hedge-");
+    }
+
+    @Bean(name = "enrichmentExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor enrichmentExecutor(@Value("${address.enrichment.pool-size:32}") int poolSize) {
+        // Endereço, clima e câmbio de uma requisição rodam em paralelo aqui; fila cheia
+        // deixa a dependência de fora da resposta em vez de bloquear a requisição
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize * 4);
+        executor.setThreadNamePrefix("enrichment-");
+        return executor;
+    }
+
+    @Bean(name = "enrichmentExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualEnrichmentExecutor() {
+        return virtualExecutor("enrichment-");
+    }
+
+    private static SimpleAsyncTaskExecutor virtualExecutor(String prefixo) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefixo);
+        executor.setVirtualThreads(true);
+        // Aguarda as tarefas em andamento no desligamento, como os pools de plataforma
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
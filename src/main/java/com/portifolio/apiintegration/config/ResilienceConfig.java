@@ -0,0 +1,170 @@
+package com.portifolio.apiintegration.config;
+
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import com.portifolio.apiintegration.exception.UpstreamUnavailableException;
+import com.portifolio.apiintegration.resilience.AdaptiveConcurrencyLimiter;
+import com.portifolio.apiintegration.resilience.Bulkhead;
+import com.portifolio.apiintegration.resilience.CircuitBreaker;
+import com.portifolio.apiintegration.resilience.HedgedRetry;
+import com.portifolio.apiintegration.resilience.TokenBucket;
+import com.portifolio.apiintegration.resilience.UpstreamGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "external-apis.viacep")
+    public UpstreamProperties viaCepProperties() {
+        return new UpstreamProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "external-apis.brasilapi")
+    public UpstreamProperties brasilApiProperties() {
+        return new UpstreamProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "external-apis.opencep")
+    public UpstreamProperties openCepProperties() {
+        return new UpstreamProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "external-apis.weather")
+    public UpstreamProperties weatherProperties() {
+        return new UpstreamProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "external-apis.currency")
+    public UpstreamProperties currencyProperties() {
+        return new UpstreamProperties();
+    }
+
+    @Bean
+    public UpstreamGuard viaCepGuard(@Qualifier("viaCepProperties") UpstreamProperties viaCepProperties,
+                                     MeterRegistry meterRegistry) {
+        // CEP inexistente é uma resposta válida do ViaCEP e não conta como falha nem sobrecarga
+        return criarGuard("ViaCEP", "viacep", viaCepProperties, meterRegistry,
+                erro -> !(erro instanceof CepNotFoundException));
+    }
+
+    // Provedores secundários não têm retry próprio: a falha já leva o roteador ao próximo provedor
+    @Bean
+    @ConditionalOnProperty(prefix = "external-apis.brasilapi", name = "enabled", havingValue = "true")
+    public UpstreamGuard brasilApiGuard(@Qualifier("brasilApiProperties") UpstreamProperties brasilApiProperties,
+                                        MeterRegistry meterRegistry) {
+        return criarGuard("BrasilAPI", "brasilapi", brasilApiProperties, meterRegistry,
+                erro -> !(erro instanceof CepNotFoundException));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "external-apis.opencep", name = "enabled", havingValue = "true")
+    public UpstreamGuard openCepGuard(@Qualifier("openCepProperties") UpstreamProperties openCepProperties,
+                                      MeterRegistry meterRegistry) {
+        return criarGuard("OpenCEP", "opencep", openCepProperties, meterRegistry,
+                erro -> !(erro instanceof CepNotFoundException));
+    }
+
+    // Cidade desconhecida (404) é resposta válida da API e não abre o circuito
+    @Bean
+    @ConditionalOnProperty(prefix = "external-apis.weather", name = "enabled", havingValue = "true")
+    public UpstreamGuard weatherGuard(@Qualifier("weatherProperties") UpstreamProperties weatherProperties,
+                                      MeterRegistry meterRegistry) {
+        return criarGuard("OpenWeatherMap", "weather", weatherProperties, meterRegistry,
+                erro -> !(erro.getCause() instanceof HttpClientErrorException.NotFound));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "external-apis.currency", name = "enabled", havingValue = "true")
+    public UpstreamGuard currencyGuard(@Qualifier("currencyProperties") UpstreamProperties currencyProperties,
+                                       MeterRegistry meterRegistry) {
+        return criarGuard("ExchangeRate-API", "currency", currencyProperties, meterRegistry, erro -> true);
+    }
+
+    @Bean
+    public HedgedRetry viaCepRetry(@Qualifier("viaCepProperties") UpstreamProperties viaCepProperties,
+                                   MeterRegistry meterRegistry,
+                                   @Qualifier("hedgeExecutor") Executor hedgeExecutor) {
+        HedgedRetry retry = new HedgedRetry("viacep", viaCepProperties.getRetry(), viaCepProperties.getHedge(),
+                ResilienceConfig::isFalhaTransitoria, hedgeExecutor);
+        retry.registrarMetricas(meterRegistry);
+        return retry;
+    }
+
+    /**
+     * Falhas que valem uma nova tentativa de um GET: timeout, erro de I/O, 429 e 5xx.
+     * Recusas locais (circuito aberto, fila cheia) e CEP inexistente não são repetidos.
+     */
+    static boolean isFalhaTransitoria(Throwable erro) {
+        if (erro instanceof CepNotFoundException || erro instanceof UpstreamUnavailableException) {
+            return false;
+        }
+        Throwable causa = erro instanceof ApiIntegrationException && erro.getCause() != null ? erro.getCause() : erro;
+        if (causa instanceof RestClientResponseException e) {
+            return isStatusTransitorio(e.getStatusCode());
+        }
+        if (causa instanceof WebClientResponseException e) {
+            return isStatusTransitorio(e.getStatusCode());
+        }
+        return causa instanceof ResourceAccessException
+                || causa instanceof WebClientRequestException
+                || causa instanceof TimeoutException;
+    }
+
+    private static boolean isStatusTransitorio(HttpStatusCode status) {
+        return status.is5xxServerError() || status.value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static UpstreamGuard criarGuard(String api, String nome, UpstreamProperties properties,
+                                            MeterRegistry meterRegistry, Predicate<Throwable> falha) {
+        CircuitBreaker circuitBreaker = null;
+        if (properties.getCircuitBreaker().isEnabled()) {
+            circuitBreaker = new CircuitBreaker(nome, properties.getCircuitBreaker());
+            circuitBreaker.registrarMetricas(meterRegistry);
+        }
+
+        TokenBucket rateLimiter = null;
+        if (properties.getRateLimiter().isEnabled()) {
+            rateLimiter = new TokenBucket(nome, properties.getRateLimiter().getPermitsPerSecond(),
+                    properties.getRateLimiter().getBurst());
+            rateLimiter.registrarMetricas(meterRegistry);
+        }
+
+        AdaptiveConcurrencyLimiter concurrencyLimiter = null;
+        if (properties.getAdaptiveConcurrency().isEnabled()) {
+            concurrencyLimiter = new AdaptiveConcurrencyLimiter(nome, properties.getAdaptiveConcurrency());
+            concurrencyLimiter.registrarMetricas(meterRegistry);
+        }
+
+        Bulkhead bulkhead = null;
+        if (properties.getBulkhead().isEnabled()) {
+            bulkhead = new Bulkhead(nome, properties.getBulkhead().getMaxConcurrentCalls(),
+                    properties.getBulkhead().getMaxWaitDuration());
+            bulkhead.registrarMetricas(meterRegistry);
+        }
+        UpstreamGuard guard = new UpstreamGuard(api, circuitBreaker, rateLimiter, concurrencyLimiter, bulkhead,
+                properties.getQueueTimeout(), falha);
+        guard.registrarMetricas(meterRegistry, nome);
+        return guard;
+    }
+}
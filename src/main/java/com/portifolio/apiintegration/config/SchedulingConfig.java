@@ -0,0 +1,13 @@
+package com.portifolio.apiintegration.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tarefas periódicas ({@code @Scheduled}), como a atualização das cotações de câmbio.
+ * Com virtual threads, o Spring Boot passa a agendá-las em virtual threads também.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
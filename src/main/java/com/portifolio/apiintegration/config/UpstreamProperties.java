@@ -0,0 +1,57 @@
+package com.portifolio.apiintegration.config;
+
+import com.portifolio.apiintegration.resilience.AdaptiveConcurrencyProperties;
+import com.portifolio.apiintegration.resilience.BulkheadProperties;
+import com.portifolio.apiintegration.resilience.CircuitBreakerProperties;
+import com.portifolio.apiintegration.resilience.HedgeProperties;
+import com.portifolio.apiintegration.resilience.RateLimiterProperties;
+import com.portifolio.apiintegration.resilience.RetryProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração de resiliência de uma API externa, ligada a {@code external-apis.<api>}.
+ */
+public class UpstreamProperties {
+
+    private final CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+    private final BulkheadProperties bulkhead = new BulkheadProperties();
+    private final RateLimiterProperties rateLimiter = new RateLimiterProperties();
+    private final AdaptiveConcurrencyProperties adaptiveConcurrency = new AdaptiveConcurrencyProperties();
+    private final RetryProperties retry = new RetryProperties();
+    private final HedgeProperties hedge = new HedgeProperties();
+    // Prazo para obter token e vaga; depois disso a chamada é recusada
+    private Duration queueTimeout = Duration.ofSeconds(2);
+
+    public CircuitBreakerProperties getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public BulkheadProperties getBulkhead() {
+        return bulkhead;
+    }
+
+    public RateLimiterProperties getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public AdaptiveConcurrencyProperties getAdaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    public RetryProperties getRetry() {
+        return retry;
+    }
+
+    public HedgeProperties getHedge() {
+        return hedge;
+    }
+
+    public Duration getQueueTimeout() {
+        return queueTimeout;
+    }
+
+    public void setQueueTimeout(Duration queueTimeout) {
+        this.queueTimeout = queueTimeout;
+    }
+}
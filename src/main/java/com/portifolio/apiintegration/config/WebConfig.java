@@ -0,0 +1,31 @@
+package com.portifolio.apiintegration.config;
+
+import com.portifolio.apiintegration.domain.Cep;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Path variables do tipo Cep são convertidas e validadas em uma única passada
+        registry.addConverter(String.class, Cep.class, Cep::of);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Logo antes do Jackson, para que só substitua a escrita de AddressResponse em JSON;
+        // os conversores anteriores (String, bytes, recursos) mantêm a prioridade
+        int jackson = 0;
+        while (jackson < converters.size() && !(converters.get(jackson) instanceof MappingJackson2HttpMessageConverter)) {
+            jackson++;
+        }
+        converters.add(jackson, new AddressResponseMessageConverter());
+    }
+}
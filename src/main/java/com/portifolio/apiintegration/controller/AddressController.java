@@ -1,23 +1,39 @@
 package com.portifolio.apiintegration.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.portifolio.apiintegration.domain.Cep;
 import com.portifolio.apiintegration.dto.request.AddressRequest;
+import com.portifolio.apiintegration.dto.response.AddressBatchItem;
 import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.dto.response.EnrichedAddressResponse;
+import com.portifolio.apiintegration.service.AddressBatchResult;
+import com.portifolio.apiintegration.service.AddressBatchService;
+import com.portifolio.apiintegration.service.AddressEnrichmentService;
 import com.portifolio.apiintegration.service.AddressService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +49,15 @@ public class AddressController {
     @Autowired
     private AddressService addressService;
 
+    @Autowired
+    private AddressBatchService addressBatchService;
+
+    @Autowired
+    private AddressEnrichmentService addressEnrichmentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping("/cep/{cep}")
     @Operation(summary = "Buscar endereço por CEP",
             description = "Consulta informações de endereço através do CEP utilizando a API ViaCEP")
@@ -43,30 +68,59 @@ public class AddressController {
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<AddressResponse> buscarEnderecoPorCep(
-            @Parameter(description = "CEP para consulta (8 dígitos)", example = "01310-100")
+            @Parameter(description = "CEP para consulta (8 dígitos)", example = "01310-100",
+                    schema = @Schema(type = "string", pattern = "^\\d{5}-?\\d{3}$"))
             @PathVariable
-            @Pattern(regexp = "^\\d{5}-?\\d{3}$", message = "CEP deve ter o formato 00000-000 ou 00000000")
-            String cep) {
+            Cep cep) {
 
-        logger.info("Recebida requisição para buscar CEP: {}", cep);
+        // Resultado e latência ficam na linha do AccessLogFilter
+        logger.debug("Recebida requisição para buscar CEP: {}", cep);
         AddressResponse address = addressService.buscarEnderecoPorCep(cep);
-        logger.info("CEP {} processado com sucesso", cep);
         return ResponseEntity.ok(address);
     }
 
+    @GetMapping("/cep/{cep}/enriched")
+    @Operation(summary = "Buscar endereço com clima e câmbio",
+            description = "Consulta endereço, clima e cotações em paralelo; dependências opcionais que não "
+                    + "respondem no prazo ficam de fora e aparecem em 'indisponiveis'")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Endereço encontrado, com os enriquecimentos disponíveis"),
+            @ApiResponse(responseCode = "400", description = "CEP inválido"),
+            @ApiResponse(responseCode = "502", description = "Erro na integração com ViaCEP"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<EnrichedAddressResponse> buscarEnderecoEnriquecido(
+            @Parameter(description = "CEP para consulta (8 dígitos)", example = "01310-100",
+                    schema = @Schema(type = "string", pattern = "^\\d{5}-?\\d{3}$"))
+            @PathVariable
+            Cep cep,
+            @Parameter(description = "Incluir o clima do município")
+            @RequestParam(defaultValue = "true")
+            boolean clima,
+            @Parameter(description = "Incluir cotações em reais")
+            @RequestParam(defaultValue = "true")
+            boolean cambio) {
+
+        logger.debug("Recebida requisição enriquecida para o CEP: {} (clima={}, cambio={})", cep, clima, cambio);
+        return ResponseEntity.ok(addressEnrichmentService.enriquecer(cep, clima, cambio));
+    }
+
     @PostMapping("/search")
     @Operation(summary = "Buscar endereço via POST",
-            description = "Busca endereço usando dados estruturados na requisição")
+            description = "Busca endereço usando dados estruturados na requisição; com includeAdditionalInfo=true "
+                    + "a resposta é a mesma de /cep/{cep}/enriched")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Endereço encontrado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados de requisição inválidos"),
             @ApiResponse(responseCode = "502", description = "Erro na integração com ViaCEP"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<AddressResponse> buscarEnderecoPost(@Valid @RequestBody AddressRequest request) {
-        logger.info("Recebida requisição POST para buscar endereço: {}", request);
+    public ResponseEntity<?> buscarEnderecoPost(@Valid @RequestBody AddressRequest request) {
+        logger.debug("Recebida requisição POST para buscar endereço: {}", request);
+        if (request.isIncludeAdditionalInfo()) {
+            return ResponseEntity.ok(addressEnrichmentService.enriquecer(Cep.of(request.getCep()), true, true));
+        }
         AddressResponse address = addressService.buscarEnderecoPorCep(request.getCep());
-        logger.info("Requisição POST processada com sucesso para CEP: {}", request.getCep());
         return ResponseEntity.ok(address);
     }
 
@@ -80,34 +134,58 @@ public class AddressController {
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<Map<String, Object>> buscarEnderecosLote(@Valid @RequestBody List<AddressRequest> requests) {
-        logger.info("Recebida requisição em lote para {} CEPs", requests.size());
+        logger.debug("Recebida requisição em lote para {} CEPs", requests.size());
 
-        Map<String, Object> response = new HashMap<>();
-        Map<String, AddressResponse> enderecos = new HashMap<>();
-        Map<String, String> erros = new HashMap<>();
-
-        for (AddressRequest request : requests) {
-            try {
-                AddressResponse address = addressService.buscarEnderecoPorCep(request.getCep());
-                enderecos.put(request.getCep(), address);
-            } catch (Exception e) {
-                logger.warn("Erro ao processar CEP {}: {}", request.getCep(), e.getMessage());
-                erros.put(request.getCep(), e.getMessage());
-            }
-        }
+        List<String> ceps = requests.stream()
+                .map(AddressRequest::getCep)
+                .toList();
+        AddressBatchResult resultado = addressBatchService.buscarEnderecos(ceps);
+        Map<String, AddressResponse> enderecos = resultado.getSucessos();
+        Map<String, String> erros = resultado.getErros();
 
+        Map<String, Object> response = new HashMap<>();
         response.put("sucessos", enderecos);
         response.put("erros", erros);
         response.put("total", requests.size());
         response.put("sucessos_count", enderecos.size());
         response.put("erros_count", erros.size());
 
-        logger.info("Processamento em lote concluído: {} sucessos, {} erros",
-                enderecos.size(), erros.size());
-
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/batch/stream",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Buscar endereços em streaming",
+            description = "Lê um CEP por linha (texto ou {\"cep\": ...}) e escreve cada resultado em NDJSON assim que fica pronto; "
+                    + "a memória usada não depende do tamanho do lote")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados transmitidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public void buscarEnderecosStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ObjectWriter writer = objectMapper.writerFor(AddressBatchItem.class);
+        OutputStream saida = response.getOutputStream();
+        BufferedReader entrada = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+
+        addressBatchService.buscarEnderecos(entrada, new AddressBatchService.SaidaLote() {
+            @Override
+            public void escrever(AddressBatchItem item) throws IOException {
+                saida.write(writer.writeValueAsBytes(item));
+                saida.write('\n');
+            }
+
+            @Override
+            public void descarregar() throws IOException {
+                saida.flush();
+            }
+        });
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Verifica se o serviço está funcionando")
     public ResponseEntity<Map<String, Object>> healthCheck() {
@@ -121,7 +199,8 @@ public class AddressController {
     }
 
     @GetMapping("/metrics")
-    @Operation(summary = "Métricas do serviço", description = "Retorna métricas básicas do serviço")
+    @Operation(summary = "Métricas do serviço",
+            description = "Retorna métricas básicas da JVM; séries detalhadas em /actuator/prometheus")
     public ResponseEntity<Map<String, Object>> getMetrics() {
         Map<String, Object> metrics = new HashMap<>();
 
@@ -131,7 +210,7 @@ public class AddressController {
         metrics.put("memory_total_mb", runtime.totalMemory() / 1024 / 1024);
         metrics.put("memory_max_mb", runtime.maxMemory() / 1024 / 1024);
         metrics.put("processors", runtime.availableProcessors());
-        metrics.put("uptime_ms", System.currentTimeMillis());
+        metrics.put("uptime_ms", ManagementFactory.getRuntimeMXBean().getUptime());
 
         return ResponseEntity.ok(metrics);
     }
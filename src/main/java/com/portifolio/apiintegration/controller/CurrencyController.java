@@ -0,0 +1,74 @@
+package com.portifolio.apiintegration.controller;
+
+import com.portifolio.apiintegration.domain.ExchangeRateTable;
+import com.portifolio.apiintegration.service.CurrencyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/currency")
+@Tag(name = "Currency", description = "Conversão de moedas pelas cotações em memória")
+@ConditionalOnProperty(prefix = "external-apis.currency", name = "enabled", havingValue = "true")
+public class CurrencyController {
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @GetMapping("/convert")
+    @Operation(summary = "Converter um valor",
+            description = "Converte pelas cotações carregadas na última atualização, sem consultar a API")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Valor convertido"),
+            @ApiResponse(responseCode = "400", description = "Moeda desconhecida"),
+            @ApiResponse(responseCode = "502", description = "Cotações ainda não carregadas")
+    })
+    public ResponseEntity<Map<String, Object>> converter(
+            @Parameter(description = "Moeda de origem", example = "USD") @RequestParam String de,
+            @Parameter(description = "Moeda de destino", example = "BRL") @RequestParam String para,
+            @Parameter(description = "Valor a converter", example = "100") @RequestParam double valor) {
+        ExchangeRateTable tabela = currencyService.getTabela();
+        int origem = tabela.indice(de.toUpperCase(Locale.ROOT));
+        int destino = tabela.indice(para.toUpperCase(Locale.ROOT));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("de", tabela.moeda(origem));
+        response.put("para", tabela.moeda(destino));
+        response.put("valor", valor);
+        response.put("taxa", tabela.taxa(origem, destino));
+        response.put("resultado", tabela.converter(origem, destino, valor));
+        response.put("atualizado_em", Math.max(tabela.atualizadoEm(origem), tabela.atualizadoEm(destino)));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/convert/bulk")
+    @Operation(summary = "Converter vários valores",
+            description = "Recebe um array JSON de valores e devolve os valores convertidos na mesma ordem")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Valores convertidos"),
+            @ApiResponse(responseCode = "400", description = "Moeda desconhecida"),
+            @ApiResponse(responseCode = "502", description = "Cotações ainda não carregadas")
+    })
+    public ResponseEntity<double[]> converterLote(
+            @Parameter(description = "Moeda de origem", example = "USD") @RequestParam String de,
+            @Parameter(description = "Moeda de destino", example = "BRL") @RequestParam String para,
+            @RequestBody double[] valores) {
+        return ResponseEntity.ok(currencyService.converter(de.toUpperCase(Locale.ROOT),
+                para.toUpperCase(Locale.ROOT), valores));
+    }
+}
@@ -0,0 +1,77 @@
+package com.portifolio.apiintegration.controller;
+
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.request.AddressRequest;
+import com.portifolio.apiintegration.dto.response.AddressBatchItem;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.service.ReactiveAddressService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Variante não bloqueante da API de endereços. As respostas são {@link Mono}/{@link Flux}:
+ * a thread do Tomcat é liberada enquanto o ViaCEP responde e o lote é transmitido em
+ * NDJSON, um CEP por linha, na ordem em que ficam prontos.
+ */
+@RestController
+@RequestMapping("/api/v1/address/reactive")
+@Tag(name = "Address (reativo)", description = "API não bloqueante para consulta de endereços")
+@Validated
+public class ReactiveAddressController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAddressController.class);
+
+    @Autowired
+    private ReactiveAddressService reactiveAddressService;
+
+    @GetMapping("/cep/{cep}")
+    @Operation(summary = "Buscar endereço por CEP (não bloqueante)",
+            description = "Consulta informações de endereço através do CEP sem ocupar uma thread durante a chamada ao ViaCEP")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Endereço encontrado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "CEP inválido"),
+            @ApiResponse(responseCode = "502", description = "Erro na integração com ViaCEP"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public Mono<AddressResponse> buscarEnderecoPorCep(
+            @Parameter(description = "CEP para consulta (8 dígitos)", example = "01310-100",
+                    schema = @Schema(type = "string", pattern = "^\\d{5}-?\\d{3}$"))
+            @PathVariable
+            Cep cep) {
+
+        logger.debug("Recebida requisição reativa para buscar CEP: {}", cep);
+        return reactiveAddressService.buscarEnderecoPorCep(cep);
+    }
+
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Buscar múltiplos endereços (streaming)",
+            description = "Transmite um resultado por linha (NDJSON) assim que cada CEP é resolvido")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados transmitidos"),
+            @ApiResponse(responseCode = "400", description = "Lista de CEPs inválida"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public Flux<AddressBatchItem> buscarEnderecosLote(@Valid @RequestBody List<AddressRequest> requests) {
+        logger.debug("Recebida requisição reativa em lote para {} CEPs", requests.size());
+
+        List<String> ceps = requests.stream()
+                .map(AddressRequest::getCep)
+                .toList();
+        return reactiveAddressService.buscarEnderecos(ceps);
+    }
+}
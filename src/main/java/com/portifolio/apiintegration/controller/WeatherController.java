@@ -0,0 +1,45 @@
+package com.portifolio.apiintegration.controller;
+
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.WeatherResponse;
+import com.portifolio.apiintegration.service.WeatherService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/weather")
+@Tag(name = "Weather", description = "Clima atual do município de um CEP")
+@ConditionalOnProperty(prefix = "external-apis.weather", name = "enabled", havingValue = "true")
+public class WeatherController {
+
+    @Autowired
+    private WeatherService weatherService;
+
+    @GetMapping("/cep/{cep}")
+    @Operation(summary = "Clima atual por CEP",
+            description = "Resolve o CEP até o município e consulta o clima atual no OpenWeatherMap")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Clima encontrado"),
+            @ApiResponse(responseCode = "400", description = "CEP inválido"),
+            @ApiResponse(responseCode = "502", description = "Erro na integração com ViaCEP ou OpenWeatherMap"),
+            @ApiResponse(responseCode = "503", description = "OpenWeatherMap indisponível")
+    })
+    public ResponseEntity<WeatherResponse> buscarClimaPorCep(
+            @Parameter(description = "CEP para consulta (8 dígitos)", example = "01310-100",
+                    schema = @Schema(type = "string", pattern = "^\\d{5}-?\\d{3}$"))
+            @PathVariable
+            Cep cep) {
+        return ResponseEntity.ok(weatherService.buscarClimaPorCep(cep));
+    }
+}
@@ -0,0 +1,164 @@
+package com.portifolio.apiintegration.dataset;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portifolio.apiintegration.client.viacep.dto.ViaCepResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Importa uma base de CEPs de arquivo local para um {@link CepIndex}.
+ *
+ * <p>Formatos aceitos:
+ * <ul>
+ *   <li>CSV com cabeçalho (cep, logradouro, complemento, bairro, cidade ou localidade, uf, ddd),
+ *       separado por ';', ',', '|', '@' ou tabulação — cobre exportações do DNE dos Correios;</li>
+ *   <li>JSON: array de objetos no formato de resposta do ViaCEP, lido em streaming.</li>
+ * </ul>
+ */
+public class CepDatasetLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepDatasetLoader.class);
+    private static final char[] SEPARADORES = {';', '|', '@', '\t', ','};
+
+    private final ObjectMapper objectMapper;
+
+    public CepDatasetLoader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public CepIndex carregar(Path arquivo) throws IOException {
+        long inicio = System.nanoTime();
+        CepIndexBuilder builder = new CepIndexBuilder();
+
+        String nome = arquivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        int rejeitadas = nome.endsWith(".json")
+                ? carregarJson(arquivo, builder)
+                : carregarCsv(arquivo, builder);
+
+        CepIndex index = builder.build();
+        logger.info("Base de CEPs {} carregada: {} CEPs, {} textos distintos, {} linhas rejeitadas em {} ms",
+                arquivo, index.tamanho(), index.tamanhoDicionario(), rejeitadas,
+                (System.nanoTime() - inicio) / 1_000_000);
+        return index;
+    }
+
+    private int carregarCsv(Path arquivo, CepIndexBuilder builder) throws IOException {
+        int rejeitadas = 0;
+        try (BufferedReader reader = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String cabecalho = reader.readLine();
+            if (cabecalho == null) {
+                return 0;
+            }
+            char separador = detectarSeparador(cabecalho);
+            List<String> colunas = dividir(cabecalho.replace("\uFEFF", ""), separador);
+            int cep = coluna(colunas, "cep");
+            int logradouro = coluna(colunas, "logradouro");
+            int complemento = coluna(colunas, "complemento");
+            int bairro = coluna(colunas, "bairro");
+            int cidade = Math.max(coluna(colunas, "cidade"), coluna(colunas, "localidade"));
+            int uf = coluna(colunas, "uf");
+            int ddd = coluna(colunas, "ddd");
+            if (cep < 0) {
+                throw new IllegalArgumentException("Base de CEPs sem coluna 'cep': " + arquivo);
+            }
+
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                List<String> campos = dividir(linha, separador);
+                try {
+                    builder.adicionar(campo(campos, cep), campo(campos, logradouro), campo(campos, complemento),
+                            campo(campos, bairro), campo(campos, cidade), campo(campos, uf), campo(campos, ddd));
+                } catch (IllegalArgumentException e) {
+                    rejeitadas++;
+                }
+            }
+        }
+        return rejeitadas;
+    }
+
+    private int carregarJson(Path arquivo, CepIndexBuilder builder) throws IOException {
+        int rejeitadas = 0;
+        try (InputStream entrada = Files.newInputStream(arquivo);
+             JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Base de CEPs em JSON deve ser um array: " + arquivo);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                ViaCepResponse item = objectMapper.readValue(parser, ViaCepResponse.class);
+                try {
+                    builder.adicionar(item.getCep(), item.getLogradouro(), item.getComplemento(),
+                            item.getBairro(), item.getLocalidade(), item.getUf(), item.getDdd());
+                } catch (IllegalArgumentException e) {
+                    rejeitadas++;
+                }
+            }
+        }
+        return rejeitadas;
+    }
+
+    private static char detectarSeparador(String cabecalho) {
+        for (char separador : SEPARADORES) {
+            if (cabecalho.indexOf(separador) >= 0) {
+                return separador;
+            }
+        }
+        return ',';
+    }
+
+    private static int coluna(List<String> colunas, String nome) {
+        for (int i = 0; i < colunas.size(); i++) {
+            if (colunas.get(i).trim().equalsIgnoreCase(nome)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String campo(List<String> campos, int posicao) {
+        if (posicao < 0 || posicao >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(posicao).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // Divide a linha respeitando campos entre aspas duplas
+    static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if (c == separador && !entreAspas) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,101 @@
+package com.portifolio.apiintegration.dataset;
+
+import com.portifolio.apiintegration.domain.Uf;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+
+import java.util.Arrays;
+
+/**
+ * Índice imutável e compacto de uma base completa de CEPs.
+ * As chaves ficam ordenadas em um int[] (busca binária) e os textos repetidos
+ * (logradouro, bairro, cidade) são armazenados uma única vez em um dicionário,
+ * referenciados por posição em arrays paralelos.
+ *
+ * <p>O {@link AddressResponse} de um registro é montado no primeiro
+ * acerto e guardado em uma tabela de mapeamento direto de até {@value #RECENTES} posições: CEPs
+ * consultados com frequência não são remontados, e a memória extra não cresce com a base.
+ */
+public final class CepIndex {
+
+    static final int SEM_VALOR = -1;
+    static final int RECENTES = 1 << 16;
+
+    private final int[] ceps;
+    private final int[] logradouros;
+    private final int[] complementos;
+    private final int[] bairros;
+    private final int[] cidades;
+    private final byte[] ufs;
+    private final short[] ddds;
+    private final String[] dicionario;
+
+    // Corridas só montam o mesmo endereço duas vezes; Recente é imutável
+    private final Recente[] recentes;
+
+    CepIndex(int[] ceps, int[] logradouros, int[] complementos, int[] bairros, int[] cidades,
+             byte[] ufs, short[] ddds, String[] dicionario) {
+        this.ceps = ceps;
+        this.logradouros = logradouros;
+        this.complementos = complementos;
+        this.bairros = bairros;
+        this.cidades = cidades;
+        this.ufs = ufs;
+        this.ddds = ddds;
+        this.dicionario = dicionario;
+        // Potência de dois até RECENTES; bases pequenas não pagam a tabela inteira
+        int posicoes = Integer.highestOneBit(Math.max(ceps.length - 1, 1)) << 1;
+        this.recentes = new Recente[Math.min(RECENTES, posicoes)];
+    }
+
+    public static CepIndex vazio() {
+        return new CepIndexBuilder().build();
+    }
+
+    public int tamanho() {
+        return ceps.length;
+    }
+
+    public int tamanhoDicionario() {
+        return dicionario.length;
+    }
+
+    public boolean contem(int chave) {
+        return Arrays.binarySearch(ceps, chave) >= 0;
+    }
+
+    public AddressResponse buscar(int chave) {
+        int i = Arrays.binarySearch(ceps, chave);
+        if (i < 0) {
+            return null;
+        }
+
+        int posicao = i & (recentes.length - 1);
+        Recente recente = recentes[posicao];
+        if (recente != null && recente.indice == i) {
+            return recente.endereco;
+        }
+        AddressResponse endereco = montar(chave, i);
+        recentes[posicao] = new Recente(i, endereco);
+        return endereco;
+    }
+
+    private AddressResponse montar(int chave, int i) {
+        String cidade = texto(cidades[i]);
+        return new AddressResponse(
+                chave,
+                texto(logradouros[i]),
+                texto(complementos[i]),
+                texto(bairros[i]),
+                cidade,
+                cidade, // Nome completo da cidade, como na resposta do ViaCEP
+                ufs[i] == SEM_VALOR ? null : Uf.deCodigo(ufs[i]),
+                ddds[i]
+        );
+    }
+
+    private record Recente(int indice, AddressResponse endereco) {}
+
+    private String texto(int codigo) {
+        return codigo == SEM_VALOR ? null : dicionario[codigo];
+    }
+}
@@ -0,0 +1,133 @@
+package com.portifolio.apiintegration.dataset;
+
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.domain.Uf;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Acumula linhas da base de CEPs e gera o {@link CepIndex} ordenado.
+ * Para CEPs repetidos prevalece a última linha lida.
+ */
+public class CepIndexBuilder {
+
+    private final Map<String, Integer> codigos = new HashMap<>();
+    private String[] dicionario = new String[1024];
+    private int tamanhoDicionario;
+
+    private int[] ceps = new int[1024];
+    private int[] logradouros = new int[1024];
+    private int[] complementos = new int[1024];
+    private int[] bairros = new int[1024];
+    private int[] cidades = new int[1024];
+    private byte[] ufs = new byte[1024];
+    private short[] ddds = new short[1024];
+    private int linhas;
+
+    public CepIndexBuilder adicionar(String cep, String logradouro, String complemento, String bairro,
+                                     String cidade, String uf, String ddd) {
+        int chave = Cep.chave(cep);
+        garantirCapacidade();
+
+        ceps[linhas] = chave;
+        logradouros[linhas] = codificar(logradouro);
+        complementos[linhas] = codificar(complemento);
+        bairros[linhas] = codificar(bairro);
+        cidades[linhas] = codificar(cidade);
+        ufs[linhas] = codificarUf(uf);
+        ddds[linhas] = codificarDdd(ddd);
+        linhas++;
+        return this;
+    }
+
+    public CepIndex build() {
+        // Ordena pares (chave, linha) empacotados em long; entre repetidos fica a ordem de leitura
+        long[] ordem = new long[linhas];
+        for (int i = 0; i < linhas; i++) {
+            ordem[i] = ((long) ceps[i] << 32) | i;
+        }
+        Arrays.sort(ordem);
+
+        int unicos = 0;
+        int[] posicoes = new int[linhas];
+        for (int i = 0; i < linhas; i++) {
+            int linha = (int) ordem[i];
+            if (unicos > 0 && ceps[posicoes[unicos - 1]] == ceps[linha]) {
+                posicoes[unicos - 1] = linha;
+            } else {
+                posicoes[unicos++] = linha;
+            }
+        }
+
+        int[] novosCeps = new int[unicos];
+        int[] novosLogradouros = new int[unicos];
+        int[] novosComplementos = new int[unicos];
+        int[] novosBairros = new int[unicos];
+        int[] novasCidades = new int[unicos];
+        byte[] novasUfs = new byte[unicos];
+        short[] novosDdds = new short[unicos];
+        for (int i = 0; i < unicos; i++) {
+            int origem = posicoes[i];
+            novosCeps[i] = ceps[origem];
+            novosLogradouros[i] = logradouros[origem];
+            novosComplementos[i] = complementos[origem];
+            novosBairros[i] = bairros[origem];
+            novasCidades[i] = cidades[origem];
+            novasUfs[i] = ufs[origem];
+            novosDdds[i] = ddds[origem];
+        }
+
+        return new CepIndex(novosCeps, novosLogradouros, novosComplementos, novosBairros, novasCidades,
+                novasUfs, novosDdds, Arrays.copyOf(dicionario, tamanhoDicionario));
+    }
+
+    private int codificar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return CepIndex.SEM_VALOR;
+        }
+        Integer codigo = codigos.get(texto);
+        if (codigo != null) {
+            return codigo;
+        }
+        if (tamanhoDicionario == dicionario.length) {
+            dicionario = Arrays.copyOf(dicionario, dicionario.length * 2);
+        }
+        dicionario[tamanhoDicionario] = texto;
+        codigos.put(texto, tamanhoDicionario);
+        return tamanhoDicionario++;
+    }
+
+    private static byte codificarUf(String uf) {
+        if (uf == null || uf.isBlank()) {
+            return CepIndex.SEM_VALOR;
+        }
+        Uf codigo = Uf.buscar(uf);
+        if (codigo == null) {
+            throw new IllegalArgumentException("UF inválida: " + uf);
+        }
+        return (byte) codigo.ordinal();
+    }
+
+    private static short codificarDdd(String ddd) {
+        if (ddd == null || ddd.isBlank()) {
+            return CepIndex.SEM_VALOR;
+        }
+        return Short.parseShort(ddd.trim());
+    }
+
+    private void garantirCapacidade() {
+        if (linhas < ceps.length) {
+            return;
+        }
+        int novaCapacidade = ceps.length * 2;
+        ceps = Arrays.copyOf(ceps, novaCapacidade);
+        logradouros = Arrays.copyOf(logradouros, novaCapacidade);
+        complementos = Arrays.copyOf(complementos, novaCapacidade);
+        bairros = Arrays.copyOf(bairros, novaCapacidade);
+        cidades = Arrays.copyOf(cidades, novaCapacidade);
+        ufs = Arrays.copyOf(ufs, novaCapacidade);
+        ddds = Arrays.copyOf(ddds, novaCapacidade);
+    }
+}
@@ -0,0 +1,64 @@
+package com.portifolio.apiintegration.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Base local de CEPs carregada na inicialização a partir de address.dataset.path.
+ * Sem arquivo configurado o índice fica vazio e todas as consultas seguem para o ViaCEP.
+ */
+@Component
+public class OfflineAddressIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfflineAddressIndex.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${address.dataset.path:}")
+    private String caminho;
+
+    @Value("${address.dataset.offline-only:false}")
+    private boolean offlineOnly;
+
+    private volatile CepIndex index = CepIndex.vazio();
+
+    @PostConstruct
+    public void carregar() throws IOException {
+        if (!StringUtils.hasText(caminho)) {
+            if (offlineOnly) {
+                throw new IllegalStateException("address.dataset.offline-only exige address.dataset.path");
+            }
+            return;
+        }
+        recarregar(Paths.get(caminho));
+    }
+
+    public void recarregar(Path arquivo) throws IOException {
+        index = new CepDatasetLoader(objectMapper).carregar(arquivo);
+        logger.info("Consulta local de CEPs ativa ({} CEPs, modo offline: {})", index.tamanho(), offlineOnly);
+    }
+
+    public AddressResponse buscar(int chave) {
+        return index.buscar(chave);
+    }
+
+    public boolean isOfflineOnly() {
+        return offlineOnly;
+    }
+
+    public int getTamanho() {
+        return index.tamanho();
+    }
+}
@@ -0,0 +1,120 @@
+package com.portifolio.apiintegration.domain;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CEP como valor imutável, guardado como um int de 8 dígitos.
+ * "01310-100" e "01310100" resultam no mesmo valor (1310100), usado do controller
+ * até a chave de cache e a montagem da URL.
+ *
+ * <p>A leitura é feita em uma única passada sobre o texto, sem regex e sem Strings
+ * intermediárias; o formato é validado durante a própria conversão.
+ */
+public final class Cep {
+
+    public static final int DIGITOS = 8;
+    public static final String MENSAGEM_FORMATO = "CEP deve ter o formato 00000-000 ou 00000000";
+
+    private static final int INVALIDO = -1;
+    private static final int MAXIMO = 99_999_999;
+
+    private final int valor;
+
+    private Cep(int valor) {
+        this.valor = valor;
+    }
+
+    public static Cep of(CharSequence texto) {
+        return new Cep(chave(texto));
+    }
+
+    public static Cep deChave(int chave) {
+        if (chave < 0 || chave > MAXIMO) {
+            throw new IllegalArgumentException("Chave de CEP inválida: " + chave);
+        }
+        return new Cep(chave);
+    }
+
+    public static boolean isValido(CharSequence texto) {
+        return texto != null && converter(texto) != INVALIDO;
+    }
+
+    public static int chave(CharSequence texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("CEP não pode ser nulo");
+        }
+        int valor = converter(texto);
+        if (valor == INVALIDO) {
+            throw new IllegalArgumentException(MENSAGEM_FORMATO);
+        }
+        return valor;
+    }
+
+    public static String formatar(int chave) {
+        return deChave(chave).digitos();
+    }
+
+    // Aceita exatamente 00000000 ou 00000-000
+    private static int converter(CharSequence texto) {
+        int tamanho = texto.length();
+        if (tamanho != DIGITOS && (tamanho != DIGITOS + 1 || texto.charAt(5) != '-')) {
+            return INVALIDO;
+        }
+
+        int valor = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (i == 5 && tamanho == DIGITOS + 1) {
+                continue;
+            }
+            int digito = texto.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return INVALIDO;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    public int valor() {
+        return valor;
+    }
+
+    public String digitos() {
+        byte[] digitos = new byte[DIGITOS];
+        int restante = valor;
+        for (int i = DIGITOS - 1; i >= 0; i--) {
+            digitos[i] = (byte) ('0' + restante % 10);
+            restante /= 10;
+        }
+        return new String(digitos, StandardCharsets.ISO_8859_1);
+    }
+
+    public String comTraco() {
+        byte[] texto = new byte[DIGITOS + 1];
+        int restante = valor;
+        for (int i = DIGITOS; i >= 0; i--) {
+            if (i == 5) {
+                texto[i] = '-';
+                continue;
+            }
+            texto[i] = (byte) ('0' + restante % 10);
+            restante /= 10;
+        }
+        return new String(texto, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        return outro instanceof Cep cep && cep.valor == valor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(valor);
+    }
+
+    @Override
+    public String toString() {
+        return digitos();
+    }
+}
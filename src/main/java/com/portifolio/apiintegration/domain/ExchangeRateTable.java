@@ -0,0 +1,148 @@
+package com.portifolio.apiintegration.domain;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cotações de câmbio como valor imutável.
+ *
+ * <p>Cada moeda tem um índice fixo, que não muda entre atualizações (moedas novas entram no
+ * fim), então quem converte em volume pode resolver os códigos uma vez e usar os métodos por
+ * índice. Cada moeda base carregada tem uma linha {@code double[]} com o valor de 1 unidade
+ * da base em cada moeda; as demais são convertidas pela cotação cruzada da primeira base
+ * carregada. Nenhuma leitura aloca memória ou sincroniza.
+ */
+public final class ExchangeRateTable {
+
+    public static final ExchangeRateTable VAZIA = new ExchangeRateTable(new String[0], Map.of(),
+            new double[0][], new long[0], -1);
+
+    private final String[] moedas;
+    private final Map<String, Integer> indices;
+    // [base][moeda]; null para moedas que não foram carregadas como base, NaN sem cotação
+    private final double[][] taxas;
+    private final long[] atualizadoEm;
+    private final int pivo;
+
+    private ExchangeRateTable(String[] moedas, Map<String, Integer> indices, double[][] taxas,
+                              long[] atualizadoEm, int pivo) {
+        this.moedas = moedas;
+        this.indices = indices;
+        this.taxas = taxas;
+        this.atualizadoEm = atualizadoEm;
+        this.pivo = pivo;
+    }
+
+    /**
+     * Nova tabela com a linha de {@code base} substituída; as outras linhas são compartilhadas.
+     *
+     * @param cotacoes valor de 1 unidade da base em cada moeda
+     * @param dataCotacao epoch em segundos da cotação
+     */
+    public ExchangeRateTable comBase(String base, Map<String, Double> cotacoes, long dataCotacao) {
+        Map<String, Integer> novosIndices = new HashMap<>(indices);
+        String[] novasMoedas = Arrays.copyOf(moedas, moedas.length + cotacoes.size() + 1);
+        int tamanho = moedas.length;
+        for (String moeda : cotacoes.keySet()) {
+            if (novosIndices.putIfAbsent(moeda, tamanho) == null) {
+                novasMoedas[tamanho++] = moeda;
+            }
+        }
+        if (novosIndices.putIfAbsent(base, tamanho) == null) {
+            novasMoedas[tamanho++] = base;
+        }
+        novasMoedas = Arrays.copyOf(novasMoedas, tamanho);
+
+        // Linhas antigas ganham NaN nas posições das moedas novas
+        double[][] novasTaxas = new double[tamanho][];
+        for (int i = 0; i < taxas.length; i++) {
+            novasTaxas[i] = taxas[i] == null || taxas[i].length == tamanho ? taxas[i] : estender(taxas[i], tamanho);
+        }
+        double[] linha = new double[tamanho];
+        Arrays.fill(linha, Double.NaN);
+        cotacoes.forEach((moeda, taxa) -> {
+            if (taxa != null && taxa > 0) {
+                linha[novosIndices.get(moeda)] = taxa;
+            }
+        });
+        int indiceBase = novosIndices.get(base);
+        linha[indiceBase] = 1.0;
+        novasTaxas[indiceBase] = linha;
+
+        long[] novasDatas = Arrays.copyOf(atualizadoEm, tamanho);
+        novasDatas[indiceBase] = dataCotacao;
+
+        return new ExchangeRateTable(novasMoedas, Map.copyOf(novosIndices), novasTaxas, novasDatas,
+                pivo >= 0 ? pivo : indiceBase);
+    }
+
+    public boolean isVazia() {
+        return pivo < 0;
+    }
+
+    public int getQuantidade() {
+        return moedas.length;
+    }
+
+    public String moeda(int indice) {
+        return moedas[indice];
+    }
+
+    /**
+     * @throws IllegalArgumentException se a moeda não consta da tabela
+     */
+    public int indice(String moeda) {
+        Integer indice = indices.get(moeda);
+        if (indice == null) {
+            throw new IllegalArgumentException("Moeda desconhecida: " + moeda);
+        }
+        return indice;
+    }
+
+    /**
+     * Quanto vale 1 unidade de {@code de} em {@code para}.
+     *
+     * @throws IllegalArgumentException se não há cotação entre as duas moedas
+     */
+    public double taxa(int de, int para) {
+        double[] direta = taxas[de];
+        if (direta != null && !Double.isNaN(direta[para])) {
+            return direta[para];
+        }
+        double[] cruzada = taxas[pivo];
+        double taxa = cruzada[para] / cruzada[de];
+        if (Double.isNaN(taxa)) {
+            throw new IllegalArgumentException("Sem cotação de " + moedas[de] + " para " + moedas[para]);
+        }
+        return taxa;
+    }
+
+    public double converter(int de, int para, double valor) {
+        return valor * taxa(de, para);
+    }
+
+    /**
+     * Converte {@code valores} para {@code destino} (pode ser o mesmo array).
+     */
+    public void converter(int de, int para, double[] valores, double[] destino) {
+        if (destino.length < valores.length) {
+            throw new IllegalArgumentException("Destino menor que a entrada");
+        }
+        double taxa = taxa(de, para);
+        for (int i = 0; i < valores.length; i++) {
+            destino[i] = valores[i] * taxa;
+        }
+    }
+
+    // Epoch em segundos da última cotação da base; 0 se ela não foi carregada
+    public long atualizadoEm(int base) {
+        return atualizadoEm[base];
+    }
+
+    private static double[] estender(double[] linha, int tamanho) {
+        double[] estendida = Arrays.copyOf(linha, tamanho);
+        Arrays.fill(estendida, linha.length, tamanho, Double.NaN);
+        return estendida;
+    }
+}
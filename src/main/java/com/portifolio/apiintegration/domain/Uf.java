@@ -0,0 +1,48 @@
+package com.portifolio.apiintegration.domain;
+
+/**
+ * Unidades da federação, em ordem alfabética de sigla. O ordinal cabe em um byte e é o código
+ * usado no índice da base local e nos endereços em cache.
+ */
+public enum Uf {
+    AC, AL, AM, AP, BA, CE, DF, ES, GO, MA, MG, MS, MT, PA,
+    PB, PE, PI, PR, RJ, RN, RO, RR, RS, SC, SE, SP, TO;
+
+    private static final Uf[] VALORES = values();
+
+    public static Uf deCodigo(int codigo) {
+        return VALORES[codigo];
+    }
+
+    /**
+     * @return a UF da sigla (sem diferenciar maiúsculas), ou {@code null} se vazia ou desconhecida
+     */
+    public static Uf buscar(String sigla) {
+        if (sigla == null || sigla.length() < 2) {
+            return null;
+        }
+        String normalizada = sigla.strip();
+        if (normalizada.length() != 2) {
+            return null;
+        }
+        char primeira = Character.toUpperCase(normalizada.charAt(0));
+        char segunda = Character.toUpperCase(normalizada.charAt(1));
+        // Busca binária sobre as siglas, sem criar Strings nem lançar exceções
+        int inicio = 0;
+        int fim = VALORES.length - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            String atual = VALORES[meio].name();
+            int comparacao = atual.charAt(0) != primeira ? atual.charAt(0) - primeira : atual.charAt(1) - segunda;
+            if (comparacao == 0) {
+                return VALORES[meio];
+            }
+            if (comparacao < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio - 1;
+            }
+        }
+        return null;
+    }
+}
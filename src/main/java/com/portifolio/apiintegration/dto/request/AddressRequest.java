@@ -1,14 +1,14 @@
 package com.portifolio.apiintegration.dto.request;
 
+import com.portifolio.apiintegration.validation.CepValido;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 
 @Schema(description = "Dados de requisição para busca de endereço")
 public class AddressRequest {
 
     @NotBlank(message = "CEP é obrigatório")
-    @Pattern(regexp = "^\\d{5}-?\\d{3}$", message = "CEP deve ter o formato 00000-000 ou 00000000")
+    @CepValido
     @Schema(description = "CEP para consulta", example = "01310-100", required = true)
     private String cep;
 
@@ -0,0 +1,41 @@
+package com.portifolio.apiintegration.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de um CEP dentro de um lote transmitido item a item (NDJSON).
+ * Traz o endereço ou a mensagem de erro, nunca os dois.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AddressBatchItem {
+
+    private final String cep;
+    private final AddressResponse endereco;
+    private final String erro;
+
+    private AddressBatchItem(String cep, AddressResponse endereco, String erro) {
+        this.cep = cep;
+        this.endereco = endereco;
+        this.erro = erro;
+    }
+
+    public static AddressBatchItem sucesso(String cep, AddressResponse endereco) {
+        return new AddressBatchItem(cep, endereco, null);
+    }
+
+    public static AddressBatchItem erro(String cep, String erro) {
+        return new AddressBatchItem(cep, null, erro);
+    }
+
+    public String getCep() {
+        return cep;
+    }
+
+    public AddressResponse getEndereco() {
+        return endereco;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+}
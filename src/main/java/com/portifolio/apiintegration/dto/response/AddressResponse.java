@@ -1,93 +1,156 @@
 package com.portifolio.apiintegration.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.portifolio.apiintegration.cache.StringPool;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.domain.Uf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Endereço imutável, no formato em que fica no cache.
+ *
+ * <p>O CEP é guardado como int, a UF como {@link Uf} e o DDD como short; cidade, estado, bairro e
+ * complemento passam pelo {@link StringPool} e são compartilhados entre todos os CEPs com o mesmo
+ * valor. Só o logradouro é próprio de cada entrada. UF ou DDD fora do padrão ficam com o texto
+ * recebido. O JSON continua o mesmo, com todos os campos como texto.
+ *
+ * <p>{@link #escreverJson(OutputStream)} gera o JSON direto no stream da resposta, sem o
+ * ObjectMapper e sem guardar bytes junto da entrada do cache.
+ */
+@JsonPropertyOrder({"cep", "logradouro", "complemento", "bairro", "cidade", "estado", "uf", "ddd"})
 public class AddressResponse {
 
-    private String cep;
-    private String logradouro;
-    private String complemento;
-    private String bairro;
-    private String cidade;
-    private String estado;
-    private String uf;
-    private String ddd;
+    // O stream é da resposta HTTP: quem o abriu é quem fecha
+    private static final JsonFactory FABRICA = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private static final int SEM_CEP = -1;
+    private static final short SEM_DDD = -1;
+
+    // DDDs têm dois dígitos; o texto de cada um é criado uma única vez
+    private static final String[] DDDS = new String[100];
+
+    static {
+        for (int i = 0; i < DDDS.length; i++) {
+            DDDS[i] = String.valueOf(i);
+        }
+    }
+
+    private final int cep;
+    private final String logradouro;
+    private final String complemento;
+    private final String bairro;
+    private final String cidade;
+    private final String estado;
+    private final Uf uf;
+    private final short ddd;
+    // Texto recebido, só quando não corresponde a uma UF ou a um DDD
+    private final String outraUf;
+    private final String outroDdd;
 
     // Construtores
-    public AddressResponse() {}
+    public AddressResponse() {
+        this(SEM_CEP, null, null, null, null, null, null, SEM_DDD);
+    }
 
     public AddressResponse(String cep, String logradouro, String complemento,
                            String bairro, String cidade, String estado, String uf, String ddd) {
+        this(Cep.isValido(cep) ? Cep.chave(cep) : SEM_CEP, logradouro, complemento, bairro, cidade, estado,
+                Uf.buscar(uf), uf, codificarDdd(ddd), ddd);
+    }
+
+    public AddressResponse(int cep, String logradouro, String complemento,
+                           String bairro, String cidade, String estado, Uf uf, short ddd) {
+        this(cep, logradouro, complemento, bairro, cidade, estado, uf, null, ddd, null);
+    }
+
+    private AddressResponse(int cep, String logradouro, String complemento, String bairro, String cidade,
+                            String estado, Uf uf, String ufRecebida, short ddd, String dddRecebido) {
         this.cep = cep;
         this.logradouro = logradouro;
-        this.complemento = complemento;
-        this.bairro = bairro;
-        this.cidade = cidade;
-        this.estado = estado;
+        this.complemento = StringPool.compartilhar(complemento);
+        this.bairro = StringPool.compartilhar(bairro);
+        this.cidade = StringPool.compartilhar(cidade);
+        this.estado = StringPool.compartilhar(estado);
         this.uf = uf;
-        this.ddd = ddd;
+        this.ddd = ddd >= 0 && ddd < DDDS.length ? ddd : SEM_DDD;
+        this.outraUf = uf == null ? StringPool.compartilhar(ufRecebida) : null;
+        this.outroDdd = this.ddd == SEM_DDD ? StringPool.compartilhar(dddRecebido) : null;
     }
 
-    // Getters e Setters
+    // Getters
     public String getCep() {
-        return cep;
-    }
-
-    public void setCep(String cep) {
-        this.cep = cep;
+        return cep == SEM_CEP ? null : Cep.deChave(cep).comTraco();
     }
 
     public String getLogradouro() {
         return logradouro;
     }
 
-    public void setLogradouro(String logradouro) {
-        this.logradouro = logradouro;
-    }
-
     public String getComplemento() {
         return complemento;
     }
 
-    public void setComplemento(String complemento) {
-        this.complemento = complemento;
-    }
-
     public String getBairro() {
         return bairro;
     }
 
-    public void setBairro(String bairro) {
-        this.bairro = bairro;
-    }
-
     public String getCidade() {
         return cidade;
     }
 
-    public void setCidade(String cidade) {
-        this.cidade = cidade;
-    }
-
     public String getEstado() {
         return estado;
     }
 
-    public void setEstado(String estado) {
-        this.estado = estado;
-    }
-
     public String getUf() {
-        return uf;
-    }
-
-    public void setUf(String uf) {
-        this.uf = uf;
+        return uf == null ? outraUf : uf.name();
     }
 
     public String getDdd() {
-        return ddd;
-    }
-
-    public void setDdd(String ddd) {
-        this.ddd = ddd;
-    }
-}
\ No newline at end of file
+        return ddd == SEM_DDD ? outroDdd : DDDS[ddd];
+    }
+
+    /**
+     * Escreve o JSON da resposta, igual ao produzido pelo ObjectMapper. O stream não é fechado.
+     */
+    public void escreverJson(OutputStream saida) throws IOException {
+        try (JsonGenerator gerador = FABRICA.createGenerator(saida)) {
+            gerador.writeStartObject();
+            gerador.writeStringField("cep", getCep());
+            gerador.writeStringField("logradouro", logradouro);
+            gerador.writeStringField("complemento", complemento);
+            gerador.writeStringField("bairro", bairro);
+            gerador.writeStringField("cidade", cidade);
+            gerador.writeStringField("estado", estado);
+            gerador.writeStringField("uf", getUf());
+            gerador.writeStringField("ddd", getDdd());
+            gerador.writeEndObject();
+        }
+    }
+
+    // Aceita só dígitos; qualquer outro valor fica de fora e é mantido como texto
+    private static short codificarDdd(String ddd) {
+        if (ddd == null) {
+            return SEM_DDD;
+        }
+        String digitos = ddd.strip();
+        if (digitos.isEmpty() || digitos.length() > 2) {
+            return SEM_DDD;
+        }
+        int valor = 0;
+        for (int i = 0; i < digitos.length(); i++) {
+            int digito = digitos.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return SEM_DDD;
+            }
+            valor = valor * 10 + digito;
+        }
+        return (short) valor;
+    }
+}
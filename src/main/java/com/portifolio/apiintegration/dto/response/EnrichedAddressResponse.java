@@ -0,0 +1,43 @@
+package com.portifolio.apiintegration.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Endereço com os enriquecimentos pedidos. Dependências que não responderam no prazo, falharam
+ * ou estão desativadas ficam de fora e aparecem em {@code indisponiveis} com o motivo.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EnrichedAddressResponse {
+
+    private final AddressResponse endereco;
+    private final WeatherResponse clima;
+    private final Map<String, Double> cotacoes;
+    private final Map<String, String> indisponiveis;
+
+    public EnrichedAddressResponse(AddressResponse endereco, WeatherResponse clima,
+                                   Map<String, Double> cotacoes, Map<String, String> indisponiveis) {
+        this.endereco = endereco;
+        this.clima = clima;
+        this.cotacoes = cotacoes;
+        this.indisponiveis = indisponiveis == null || indisponiveis.isEmpty() ? null : indisponiveis;
+    }
+
+    public AddressResponse getEndereco() {
+        return endereco;
+    }
+
+    public WeatherResponse getClima() {
+        return clima;
+    }
+
+    // Valor de 1 unidade de cada moeda em reais
+    public Map<String, Double> getCotacoes() {
+        return cotacoes;
+    }
+
+    public Map<String, String> getIndisponiveis() {
+        return indisponiveis;
+    }
+}
@@ -0,0 +1,90 @@
+package com.portifolio.apiintegration.dto.response;
+
+/**
+ * Clima atual de um município. Imutável: a mesma leitura é compartilhada pelos municípios da
+ * mesma célula de coordenadas, cada um com sua própria cópia de {@code cidade}/{@code uf}.
+ */
+public class WeatherResponse {
+
+    private final String cidade;
+    private final String uf;
+    private final String local;
+    private final double latitude;
+    private final double longitude;
+    private final Double temperatura;
+    private final Double sensacaoTermica;
+    private final Integer umidade;
+    private final String descricao;
+    private final Double vento;
+    private final Long observadoEm;
+
+    public WeatherResponse(String cidade, String uf, String local, double latitude, double longitude,
+                           Double temperatura, Double sensacaoTermica, Integer umidade, String descricao,
+                           Double vento, Long observadoEm) {
+        this.cidade = cidade;
+        this.uf = uf;
+        this.local = local;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.temperatura = temperatura;
+        this.sensacaoTermica = sensacaoTermica;
+        this.umidade = umidade;
+        this.descricao = descricao;
+        this.vento = vento;
+        this.observadoEm = observadoEm;
+    }
+
+    public WeatherResponse paraMunicipio(String cidade, String uf) {
+        return new WeatherResponse(cidade, uf, local, latitude, longitude, temperatura, sensacaoTermica,
+                umidade, descricao, vento, observadoEm);
+    }
+
+    public String getCidade() {
+        return cidade;
+    }
+
+    public String getUf() {
+        return uf;
+    }
+
+    // Nome da estação/localidade informado pela API
+    public String getLocal() {
+        return local;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    // Graus Celsius
+    public Double getTemperatura() {
+        return temperatura;
+    }
+
+    public Double getSensacaoTermica() {
+        return sensacaoTermica;
+    }
+
+    // Percentual
+    public Integer getUmidade() {
+        return umidade;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    // Metros por segundo
+    public Double getVento() {
+        return vento;
+    }
+
+    // Epoch em segundos da observação
+    public Long getObservadoEm() {
+        return observadoEm;
+    }
+}
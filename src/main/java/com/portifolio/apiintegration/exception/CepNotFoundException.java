@@ -0,0 +1,16 @@
+package com.portifolio.apiintegration.exception;
+
+/**
+ * CEP inexistente ou rejeitado pela API externa.
+ * Diferente de falhas transitórias (timeout, 5xx), este resultado pode ser armazenado em cache.
+ */
+public class CepNotFoundException extends ApiIntegrationException {
+
+    public CepNotFoundException(String apiName, String operation, String message) {
+        super(apiName, operation, message);
+    }
+
+    public CepNotFoundException(String apiName, String operation, String message, Throwable cause) {
+        super(apiName, operation, message, cause);
+    }
+}
@@ -0,0 +1,25 @@
+package com.portifolio.apiintegration.exception;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+
+/**
+ * Corpo das respostas de erro: os mesmos campos do antigo mapa, em um objeto de tamanho fixo.
+ * O instante é UTC ({@link Instant}), sem conversão de fuso por erro; {@code api} e
+ * {@code operation} só aparecem em falhas de integração.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(Instant timestamp, int status, String error, String message,
+                            String api, String operation) {
+
+    public static ErrorResponse de(HttpStatus status, String error, String message) {
+        return new ErrorResponse(Instant.now(), status.value(), error, message, null, null);
+    }
+
+    public static ErrorResponse de(HttpStatus status, String error, ApiIntegrationException e) {
+        return new ErrorResponse(Instant.now(), status.value(), error, e.getMessage(),
+                e.getApiName(), e.getOperation());
+    }
+}
@@ -1,82 +1,100 @@
 package com.portifolio.apiintegration.exception;
 
 
+import com.portifolio.apiintegration.logging.LogRateLimiter;
+import com.portifolio.apiintegration.metrics.AddressMetrics;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    // Falhas do upstream se repetem a cada requisição enquanto ele está fora
+    private static final LogRateLimiter logIntegracao = new LogRateLimiter(5, Duration.ofSeconds(10));
+    private static final LogRateLimiter logRecusas = new LogRateLimiter(5, Duration.ofSeconds(10));
+
+    @Autowired
+    private AddressMetrics addressMetrics;
 
     @ExceptionHandler(ApiIntegrationException.class)
-    public ResponseEntity<Map<String, Object>> handleApiIntegrationException(ApiIntegrationException e) {
-        logger.error("Erro de integração: {}", e.getMessage(), e);
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_GATEWAY.value());
-        response.put("error", "API Integration Error");
-        response.put("message", e.getMessage());
-        response.put("api", e.getApiName());
-        response.put("operation", e.getOperation());
-
-        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(response);
+    public ResponseEntity<ErrorResponse> handleApiIntegrationException(ApiIntegrationException e) {
+        long suprimidas = logIntegracao.permitir();
+        if (suprimidas >= 0) {
+            logger.error("Erro de integração ({} omitidos): {}", suprimidas, e.getMessage(), e);
+        }
+
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(ErrorResponse.de(HttpStatus.BAD_GATEWAY, "API Integration Error", e));
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUpstreamUnavailableException(UpstreamUnavailableException e) {
+        // Sem stack trace: é uma recusa esperada enquanto o upstream está degradado
+        long suprimidas = logRecusas.permitir();
+        if (suprimidas >= 0) {
+            logger.warn("Chamada externa recusada ({} omitidas): {}", suprimidas, e.getMessage());
+        }
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorResponse.de(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", e));
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException e) {
-        logger.warn("Parâmetro inválido: {}", e.getMessage());
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
+        // Entrada do cliente: o 400 já aparece na linha de acesso
+        logger.debug("Parâmetro inválido: {}", e.getMessage());
+        addressMetrics.registrarRejeicao("argument");
+
+        return ResponseEntity.badRequest()
+                .body(ErrorResponse.de(HttpStatus.BAD_REQUEST, "Bad Request", e.getMessage()));
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Bad Request");
-        response.put("message", e.getMessage());
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException e) {
+        // Ex.: CEP do path que não pôde ser convertido para o tipo Cep
+        String mensagem = e.getMostSpecificCause().getMessage();
+        logger.debug("Parâmetro inválido '{}': {}", e.getName(), mensagem);
+        addressMetrics.registrarRejeicao("path");
 
-        return ResponseEntity.badRequest().body(response);
+        return ResponseEntity.badRequest()
+                .body(ErrorResponse.de(HttpStatus.BAD_REQUEST, "Bad Request", mensagem));
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception e) {
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception e) {
         logger.error("Erro interno: {}", e.getMessage(), e);
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        response.put("error", "Internal Server Error");
-        response.put("message", "Erro interno do servidor");
-
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ErrorResponse.de(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                        "Erro interno do servidor"));
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
-    public ResponseEntity<Map<String, Object>> handleConstraintViolationException(
+    public ResponseEntity<ErrorResponse> handleConstraintViolationException(
             ConstraintViolationException ex) {
+        addressMetrics.registrarRejeicao("parameter");
 
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Bad Request");
-        errorResponse.put("message", ex.getMessage());
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return ResponseEntity.badRequest()
+                .body(ErrorResponse.de(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage()));
     }
 
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleMethodArgumentNotValidException(
+    public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(
             MethodArgumentNotValidException ex) {
+        addressMetrics.registrarRejeicao("body");
 
         // Versão simples - apenas primeira mensagem
         String errorMessage = ex.getBindingResult()
@@ -86,14 +104,7 @@ public class GlobalExceptionHandler {
                 .map(fieldError -> fieldError.getDefaultMessage())
                 .orElse("Dados inválidos");
 
-
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Bad Request");
-        errorResponse.put("message", errorMessage);
-        // errorResponse.put("errors", errors); // descomente para mostrar todos os erros
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return ResponseEntity.badRequest()
+                .body(ErrorResponse.de(HttpStatus.BAD_REQUEST, "Bad Request", errorMessage));
     }
 }
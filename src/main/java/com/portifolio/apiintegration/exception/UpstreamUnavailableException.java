@@ -0,0 +1,12 @@
+package com.portifolio.apiintegration.exception;
+
+/**
+ * Chamada recusada sem ir à API externa: circuito aberto ou limite de chamadas simultâneas.
+ * Como as demais falhas de integração, permite servir um registro antigo do cache.
+ */
+public class UpstreamUnavailableException extends ApiIntegrationException {
+
+    public UpstreamUnavailableException(String apiName, String operation, String message) {
+        super(apiName, operation, message);
+    }
+}
@@ -0,0 +1,111 @@
+package com.portifolio.apiintegration.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Uma linha de log por requisição, em formato chave=valor:
+ * {@code method=GET path=/api/v1/address/cep/01310100 status=200 latency_ms=2.41 cache=memory}.
+ *
+ * <p>{@code cache} é a etapa que resolveu o CEP na thread da requisição ({@code -} quando não
+ * houve consulta, ou quando ela rodou em outra thread, como nos lotes). Respostas com sucesso
+ * são amostradas por {@code address.access-log.sample-rate}; erros e requisições mais lentas
+ * que {@code address.access-log.slow-threshold} são sempre registrados.
+ */
+@Component
+@ConditionalOnProperty(prefix = "address.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLogger = LoggerFactory.getLogger("com.portifolio.apiintegration.access");
+    private static final String SEM_CACHE = "-";
+    private static final ThreadLocal<String> cache = new ThreadLocal<>();
+
+    @Value("${address.access-log.sample-rate:1.0}")
+    private double taxaAmostragem;
+
+    @Value("${address.access-log.slow-threshold:1s}")
+    private Duration limiteLento;
+
+    /**
+     * Informa a etapa que resolveu o CEP. Sem requisição em andamento na thread, não faz nada.
+     */
+    public static void registrarCache(String origem) {
+        if (cache.get() != null) {
+            cache.set(origem);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = request.getRequestURI();
+        return caminho.startsWith("/actuator") || caminho.startsWith("/swagger-ui") || caminho.startsWith("/v3/api-docs");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        cache.set(SEM_CACHE);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            String origem = cache.get();
+            cache.remove();
+            if (request.isAsyncStarted()) {
+                // Endpoints reativos e de streaming: registra quando a resposta termina
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        registrar(request, response, inicio, origem);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                registrar(request, response, inicio, origem);
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, HttpServletResponse response, long inicio, String origem) {
+        long duracao = System.nanoTime() - inicio;
+        int status = response.getStatus();
+        if (!accessLogger.isInfoEnabled() || !deveRegistrar(status, duracao)) {
+            return;
+        }
+        accessLogger.info("method={} path={} status={} latency_ms={} cache={}",
+                request.getMethod(), request.getRequestURI(), status,
+                Math.round(duracao / 10_000d) / 100d, origem);
+    }
+
+    private boolean deveRegistrar(int status, long duracaoNanos) {
+        if (status >= 400 || duracaoNanos >= limiteLento.toNanos() || taxaAmostragem >= 1) {
+            return true;
+        }
+        return ThreadLocalRandom.current().nextDouble() < taxaAmostragem;
+    }
+}
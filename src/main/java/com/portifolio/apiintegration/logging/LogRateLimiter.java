@@ -0,0 +1,53 @@
+package com.portifolio.apiintegration.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limita quantas vezes uma mensagem de log é escrita por janela de tempo.
+ *
+ * <p>Com o upstream fora, o mesmo erro se repete a cada requisição; só as primeiras
+ * {@code maximo} ocorrências de cada janela são escritas e as demais são contadas e
+ * informadas na próxima mensagem escrita.
+ */
+public class LogRateLimiter {
+
+    private final int maximo;
+    private final long janelaNanos;
+    private final LongSupplier relogio;
+
+    private final AtomicLong inicioJanela;
+    private final AtomicInteger escritas = new AtomicInteger();
+    private final LongAdder suprimidas = new LongAdder();
+
+    public LogRateLimiter(int maximo, Duration janela) {
+        this(maximo, janela, System::nanoTime);
+    }
+
+    LogRateLimiter(int maximo, Duration janela, LongSupplier relogio) {
+        this.maximo = maximo;
+        this.janelaNanos = janela.toNanos();
+        this.relogio = relogio;
+        this.inicioJanela = new AtomicLong(relogio.getAsLong());
+    }
+
+    /**
+     * @return {@code -1} se a mensagem deve ser descartada; caso contrário, quantas foram
+     *         descartadas desde a última escrita
+     */
+    public long permitir() {
+        long agora = relogio.getAsLong();
+        long inicio = inicioJanela.get();
+        if (agora - inicio >= janelaNanos && inicioJanela.compareAndSet(inicio, agora)) {
+            escritas.set(0);
+        }
+        if (escritas.incrementAndGet() > maximo) {
+            suprimidas.increment();
+            return -1;
+        }
+        return suprimidas.sumThenReset();
+    }
+}
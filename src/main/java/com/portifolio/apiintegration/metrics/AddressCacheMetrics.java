@@ -0,0 +1,47 @@
+package com.portifolio.apiintegration.metrics;
+
+import com.portifolio.apiintegration.cache.AddressDiskStore;
+import com.portifolio.apiintegration.cache.NotFoundCepCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica os caches que não pertencem ao CacheManager com os mesmos nomes e tags que o
+ * actuator usa para o cache "addresses" ({@code cache.gets}, {@code cache.size}, ...):
+ * o cache negativo e o nível em disco.
+ */
+@Component
+public class AddressCacheMetrics implements MeterBinder {
+
+    private static final String GERENCIADOR = "cache.manager";
+
+    @Autowired
+    private NotFoundCepCache notFoundCepCache;
+
+    @Autowired
+    private AddressDiskStore addressDiskStore;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, notFoundCepCache.getNativeCache(), "negative-ceps",
+                GERENCIADOR, "notFoundCepCache");
+
+        FunctionCounter.builder("cache.gets", addressDiskStore, AddressDiskStore::getAcertos)
+                .tags("cache", "addresses-disk", GERENCIADOR, "addressDiskStore", "result", "hit")
+                .description("Consultas ao cache em disco que encontraram o CEP")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", addressDiskStore, AddressDiskStore::getFaltas)
+                .tags("cache", "addresses-disk", GERENCIADOR, "addressDiskStore", "result", "miss")
+                .description("Consultas ao cache em disco que não encontraram o CEP")
+                .register(registry);
+        Gauge.builder("cache.size", addressDiskStore, AddressDiskStore::getQuantidade)
+                .tags("cache", "addresses-disk", GERENCIADOR, "addressDiskStore")
+                .description("CEPs gravados no cache em disco")
+                .register(registry);
+    }
+}
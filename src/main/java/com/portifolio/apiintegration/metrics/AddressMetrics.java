@@ -0,0 +1,124 @@
+package com.portifolio.apiintegration.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas do caminho de consulta de endereços, publicadas pelo actuator (/actuator/prometheus).
+ *
+ * <p>{@code address.lookup} é marcado com a etapa que resolveu o CEP ({@link Origem}), então a
+ * distribuição de tempo mostra quanto vem de cada nível de cache e quanto da rede. Os meters
+ * são criados uma vez; registrar uma consulta não faz busca no registro.
+ */
+@Component
+public class AddressMetrics {
+
+    public enum Origem {
+        LOCAL("local"),
+        MEMORIA("memory"),
+        NEGATIVO("negative"),
+        DISCO("disk"),
+        UPSTREAM("upstream"),
+        ANTIGO("stale"),
+        ERRO("error");
+
+        private final String tag;
+
+        Origem(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    public enum ModoLote {
+        LISTA("list"),
+        STREAM("stream"),
+        REATIVO("reactive");
+
+        private final String tag;
+
+        ModoLote(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Timer[] consultas = new Timer[Origem.values().length];
+    private final DistributionSummary[] tamanhosLote = new DistributionSummary[ModoLote.values().length];
+    private final Timer[] duracoesLote = new Timer[ModoLote.values().length];
+    private final AtomicInteger lotesAtivos = new AtomicInteger();
+    private final AtomicInteger itensEmAndamento = new AtomicInteger();
+
+    public AddressMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Origem origem : Origem.values()) {
+            consultas[origem.ordinal()] = Timer.builder("address.lookup")
+                    .tag("source", origem.tag)
+                    .description("Consultas de endereço por etapa que resolveu o CEP")
+                    .register(registry);
+        }
+        for (ModoLote modo : ModoLote.values()) {
+            tamanhosLote[modo.ordinal()] = DistributionSummary.builder("address.batch.size")
+                    .tag("mode", modo.tag)
+                    .description("CEPs por lote")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(100_000.0)
+                    .register(registry);
+            duracoesLote[modo.ordinal()] = Timer.builder("address.batch.duration")
+                    .tag("mode", modo.tag)
+                    .description("Duração do lote, da leitura da entrada ao último resultado")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofMinutes(10))
+                    .register(registry);
+        }
+        Gauge.builder("address.batch.active", lotesAtivos, AtomicInteger::get)
+                .description("Lotes em processamento")
+                .register(registry);
+        Gauge.builder("address.batch.inflight", itensEmAndamento, AtomicInteger::get)
+                .description("Consultas de lote em andamento")
+                .register(registry);
+    }
+
+    public void registrarConsulta(Origem origem, long inicioNanos) {
+        consultas[origem.ordinal()].record(System.nanoTime() - inicioNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Entradas recusadas antes de qualquer consulta: path, body, parameter, argument ou batch
+    public void registrarRejeicao(String origem) {
+        registry.counter("address.validation.rejected", "source", origem).increment();
+    }
+
+    public void loteIniciado() {
+        lotesAtivos.incrementAndGet();
+    }
+
+    public void loteConcluido(ModoLote modo, long tamanho, long inicioNanos) {
+        lotesAtivos.decrementAndGet();
+        tamanhosLote[modo.ordinal()].record(tamanho);
+        duracoesLote[modo.ordinal()].record(System.nanoTime() - inicioNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void itemIniciado() {
+        itensEmAndamento.incrementAndGet();
+    }
+
+    public void itemConcluido() {
+        itensEmAndamento.decrementAndGet();
+    }
+}
@@ -0,0 +1,151 @@
+package com.portifolio.apiintegration.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Diagnóstico das virtual threads, ativo apenas com {@code spring.threads.virtual.enabled=true}.
+ *
+ * <p>Os eventos de pinning e de falha de agendamento vêm de um único {@link RecordingStream} do
+ * JFR, compartilhado por todos os registries em que o binder é registrado.
+ *
+ * <p>A ocupação dos carriers vem do MXBean {@code jdk.management:type=VirtualThreadScheduler}
+ * (JDK 24+). Sem ele só o paralelismo configurado é publicado; a contagem nunca percorre as threads.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadMetrics implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadMetrics.class);
+
+    private static final String EVENTO_PINNED = "jdk.VirtualThreadPinned";
+    private static final String EVENTO_SUBMIT_FAILED = "jdk.VirtualThreadSubmitFailed";
+    private static final String MXBEAN_AGENDADOR = "jdk.management:type=VirtualThreadScheduler";
+
+    private final Duration limitePinning;
+    private final List<Timer> pinned = new CopyOnWriteArrayList<>();
+    private final List<Counter> submitFailed = new CopyOnWriteArrayList<>();
+    private RecordingStream stream;
+    private boolean jfrIniciado;
+
+    public VirtualThreadMetrics(@Value("${virtual-threads.pinned-threshold:20ms}") Duration limitePinning) {
+        this.limitePinning = limitePinning;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pinned.add(Timer.builder("jvm.threads.virtual.pinned")
+                .description("Tempo em que uma virtual thread bloqueou presa ao carrier")
+                .register(registry));
+        submitFailed.add(Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("Virtual threads que não puderam ser agendadas ou retomadas")
+                .register(registry));
+
+        registrarCarriers(registry);
+        iniciarJfr();
+    }
+
+    @PreDestroy
+    public synchronized void fechar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void registrarCarriers(MeterRegistry registry) {
+        Supplier<Number> carriers;
+        Supplier<Number> ocupados;
+        Supplier<Number> paralelismo;
+
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName agendador = mxBeanAgendador(servidor);
+        if (agendador != null) {
+            carriers = () -> atributo(servidor, agendador, "PoolSize");
+            ocupados = () -> atributo(servidor, agendador, "MountedVirtualThreadCount");
+            paralelismo = () -> atributo(servidor, agendador, "Parallelism");
+        } else {
+            logger.info("Ocupação dos carriers indisponível: requer JDK 24+");
+            Gauge.builder("jvm.threads.virtual.carriers.parallelism", VirtualThreadMetrics::paralelismoConfigurado)
+                    .description("Número máximo de carriers ativos do agendador de virtual threads")
+                    .register(registry);
+            return;
+        }
+
+        Gauge.builder("jvm.threads.virtual.carriers.parallelism", paralelismo)
+                .description("Número máximo de carriers ativos do agendador de virtual threads")
+                .register(registry);
+        Gauge.builder("jvm.threads.virtual.carriers", carriers)
+                .description("Threads carrier vivas")
+                .register(registry);
+        Gauge.builder("jvm.threads.virtual.carriers.busy", ocupados)
+                .description("Threads carrier executando uma virtual thread")
+                .register(registry);
+    }
+
+    // Um único stream, mesmo que o binder seja registrado em mais de um registry
+    private synchronized void iniciarJfr() {
+        if (jfrIniciado) {
+            return;
+        }
+        jfrIniciado = true;
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENTO_PINNED).withThreshold(limitePinning).withStackTrace();
+            stream.enable(EVENTO_SUBMIT_FAILED);
+            stream.onEvent(EVENTO_PINNED, evento -> {
+                pinned.forEach(timer -> timer.record(evento.getDuration()));
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Virtual thread presa ao carrier por {}: {}",
+                            evento.getDuration(), evento.getStackTrace());
+                }
+            });
+            stream.onEvent(EVENTO_SUBMIT_FAILED, evento -> submitFailed.forEach(Counter::increment));
+            stream.startAsync();
+        } catch (RuntimeException e) {
+            // JFR pode estar indisponível (ex.: imagem sem o módulo jdk.jfr); as demais métricas seguem
+            logger.warn("Não foi possível iniciar o monitoramento de pinning via JFR: {}", e.getMessage());
+        }
+    }
+
+    private static ObjectName mxBeanAgendador(MBeanServer servidor) {
+        try {
+            ObjectName nome = new ObjectName(MXBEAN_AGENDADOR);
+            return servidor.isRegistered(nome) ? nome : null;
+        } catch (JMException e) {
+            return null;
+        }
+    }
+
+    private static Number atributo(MBeanServer servidor, ObjectName agendador, String nome) {
+        try {
+            return (Number) servidor.getAttribute(agendador, nome);
+        } catch (JMException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static int paralelismoConfigurado() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,30 @@
+package com.portifolio.apiintegration.provider;
+
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+
+/**
+ * Fonte de endereços por CEP usada pelo {@link CepProviderRouter}.
+ *
+ * <p>{@link CepNotFoundException} é uma resposta definitiva (o CEP não existe) e não leva a
+ * outro provedor; qualquer outra {@link ApiIntegrationException} é falha do provedor e a
+ * consulta segue para o próximo.
+ */
+public interface CepProvider {
+
+    // Nome usado em address.providers.order e nas métricas
+    String getNome();
+
+    /**
+     * @return o endereço, ou {@code null} quando o provedor não conhece o CEP mas também não
+     * pode afirmar que ele não existe (ex.: base local parcial)
+     */
+    AddressResponse consultar(Cep cep);
+
+    // Provedores locais não fazem I/O: são consultados antes do cache e fora do roteamento
+    default boolean isLocal() {
+        return false;
+    }
+}
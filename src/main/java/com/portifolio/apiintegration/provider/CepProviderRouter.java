@@ -0,0 +1,365 @@
+package com.portifolio.apiintegration.provider;
+
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribui as consultas de CEP entre os provedores configurados.
+ *
+ * <p>Provedores locais são consultados primeiro, em {@link #buscarLocal}. Os remotos são
+ * ordenados a cada consulta pelo custo observado (latência EWMA mais taxa de erro vezes
+ * {@code address.providers.error-penalty}); enquanto um provedor não respondeu nenhuma vez,
+ * vale a ordem de {@code address.providers.order}. Se o escolhido falha, a consulta passa ao
+ * próximo; CEP inexistente é resposta definitiva e encerra a consulta.
+ *
+ * <p>Só o primeiro colocado recebe tráfego, então um provedor sem amostras ou com uma medição
+ * ruim antiga nunca seria remedido. Uma fração {@code address.providers.explore-ratio} das
+ * consultas começa por outro provedor, sorteado entre os demais, e atualiza as medições dele.
+ *
+ * <p>Com {@code address.providers.race=true} os dois melhores são consultados em paralelo e
+ * vale a primeira resposta definitiva.
+ */
+@Component
+public class CepProviderRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepProviderRouter.class);
+
+    @Autowired
+    private List<CepProvider> provedores;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("hedgeExecutor")
+    private Executor hedgeExecutor;
+
+    @Value("${address.providers.order:viacep,brasilapi,opencep}")
+    private List<String> ordem;
+
+    @Value("${address.providers.ewma-alpha:0.2}")
+    private double alfa;
+
+    @Value("${address.providers.error-penalty:2s}")
+    private Duration penalidadeErro;
+
+    @Value("${address.providers.error-half-life:30s}")
+    private Duration meiaVidaErro;
+
+    @Value("${address.providers.race:false}")
+    private boolean corrida;
+
+    @Value("${address.providers.explore-ratio:0.02}")
+    private double exploracao;
+
+    private List<CepProvider> locais;
+    private List<Provedor> remotos;
+
+    private final LongAdder failovers = new LongAdder();
+    private final LongAdder corridas = new LongAdder();
+    private final LongAdder exploracoes = new LongAdder();
+
+    @PostConstruct
+    public void iniciar() {
+        long agora = System.nanoTime();
+        locais = provedores.stream().filter(CepProvider::isLocal).toList();
+        remotos = provedores.stream()
+                .filter(provedor -> !provedor.isLocal() && ordem.contains(provedor.getNome()))
+                .sorted(Comparator.comparingInt(provedor -> ordem.indexOf(provedor.getNome())))
+                .map(provedor -> new Provedor(provedor, new ProviderHealth(alfa, meiaVidaErro.toNanos(), agora)))
+                .toList();
+
+        remotos.forEach(provedor -> provedor.registrarMetricas(meterRegistry));
+        FunctionCounter.builder("cep.provider.failovers", failovers, LongAdder::sum)
+                .description("Consultas repassadas a outro provedor após falha")
+                .register(meterRegistry);
+        FunctionCounter.builder("cep.provider.races", corridas, LongAdder::sum)
+                .description("Consultas feitas em paralelo aos dois melhores provedores")
+                .register(meterRegistry);
+        FunctionCounter.builder("cep.provider.explorations", exploracoes, LongAdder::sum)
+                .description("Consultas iniciadas por um provedor fora do primeiro lugar, para medi-lo")
+                .register(meterRegistry);
+
+        logger.info("Provedores de CEP: {} (corrida: {})",
+                remotos.stream().map(provedor -> provedor.provider.getNome()).toList(), corrida);
+    }
+
+    /**
+     * Resolve o CEP pelos provedores locais, sem I/O.
+     *
+     * @return o endereço, ou {@code null} quando é preciso consultar os provedores remotos
+     * @throws CepNotFoundException se um provedor local é definitivo e não conhece o CEP
+     */
+    public AddressResponse buscarLocal(Cep cep) {
+        for (CepProvider provedor : locais) {
+            AddressResponse endereco = provedor.consultar(cep);
+            if (endereco != null) {
+                return endereco;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Consulta os provedores remotos, do menor para o maior custo, até obter uma resposta.
+     *
+     * @throws CepNotFoundException se o CEP não existe
+     * @throws ApiIntegrationException com a falha do último provedor, se todos falharem
+     */
+    public AddressResponse consultar(Cep cep) {
+        List<Provedor> ranking = explorar(classificar());
+        if (ranking.isEmpty()) {
+            throw new ApiIntegrationException("Provedores de CEP", "consultarCep",
+                    "Nenhum provedor de CEP remoto habilitado");
+        }
+
+        int inicio = 0;
+        ApiIntegrationException ultimaFalha = null;
+        if (corrida && ranking.size() > 1) {
+            try {
+                AddressResponse endereco = correr(ranking.get(0), ranking.get(1), cep);
+                if (endereco != null) {
+                    return endereco;
+                }
+            } catch (CepNotFoundException e) {
+                throw e;
+            } catch (ApiIntegrationException e) {
+                ultimaFalha = e;
+                inicio = 2;
+            }
+        }
+
+        return consultarEmSequencia(ranking, inicio, cep, ultimaFalha);
+    }
+
+    /**
+     * Continua uma consulta cujo primeiro provedor falhou fora do roteador (o caminho reativo
+     * chama o ViaCEP pelo WebClient): tenta os demais remotos, do menor para o maior custo.
+     *
+     * @throws CepNotFoundException se o CEP não existe
+     * @throws ApiIntegrationException com {@code falha} se não há outro provedor, ou com a falha
+     * do último, se todos falharem
+     */
+    public AddressResponse consultarAposFalha(Cep cep, String falhou, ApiIntegrationException falha) {
+        List<Provedor> ranking = classificar().stream()
+                .filter(provedor -> !provedor.provider.getNome().equals(falhou))
+                .toList();
+        if (ranking.isEmpty()) {
+            throw falha;
+        }
+        failovers.increment();
+        logger.warn("Provedor {} falhou para o CEP {} ({}); tentando {}", falhou, cep, falha.getMessage(),
+                ranking.get(0).provider.getNome());
+        return consultarEmSequencia(ranking, 0, cep, falha);
+    }
+
+    private AddressResponse consultarEmSequencia(List<Provedor> ranking, int inicio, Cep cep,
+                                                 ApiIntegrationException ultimaFalha) {
+        for (int i = inicio; i < ranking.size(); i++) {
+            Provedor provedor = ranking.get(i);
+            try {
+                return provedor.consultar(cep);
+            } catch (CepNotFoundException e) {
+                throw e;
+            } catch (ApiIntegrationException e) {
+                ultimaFalha = e;
+                if (i + 1 < ranking.size()) {
+                    failovers.increment();
+                    logger.warn("Provedor {} falhou para o CEP {} ({}); tentando {}", provedor.provider.getNome(),
+                            cep, e.getMessage(), ranking.get(i + 1).provider.getNome());
+                }
+            }
+        }
+        throw ultimaFalha;
+    }
+
+    public List<String> getOrdemAtual() {
+        return classificar().stream().map(provedor -> provedor.provider.getNome()).toList();
+    }
+
+    private List<Provedor> classificar() {
+        long agora = System.nanoTime();
+        double penalidade = penalidadeErro.toNanos();
+
+        // Custos calculados uma vez: a ordenação não pode ver valores mudando no meio
+        List<Classificado> classificados = new ArrayList<>(remotos.size());
+        for (Provedor provedor : remotos) {
+            classificados.add(new Classificado(provedor, provedor.saude.custo(penalidade, agora)));
+        }
+        // Ordenação estável: empates mantêm a ordem configurada
+        classificados.sort(Comparator.comparingDouble(Classificado::custo));
+        return classificados.stream().map(Classificado::provedor).toList();
+    }
+
+    // Com probabilidade explore-ratio, leva um dos outros provedores ao primeiro lugar
+    private List<Provedor> explorar(List<Provedor> ranking) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        if (ranking.size() < 2 || exploracao <= 0 || aleatorio.nextDouble() >= exploracao) {
+            return ranking;
+        }
+        List<Provedor> explorado = new ArrayList<>(ranking);
+        explorado.add(0, explorado.remove(1 + aleatorio.nextInt(ranking.size() - 1)));
+        exploracoes.increment();
+        return explorado;
+    }
+
+    /**
+     * Consulta dois provedores ao mesmo tempo. Retorna {@code null} se não há thread livre para
+     * a corrida; nesse caso a consulta segue em sequência.
+     */
+    private AddressResponse correr(Provedor primeiro, Provedor segundo, Cep cep) {
+        CompletableFuture<AddressResponse> primeira;
+        CompletableFuture<AddressResponse> segunda;
+        try {
+            primeira = CompletableFuture.supplyAsync(() -> primeiro.consultar(cep), hedgeExecutor);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        try {
+            segunda = CompletableFuture.supplyAsync(() -> segundo.consultar(cep), hedgeExecutor);
+        } catch (RejectedExecutionException e) {
+            return aguardar(primeira);
+        }
+        corridas.increment();
+        return aguardar(primeiraResposta(primeira, segunda));
+    }
+
+    // Vale o primeiro endereço ou CEP inexistente; falha só quando as duas falham
+    private static CompletableFuture<AddressResponse> primeiraResposta(CompletableFuture<AddressResponse> primeira,
+                                                                      CompletableFuture<AddressResponse> segunda) {
+        CompletableFuture<AddressResponse> resultado = new CompletableFuture<>();
+        AtomicInteger falhas = new AtomicInteger();
+        for (CompletableFuture<AddressResponse> consulta : List.of(primeira, segunda)) {
+            consulta.whenComplete((endereco, erro) -> {
+                if (erro == null) {
+                    resultado.complete(endereco);
+                } else if (desembrulhar(erro) instanceof CepNotFoundException || falhas.incrementAndGet() == 2) {
+                    resultado.completeExceptionally(desembrulhar(erro));
+                }
+            });
+        }
+        return resultado;
+    }
+
+    private static AddressResponse aguardar(CompletableFuture<AddressResponse> consulta) {
+        try {
+            return consulta.get();
+        } catch (ExecutionException e) {
+            Throwable causa = desembrulhar(e);
+            if (causa instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(causa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiIntegrationException("Provedores de CEP", "consultarCep", "Consulta interrompida", e);
+        }
+    }
+
+    private static Throwable desembrulhar(Throwable erro) {
+        Throwable causa = erro;
+        while ((causa instanceof ExecutionException || causa instanceof CompletionException)
+                && causa.getCause() != null) {
+            causa = causa.getCause();
+        }
+        return causa;
+    }
+
+    private record Classificado(Provedor provedor, double custo) {}
+
+    /**
+     * Provedor remoto com as medições usadas na classificação.
+     */
+    private static final class Provedor {
+
+        private final CepProvider provider;
+        private final ProviderHealth saude;
+        private final LongAdder sucessos = new LongAdder();
+        private final LongAdder naoEncontrados = new LongAdder();
+        private final LongAdder falhas = new LongAdder();
+
+        private Provedor(CepProvider provider, ProviderHealth saude) {
+            this.provider = provider;
+            this.saude = saude;
+        }
+
+        private AddressResponse consultar(Cep cep) {
+            long inicio = System.nanoTime();
+            try {
+                AddressResponse endereco = provider.consultar(cep);
+                if (endereco == null) {
+                    throw new ApiIntegrationException(provider.getNome(), "consultarCep",
+                            "Resposta vazia do provedor");
+                }
+                saude.registrarSucesso(System.nanoTime() - inicio, System.nanoTime());
+                sucessos.increment();
+                return endereco;
+            } catch (CepNotFoundException e) {
+                // Resposta válida: conta como latência, não como erro
+                saude.registrarSucesso(System.nanoTime() - inicio, System.nanoTime());
+                naoEncontrados.increment();
+                throw e;
+            } catch (RuntimeException e) {
+                saude.registrarFalha(System.nanoTime());
+                falhas.increment();
+                throw e;
+            }
+        }
+
+        private void registrarMetricas(MeterRegistry registry) {
+            String nome = provider.getNome();
+            FunctionCounter.builder("cep.provider.calls", sucessos, LongAdder::sum)
+                    .tag("name", nome)
+                    .tag("outcome", "success")
+                    .description("Consultas ao provedor de CEP por resultado")
+                    .register(registry);
+            FunctionCounter.builder("cep.provider.calls", naoEncontrados, LongAdder::sum)
+                    .tag("name", nome)
+                    .tag("outcome", "not_found")
+                    .description("Consultas ao provedor de CEP por resultado")
+                    .register(registry);
+            FunctionCounter.builder("cep.provider.calls", falhas, LongAdder::sum)
+                    .tag("name", nome)
+                    .tag("outcome", "error")
+                    .description("Consultas ao provedor de CEP por resultado")
+                    .register(registry);
+            Gauge.builder("cep.provider.latency", saude, s -> Double.isNaN(s.getLatenciaNanos()) ? 0 : s.getLatenciaNanos() / 1e9)
+                    .tag("name", nome)
+                    .description("Latência média móvel (EWMA) do provedor, em segundos")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("cep.provider.error.rate", saude, s -> s.getTaxaErro(System.nanoTime()))
+                    .tag("name", nome)
+                    .description("Taxa de erro média móvel (EWMA) do provedor")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.portifolio.apiintegration.provider;
+
+import com.portifolio.apiintegration.dataset.OfflineAddressIndex;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Base local importada ({@code address.dataset.path}). Só é definitiva no modo offline;
+ * fora dele, um CEP ausente segue para os provedores remotos.
+ */
+@Component
+public class LocalDatasetProvider implements CepProvider {
+
+    @Autowired
+    private OfflineAddressIndex offlineAddressIndex;
+
+    @Override
+    public String getNome() {
+        return "local";
+    }
+
+    @Override
+    public AddressResponse consultar(Cep cep) {
+        AddressResponse endereco = offlineAddressIndex.buscar(cep.valor());
+        if (endereco == null && offlineAddressIndex.isOfflineOnly()) {
+            throw new CepNotFoundException("Base local", "buscarEnderecoPorCep",
+                    "CEP não encontrado: " + cep);
+        }
+        return endereco;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.portifolio.apiintegration.provider;
+
+/**
+ * Latência e taxa de erro recentes de um provedor, em médias móveis exponenciais (EWMA).
+ *
+ * <p>A taxa de erro decai pela metade a cada {@code meiaVida} sem novas amostras, para que um
+ * provedor que falhou volte a ser escolhido depois de se recuperar. Falhas não alteram a
+ * latência: uma conexão recusada em 1 ms não deve fazer o provedor parecer rápido.
+ */
+final class ProviderHealth {
+
+    private final double alfa;
+    private final double meiaVidaNanos;
+
+    // NaN até a primeira resposta do provedor
+    private double latenciaNanos = Double.NaN;
+    private double taxaErro;
+    private long atualizadoEm;
+
+    ProviderHealth(double alfa, long meiaVidaNanos, long agora) {
+        this.alfa = alfa;
+        this.meiaVidaNanos = meiaVidaNanos;
+        this.atualizadoEm = agora;
+    }
+
+    synchronized void registrarSucesso(long latencia, long agora) {
+        latenciaNanos = Double.isNaN(latenciaNanos) ? latencia : latenciaNanos + alfa * (latencia - latenciaNanos);
+        atualizarErro(0, agora);
+    }
+
+    synchronized void registrarFalha(long agora) {
+        atualizarErro(1, agora);
+    }
+
+    /**
+     * Custo esperado de uma consulta: latência média mais a taxa de erro ponderada pela
+     * penalidade. Sem nenhuma resposta ainda, o custo é infinito; o roteador ainda envia a esse
+     * provedor a fração de exploração das consultas, até ele ter amostras.
+     */
+    synchronized double custo(double penalidadeNanos, long agora) {
+        if (Double.isNaN(latenciaNanos)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return latenciaNanos + taxaErro(agora) * penalidadeNanos;
+    }
+
+    synchronized double getLatenciaNanos() {
+        return latenciaNanos;
+    }
+
+    synchronized double getTaxaErro(long agora) {
+        return taxaErro(agora);
+    }
+
+    private void atualizarErro(int amostra, long agora) {
+        taxaErro = taxaErro(agora);
+        taxaErro += alfa * (amostra - taxaErro);
+        atualizadoEm = agora;
+    }
+
+    private double taxaErro(long agora) {
+        return taxaErro * Math.pow(0.5, (agora - atualizadoEm) / meiaVidaNanos);
+    }
+}
@@ -0,0 +1,24 @@
+package com.portifolio.apiintegration.provider;
+
+import com.portifolio.apiintegration.client.viacep.ViaCepClient;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ViaCepProvider implements CepProvider {
+
+    @Autowired
+    private ViaCepClient viaCepClient;
+
+    @Override
+    public String getNome() {
+        return "viacep";
+    }
+
+    @Override
+    public AddressResponse consultar(Cep cep) {
+        return viaCepClient.consultarCep(cep);
+    }
+}
@@ -0,0 +1,227 @@
+package com.portifolio.apiintegration.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de concorrência adaptativo (AIMD) para um upstream.
+ *
+ * <p>Cada chamada concluída ajusta o limite: sinais de sobrecarga (429/5xx, timeout ou
+ * latência acima de {@code latencyTolerance} vezes a média) reduzem o limite
+ * multiplicativamente, no máximo uma vez por latência média; sucessos com o limite em uso
+ * o aumentam em {@code 1/limite}, ou seja, cerca de uma vaga por "rodada" de chamadas.
+ *
+ * <p>Sem vaga, o pedido entra numa fila FIFO e é atendido quando outra chamada termina,
+ * ou falha com {@link java.util.concurrent.TimeoutException} ao fim do prazo.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    private static final double PESO_LATENCIA = 0.05;
+
+    private final String nome;
+    private final AdaptiveConcurrencyProperties config;
+    private final LongSupplier relogio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<CompletableFuture<Void>> fila = new ArrayDeque<>();
+    private double limite;
+    private int emAndamento;
+    private double latenciaMedia;
+    private long ultimaReducao;
+
+    private final LongAdder rejeitadas = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(String nome, AdaptiveConcurrencyProperties config) {
+        this(nome, config, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String nome, AdaptiveConcurrencyProperties config, LongSupplier relogio) {
+        this.nome = nome;
+        this.config = config;
+        this.relogio = relogio;
+        this.limite = Math.clamp(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit());
+    }
+
+    /**
+     * Pede uma vaga. O futuro completa quando a vaga é concedida; quem o recebe deve chamar
+     * {@link #liberar} ou {@link #liberarSemAmostra} depois, ou cancelá-lo se desistir antes.
+     */
+    public CompletableFuture<Void> adquirir(long esperaMaximaNanos) {
+        CompletableFuture<Void> pedido = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (fila.isEmpty() && emAndamento < limiteAtual()) {
+                emAndamento++;
+                pedido.complete(null);
+                return pedido;
+            }
+            if (fila.size() >= config.getMaxQueueSize()) {
+                rejeitadas.increment();
+                pedido.completeExceptionally(new RejectedExecutionException("Fila de espera cheia"));
+                return pedido;
+            }
+            fila.add(pedido);
+        } finally {
+            lock.unlock();
+        }
+
+        // Pedidos expirados ou cancelados saem da fila para não ocupar espaço
+        pedido.whenComplete((vazio, erro) -> {
+            if (erro != null) {
+                rejeitadas.increment();
+                remover(pedido);
+            }
+        });
+        return pedido.orTimeout(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void liberar(long latenciaNanos, boolean sobrecarga) {
+        lock.lock();
+        try {
+            emAndamento--;
+            ajustar(latenciaNanos, sobrecarga);
+        } finally {
+            lock.unlock();
+        }
+        despachar();
+    }
+
+    // Vaga devolvida sem resultado da chamada (cancelada ou recusada adiante)
+    public void liberarSemAmostra() {
+        lock.lock();
+        try {
+            emAndamento--;
+        } finally {
+            lock.unlock();
+        }
+        despachar();
+    }
+
+    private void ajustar(long latenciaNanos, boolean sobrecarga) {
+        boolean lenta = latenciaMedia > 0 && latenciaNanos > latenciaMedia * config.getLatencyTolerance();
+        if (!sobrecarga) {
+            latenciaMedia = latenciaMedia == 0
+                    ? latenciaNanos
+                    : latenciaMedia + PESO_LATENCIA * (latenciaNanos - latenciaMedia);
+        }
+
+        if (sobrecarga || lenta) {
+            // Uma redução por "rodada": as chamadas já em voo refletem o limite anterior
+            long agora = relogio.getAsLong();
+            if (agora - ultimaReducao >= latenciaMedia) {
+                double anterior = limite;
+                limite = Math.max(config.getMinLimit(), limite * config.getBackoffRatio());
+                ultimaReducao = agora;
+                if ((int) anterior != (int) limite) {
+                    logger.debug("Limite de concorrência {} reduzido para {}", nome, (int) limite);
+                }
+            }
+        } else if (emAndamento + 1 >= limiteAtual()) {
+            // Só cresce quando o limite atual está de fato em uso
+            limite = Math.min(config.getMaxLimit(), limite + 1 / limite);
+        }
+    }
+
+    private void despachar() {
+        while (true) {
+            CompletableFuture<Void> proximo;
+            lock.lock();
+            try {
+                if (fila.isEmpty() || emAndamento >= limiteAtual()) {
+                    return;
+                }
+                proximo = fila.poll();
+                emAndamento++;
+            } finally {
+                lock.unlock();
+            }
+
+            // Completa fora do lock: a continuação do chamador pode rodar nesta thread
+            if (proximo.complete(null)) {
+                continue;
+            }
+            // Pedido já expirado ou cancelado: devolve a vaga e tenta o próximo
+            lock.lock();
+            try {
+                emAndamento--;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void remover(CompletableFuture<Void> pedido) {
+        lock.lock();
+        try {
+            fila.remove(pedido);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int limiteAtual() {
+        return (int) limite;
+    }
+
+    public int getLimite() {
+        lock.lock();
+        try {
+            return limiteAtual();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getEmAndamento() {
+        lock.lock();
+        try {
+            return emAndamento;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getNaFila() {
+        lock.lock();
+        try {
+            return fila.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.sum();
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimite)
+                .tag("name", nome)
+                .description("Limite adaptativo de chamadas simultâneas")
+                .register(registry);
+        Gauge.builder("concurrency.inflight", this, AdaptiveConcurrencyLimiter::getEmAndamento)
+                .tag("name", nome)
+                .description("Chamadas em andamento sob o limite adaptativo")
+                .register(registry);
+        Gauge.builder("concurrency.queued", this, AdaptiveConcurrencyLimiter::getNaFila)
+                .tag("name", nome)
+                .description("Chamadas aguardando vaga")
+                .register(registry);
+        FunctionCounter.builder("concurrency.rejected", this, AdaptiveConcurrencyLimiter::getRejeitadas)
+                .tag("name", nome)
+                .description("Chamadas que desistiram ou expiraram na fila")
+                .register(registry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.portifolio.apiintegration.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita as chamadas simultâneas a um upstream. Quando ele fica lento, as chamadas extras
+ * são recusadas em vez de acumularem threads e conexões esperando.
+ */
+public class Bulkhead {
+
+    private final String nome;
+    private final int maxConcorrentes;
+    private final long esperaNanos;
+    private final Semaphore vagas;
+    private final LongAdder rejeitadas = new LongAdder();
+
+    public Bulkhead(String nome, int maxConcorrentes, Duration espera) {
+        this.nome = nome;
+        this.maxConcorrentes = maxConcorrentes;
+        this.esperaNanos = espera.toNanos();
+        this.vagas = new Semaphore(maxConcorrentes);
+    }
+
+    public boolean tentarEntrar() {
+        try {
+            if (vagas.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejeitadas.increment();
+        return false;
+    }
+
+    // Para o caminho reativo, que não pode bloquear a thread do event loop
+    public boolean tentarEntrarSemEspera() {
+        if (vagas.tryAcquire()) {
+            return true;
+        }
+        rejeitadas.increment();
+        return false;
+    }
+
+    public void sair() {
+        vagas.release();
+    }
+
+    public int getDisponiveis() {
+        return vagas.availablePermits();
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.sum();
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        Gauge.builder("bulkhead.available", this, Bulkhead::getDisponiveis)
+                .tag("name", nome)
+                .description("Vagas livres para chamadas simultâneas")
+                .register(registry);
+        Gauge.builder("bulkhead.max", this, bulkhead -> bulkhead.maxConcorrentes)
+                .tag("name", nome)
+                .description("Máximo de chamadas simultâneas")
+                .register(registry);
+        FunctionCounter.builder("bulkhead.rejected", this, Bulkhead::getRejeitadas)
+                .tag("name", nome)
+                .description("Chamadas recusadas por falta de vaga")
+                .register(registry);
+    }
+}
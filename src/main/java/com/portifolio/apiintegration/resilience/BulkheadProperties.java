@@ -0,0 +1,36 @@
+package com.portifolio.apiintegration.resilience;
+
+import java.time.Duration;
+
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+    // Chamadas simultâneas ao upstream; acompanha o pool de conexões por rota
+    private int maxConcurrentCalls = 20;
+    // Espera por uma vaga antes de rejeitar (só no caminho bloqueante)
+    private Duration maxWaitDuration = Duration.ofMillis(100);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public Duration getMaxWaitDuration() {
+        return maxWaitDuration;
+    }
+
+    public void setMaxWaitDuration(Duration maxWaitDuration) {
+        this.maxWaitDuration = maxWaitDuration;
+    }
+}
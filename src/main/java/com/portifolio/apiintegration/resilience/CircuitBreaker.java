@@ -0,0 +1,275 @@
+package com.portifolio.apiintegration.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker com janela deslizante das últimas chamadas.
+ *
+ * <p>Fechado: as chamadas passam e cada resultado entra na janela; quando a taxa de falhas
+ * ou de chamadas lentas atinge o limite, o circuito abre. Aberto: as chamadas são recusadas
+ * até passar {@code waitDurationInOpenState}. Meio-aberto: algumas chamadas de teste passam
+ * e decidem se o circuito fecha ou volta a abrir.
+ *
+ * <p>O estado fechado é lido sem lock; o lock só protege a janela e as transições.
+ *
+ * <p>Cada permissão carrega a geração do estado em que foi concedida (estado e contador de
+ * transições em um único long). O resultado só conta se o circuito ainda está nessa geração:
+ * uma chamada liberada com o circuito fechado que termina depois da abertura não entra como
+ * sonda do meio-aberto seguinte.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private static final byte FALHA = 1;
+    private static final byte LENTA = 2;
+
+    /** Retorno de {@link #tentarPermissao()} quando a chamada é recusada. */
+    public static final long NEGADA = -1;
+
+    public enum Estado {
+        FECHADO("closed"), ABERTO("open"), MEIO_ABERTO("half_open");
+
+        private final String tag;
+
+        Estado(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private final String nome;
+    private final CircuitBreakerProperties config;
+    private final LongSupplier relogio;
+    private final long lentaNanos;
+    private final long esperaNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final byte[] janela;
+    private int posicao;
+    private int registradas;
+    private int falhas;
+    private int lentas;
+
+    // Geração (número de transições) nos bits altos e o Estado nos 2 bits baixos
+    private volatile long atual = Estado.FECHADO.ordinal();
+    private long abertoEm;
+    private int sondasLiberadas;
+    private int sondasConcluidas;
+    private int sondasFalhas;
+    private int sondasLentas;
+
+    private final LongAdder sucessos = new LongAdder();
+    private final LongAdder falhasTotal = new LongAdder();
+    private final LongAdder lentasTotal = new LongAdder();
+    private final LongAdder naoPermitidas = new LongAdder();
+    private MeterRegistry registry;
+
+    public CircuitBreaker(String nome, CircuitBreakerProperties config) {
+        this(nome, config, System::nanoTime);
+    }
+
+    CircuitBreaker(String nome, CircuitBreakerProperties config, LongSupplier relogio) {
+        this.nome = nome;
+        this.config = config;
+        this.relogio = relogio;
+        this.lentaNanos = config.getSlowCallDuration().toNanos();
+        this.esperaNanos = config.getWaitDurationInOpenState().toNanos();
+        this.janela = new byte[config.getSlidingWindowSize()];
+    }
+
+    /**
+     * Reserva a passagem de uma chamada. Toda permissão concedida deve terminar em
+     * {@link #registrarSucesso}, {@link #registrarFalha} ou {@link #registrarIgnorada},
+     * com o valor devolvido aqui.
+     *
+     * @return a permissão, ou {@link #NEGADA}
+     */
+    public long tentarPermissao() {
+        long permissao = atual;
+        if (estadoDe(permissao) == Estado.FECHADO) {
+            return permissao;
+        }
+
+        lock.lock();
+        try {
+            if (estadoDe(atual) == Estado.ABERTO) {
+                if (relogio.getAsLong() - abertoEm < esperaNanos) {
+                    naoPermitidas.increment();
+                    return NEGADA;
+                }
+                transicionar(Estado.MEIO_ABERTO, "");
+            }
+            if (estadoDe(atual) == Estado.MEIO_ABERTO) {
+                if (sondasLiberadas >= config.getPermittedCallsInHalfOpenState()) {
+                    naoPermitidas.increment();
+                    return NEGADA;
+                }
+                sondasLiberadas++;
+            }
+            return atual;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void registrarSucesso(long permissao, long duracaoNanos) {
+        registrar(permissao, false, duracaoNanos);
+    }
+
+    public void registrarFalha(long permissao, long duracaoNanos) {
+        registrar(permissao, true, duracaoNanos);
+    }
+
+    // Chamada liberada que não chegou a um resultado (cancelada ou recusada adiante)
+    public void registrarIgnorada(long permissao) {
+        lock.lock();
+        try {
+            if (permissao == atual && estadoDe(permissao) == Estado.MEIO_ABERTO
+                    && sondasLiberadas > sondasConcluidas) {
+                sondasLiberadas--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void registrar(long permissao, boolean falha, long duracaoNanos) {
+        boolean lenta = duracaoNanos >= lentaNanos;
+        (falha ? falhasTotal : sucessos).increment();
+        if (lenta) {
+            lentasTotal.increment();
+        }
+
+        lock.lock();
+        try {
+            // Liberada em outra geração (ex.: antes da abertura): não altera o estado atual
+            if (permissao != atual) {
+                return;
+            }
+            switch (estadoDe(permissao)) {
+                case FECHADO -> registrarNaJanela(falha, lenta);
+                case MEIO_ABERTO -> registrarSonda(falha, lenta);
+                case ABERTO -> {
+                    // Sem permissões concedidas com o circuito aberto
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void registrarNaJanela(boolean falha, boolean lenta) {
+        if (registradas == janela.length) {
+            byte anterior = janela[posicao];
+            falhas -= anterior & FALHA;
+            lentas -= (anterior & LENTA) >> 1;
+        } else {
+            registradas++;
+        }
+        janela[posicao] = (byte) ((falha ? FALHA : 0) | (lenta ? LENTA : 0));
+        posicao = (posicao + 1) % janela.length;
+        falhas += falha ? 1 : 0;
+        lentas += lenta ? 1 : 0;
+
+        if (registradas >= config.getMinimumNumberOfCalls() && excedeLimites(falhas, lentas, registradas)) {
+            transicionar(Estado.ABERTO, String.format(" (%d falhas e %d chamadas lentas nas últimas %d)",
+                    falhas, lentas, registradas));
+        }
+    }
+
+    private void registrarSonda(boolean falha, boolean lenta) {
+        sondasConcluidas++;
+        sondasFalhas += falha ? 1 : 0;
+        sondasLentas += lenta ? 1 : 0;
+        if (sondasConcluidas < config.getPermittedCallsInHalfOpenState()) {
+            return;
+        }
+        boolean excede = excedeLimites(sondasFalhas, sondasLentas, sondasConcluidas);
+        transicionar(excede ? Estado.ABERTO : Estado.FECHADO, String.format(" (%d falhas e %d lentas em %d sondas)",
+                sondasFalhas, sondasLentas, sondasConcluidas));
+    }
+
+    private boolean excedeLimites(int falhas, int lentas, int total) {
+        return falhas * 100f >= config.getFailureRateThreshold() * total
+                || lentas * 100f >= config.getSlowCallRateThreshold() * total;
+    }
+
+    private void transicionar(Estado novo, String detalhe) {
+        Estado anterior = estadoDe(atual);
+        atual = ((atual >>> 2) + 1) << 2 | novo.ordinal();
+        Arrays.fill(janela, (byte) 0);
+        posicao = registradas = falhas = lentas = 0;
+        sondasLiberadas = sondasConcluidas = sondasFalhas = sondasLentas = 0;
+        if (novo == Estado.ABERTO) {
+            abertoEm = relogio.getAsLong();
+        }
+
+        if (novo == Estado.ABERTO) {
+            logger.warn("Circuito {}: {} -> {}{}", nome, anterior.getTag(), novo.getTag(), detalhe);
+        } else {
+            logger.info("Circuito {}: {} -> {}{}", nome, anterior.getTag(), novo.getTag(), detalhe);
+        }
+        if (registry != null) {
+            Counter.builder("circuitbreaker.transitions")
+                    .tag("name", nome)
+                    .tag("from", anterior.getTag())
+                    .tag("to", novo.getTag())
+                    .description("Mudanças de estado do circuit breaker")
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public Estado getEstado() {
+        return estadoDe(atual);
+    }
+
+    private static Estado estadoDe(long permissao) {
+        return Estado.values()[(int) (permissao & 3)];
+    }
+
+    public long getNaoPermitidas() {
+        return naoPermitidas.sum();
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        this.registry = registry;
+        for (Estado valor : Estado.values()) {
+            Gauge.builder("circuitbreaker.state", this, cb -> cb.getEstado() == valor ? 1 : 0)
+                    .tag("name", nome)
+                    .tag("state", valor.getTag())
+                    .description("1 para o estado atual do circuit breaker")
+                    .register(registry);
+        }
+        registrarChamadas(registry, "successful", sucessos);
+        registrarChamadas(registry, "failed", falhasTotal);
+        registrarChamadas(registry, "slow", lentasTotal);
+        registrarChamadas(registry, "not_permitted", naoPermitidas);
+    }
+
+    private void registrarChamadas(MeterRegistry registry, String tipo, LongAdder contador) {
+        FunctionCounter.builder("circuitbreaker.calls", contador, LongAdder::sum)
+                .tag("name", nome)
+                .tag("kind", tipo)
+                .description("Chamadas avaliadas pelo circuit breaker")
+                .register(registry);
+    }
+}
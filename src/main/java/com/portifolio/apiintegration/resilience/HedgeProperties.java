@@ -0,0 +1,45 @@
+package com.portifolio.apiintegration.resilience;
+
+import java.time.Duration;
+
+public class HedgeProperties {
+
+    private boolean enabled = false;
+    // A segunda tentativa sai quando a primeira passa deste percentil da latência recente
+    private double percentile = 0.95;
+    private Duration minDelay = Duration.ofMillis(50);
+    // Amostras de latência consideradas no percentil
+    private int window = 512;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public void setWindow(int window) {
+        this.window = window;
+    }
+}
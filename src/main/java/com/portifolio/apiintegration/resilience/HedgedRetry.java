@@ -0,0 +1,326 @@
+package com.portifolio.apiintegration.resilience;
+
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Novas tentativas e hedging para chamadas idempotentes a um upstream.
+ *
+ * <p>Retry: só para falhas transitórias ({@code retentavel}), com backoff exponencial e jitter,
+ * até {@code maxAttempts} e sem começar tentativas depois de {@code maxDuration}.
+ *
+ * <p>Hedge (opcional): se a tentativa passa do percentil configurado da latência recente,
+ * uma segunda é disparada e vale a primeira resposta bem-sucedida. Retries e hedges consomem o
+ * mesmo {@link RetryBudget}.
+ *
+ * <p>No caminho bloqueante as duas tentativas rodam no executor e quem chama só espera pelo
+ * primeiro sucesso, até {@code maxDuration}; a perdedora é interrompida e seu resultado
+ * descartado. Como o socket do cliente HTTP não responde a interrupção, a perdedora pode ocupar
+ * sua thread até o timeout do cliente, mas ninguém espera por ela. Com o executor cheio a
+ * chamada roda na thread de quem chama, sem hedge. No caminho reativo a perdedora tem a
+ * assinatura cancelada.
+ */
+public class HedgedRetry {
+
+    private final String nome;
+    private final RetryProperties retry;
+    private final HedgeProperties hedge;
+    private final Predicate<Throwable> retentavel;
+    private final Executor executor;
+    private final RetryBudget budget;
+    private final LatencyTracker latencias;
+
+    private final LongAdder retentativas = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder semOrcamento = new LongAdder();
+
+    public HedgedRetry(String nome, RetryProperties retry, HedgeProperties hedge,
+                       Predicate<Throwable> retentavel, Executor executor) {
+        this.nome = nome;
+        this.retry = retry;
+        this.hedge = hedge;
+        this.retentavel = retentavel;
+        this.executor = executor;
+        this.budget = new RetryBudget(retry.getBudgetRatio(), retry.getBudgetReserve());
+        this.latencias = new LatencyTracker(hedge.getPercentile(), hedge.getWindow());
+    }
+
+    public <T> T executar(Supplier<T> chamada) {
+        long prazo = System.nanoTime() + retry.getMaxDuration().toNanos();
+        budget.depositar();
+
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return executarComHedge(chamada, prazo);
+            } catch (RuntimeException e) {
+                if (!retry.isEnabled() || tentativa >= retry.getMaxAttempts() || !retentavel.test(e)) {
+                    throw e;
+                }
+                long espera = backoff(tentativa);
+                if (System.nanoTime() + espera >= prazo || !retirarOrcamento()) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(Duration.ofNanos(espera));
+                } catch (InterruptedException interrompido) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                retentativas.increment();
+            }
+        }
+    }
+
+    public <T> Mono<T> executarMono(Supplier<Mono<T>> chamada) {
+        return Mono.defer(() -> {
+            long prazo = System.nanoTime() + retry.getMaxDuration().toNanos();
+            budget.depositar();
+
+            Mono<T> tentativa = Mono.defer(() -> executarComHedgeMono(chamada, prazo));
+            if (!retry.isEnabled() || retry.getMaxAttempts() <= 1) {
+                return tentativa;
+            }
+            return tentativa.retryWhen(Retry.backoff(retry.getMaxAttempts() - 1, retry.getInitialBackoff())
+                    .maxBackoff(retry.getMaxBackoff())
+                    .multiplier(retry.getMultiplier())
+                    .jitter(0.5)
+                    .filter(e -> retentavel.test(e) && System.nanoTime() < prazo && retirarOrcamento())
+                    .doBeforeRetry(sinal -> retentativas.increment())
+                    // Propaga o erro original, não um RetryExhaustedException
+                    .onRetryExhaustedThrow((spec, sinal) -> sinal.failure()));
+        });
+    }
+
+    private <T> T executarComHedge(Supplier<T> chamada, long prazo) {
+        long atraso = atrasoHedge();
+        if (atraso < 0) {
+            return medir(chamada);
+        }
+
+        Corrida<T> corrida = new Corrida<>();
+        try {
+            corrida.disparar(() -> medir(chamada), executor);
+        } catch (RejectedExecutionException e) {
+            // Executor cheio: segue sem hedge, na thread de quem chama
+            return medir(chamada);
+        }
+        try {
+            try {
+                return corrida.resultado.get(atraso, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Passou do percentil: considera disparar a segunda tentativa
+            }
+            if (!corrida.resultado.isDone() && System.nanoTime() < prazo && retirarOrcamento()) {
+                try {
+                    corrida.disparar(() -> medir(chamada), executor);
+                    hedges.increment();
+                } catch (RejectedExecutionException e) {
+                    // Sem thread livre para o hedge: vale só a primeira
+                }
+            }
+            return corrida.resultado.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ApiIntegrationException(nome, "executar",
+                    "Nenhuma tentativa concluída em " + retry.getMaxDuration(), e);
+        } catch (ExecutionException e) {
+            throw desembrulhar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Chamada interrompida", e);
+        } finally {
+            corrida.cancelar();
+        }
+    }
+
+    private <T> Mono<T> executarComHedgeMono(Supplier<Mono<T>> chamada, long prazo) {
+        long atraso = atrasoHedge();
+        if (atraso < 0) {
+            return medirMono(chamada);
+        }
+
+        return Mono.create(sink -> {
+            AtomicBoolean concluida = new AtomicBoolean();
+            AtomicInteger pendentes = new AtomicInteger(1);
+            Disposable.Composite tentativas = Disposables.composite();
+
+            Consumer<T> sucesso = valor -> {
+                if (concluida.compareAndSet(false, true)) {
+                    sink.success(valor);
+                    tentativas.dispose();
+                }
+            };
+            Consumer<Throwable> falha = erro -> {
+                // Com outra tentativa ainda em voo, espera por ela
+                if (pendentes.decrementAndGet() == 0 && concluida.compareAndSet(false, true)) {
+                    sink.error(erro);
+                    tentativas.dispose();
+                }
+            };
+
+            sink.onCancel(tentativas);
+            tentativas.add(medirMono(chamada).subscribe(sucesso, falha));
+            tentativas.add(Mono.delay(Duration.ofNanos(atraso)).subscribe(tick -> {
+                if (concluida.get() || System.nanoTime() >= prazo || !retirarOrcamento()) {
+                    return;
+                }
+                pendentes.incrementAndGet();
+                hedges.increment();
+                tentativas.add(medirMono(chamada).subscribe(sucesso, falha));
+            }));
+        });
+    }
+
+    private <T> T medir(Supplier<T> chamada) {
+        long inicio = System.nanoTime();
+        T resultado = chamada.get();
+        latencias.registrar(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    private <T> Mono<T> medirMono(Supplier<Mono<T>> chamada) {
+        return Mono.defer(() -> {
+            long inicio = System.nanoTime();
+            return chamada.get().doOnSuccess(valor -> latencias.registrar(System.nanoTime() - inicio));
+        });
+    }
+
+    private long atrasoHedge() {
+        if (!hedge.isEnabled()) {
+            return -1;
+        }
+        long percentil = latencias.getPercentilNanos();
+        return percentil < 0 ? -1 : Math.max(percentil, hedge.getMinDelay().toNanos());
+    }
+
+    // Backoff exponencial com jitter: entre metade e o valor cheio do intervalo
+    private long backoff(int tentativa) {
+        double base = retry.getInitialBackoff().toNanos() * Math.pow(retry.getMultiplier(), tentativa - 1);
+        long limite = (long) Math.min(base, retry.getMaxBackoff().toNanos());
+        return limite / 2 + ThreadLocalRandom.current().nextLong(limite / 2 + 1);
+    }
+
+    private static RuntimeException desembrulhar(Throwable causa) {
+        if (causa instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (causa instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(causa);
+    }
+
+    private boolean retirarOrcamento() {
+        if (budget.retirar()) {
+            return true;
+        }
+        semOrcamento.increment();
+        return false;
+    }
+
+    public long getRetentativas() {
+        return retentativas.sum();
+    }
+
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    public long getSemOrcamento() {
+        return semOrcamento.sum();
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("upstream.retries", this, HedgedRetry::getRetentativas)
+                .tag("name", nome)
+                .description("Novas tentativas após falha transitória")
+                .register(registry);
+        FunctionCounter.builder("upstream.hedges", this, HedgedRetry::getHedges)
+                .tag("name", nome)
+                .description("Tentativas paralelas disparadas por latência acima do percentil")
+                .register(registry);
+        FunctionCounter.builder("upstream.retries.budget.exhausted", this, HedgedRetry::getSemOrcamento)
+                .tag("name", nome)
+                .description("Novas tentativas não realizadas por falta de orçamento")
+                .register(registry);
+        Gauge.builder("upstream.hedge.delay", latencias, tracker -> Math.max(0, tracker.getPercentilNanos()) / 1e9)
+                .tag("name", nome)
+                .description("Atraso atual do hedge (percentil da latência), em segundos")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * Disputa entre as tentativas de uma chamada, todas no executor. {@code resultado} recebe o
+     * primeiro sucesso ou, quando todas falham, o primeiro erro.
+     */
+    private static final class Corrida<T> {
+
+        private final CompletableFuture<T> resultado = new CompletableFuture<>();
+        private final List<FutureTask<T>> tentativas = new CopyOnWriteArrayList<>();
+        private final AtomicInteger pendentes = new AtomicInteger();
+        private final AtomicReference<Throwable> primeiroErro = new AtomicReference<>();
+
+        void disparar(Callable<T> chamada, Executor executor) {
+            // FutureTask, e não supplyAsync: cancel(true) precisa interromper a thread da perdedora
+            FutureTask<T> tentativa = new FutureTask<>(chamada) {
+                @Override
+                protected void set(T valor) {
+                    super.set(valor);
+                    resultado.complete(valor);
+                }
+
+                @Override
+                protected void setException(Throwable erro) {
+                    super.setException(erro);
+                    primeiroErro.compareAndSet(null, erro);
+                    terminou();
+                }
+            };
+            pendentes.incrementAndGet();
+            try {
+                executor.execute(tentativa);
+            } catch (RejectedExecutionException e) {
+                terminou();
+                throw e;
+            }
+            tentativas.add(tentativa);
+        }
+
+        // Com outra tentativa em voo, uma falha só encerra a corrida se for a última
+        private void terminou() {
+            if (pendentes.decrementAndGet() == 0 && primeiroErro.get() != null) {
+                resultado.completeExceptionally(primeiroErro.get());
+            }
+        }
+
+        void cancelar() {
+            tentativas.forEach(tentativa -> tentativa.cancel(true));
+        }
+    }
+}
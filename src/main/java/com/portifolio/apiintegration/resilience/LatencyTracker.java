@@ -0,0 +1,50 @@
+package com.portifolio.apiintegration.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Percentil de latência das últimas chamadas, recalculado a cada {@value #RECALCULO} amostras.
+ * A leitura é um campo volatile; a ordenação acontece fora do caminho de quem lê.
+ */
+public class LatencyTracker {
+
+    private static final int RECALCULO = 32;
+    private static final int MINIMO_AMOSTRAS = 50;
+
+    private final double percentil;
+    private final long[] amostras;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int posicao;
+    private int total;
+    private int desdeCalculo;
+
+    private volatile long valor = -1;
+
+    public LatencyTracker(double percentil, int janela) {
+        this.percentil = percentil;
+        this.amostras = new long[Math.max(janela, MINIMO_AMOSTRAS)];
+    }
+
+    public void registrar(long latenciaNanos) {
+        lock.lock();
+        try {
+            amostras[posicao] = latenciaNanos;
+            posicao = (posicao + 1) % amostras.length;
+            total = Math.min(total + 1, amostras.length);
+            if (++desdeCalculo >= RECALCULO && total >= MINIMO_AMOSTRAS) {
+                long[] ordenadas = Arrays.copyOf(amostras, total);
+                Arrays.sort(ordenadas);
+                valor = ordenadas[(int) Math.min(total - 1, Math.ceil(percentil * total) - 1)];
+                desdeCalculo = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // -1 enquanto não há amostras suficientes
+    public long getPercentilNanos() {
+        return valor;
+    }
+}
@@ -0,0 +1,34 @@
+package com.portifolio.apiintegration.resilience;
+
+public class RateLimiterProperties {
+
+    private boolean enabled = true;
+    // Taxa sustentada de chamadas ao upstream
+    private double permitsPerSecond = 20;
+    // Rajada máxima acumulada enquanto o upstream fica ocioso
+    private int burst = 20;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+}
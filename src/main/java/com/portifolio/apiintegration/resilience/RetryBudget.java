@@ -0,0 +1,42 @@
+package com.portifolio.apiintegration.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orçamento de novas tentativas: cada chamada deposita uma fração de token e cada retry ou
+ * hedge consome um token inteiro. Com o upstream fora do ar as novas tentativas ficam
+ * limitadas a essa fração do tráfego, em vez de multiplicá-lo.
+ */
+public class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long deposito;
+    private final long capacidade;
+    private final AtomicLong saldo;
+
+    public RetryBudget(double fracao, int reserva) {
+        this.deposito = Math.round(fracao * TOKEN);
+        this.capacidade = Math.max(1, reserva) * TOKEN;
+        this.saldo = new AtomicLong(capacidade);
+    }
+
+    public void depositar() {
+        saldo.accumulateAndGet(deposito, (atual, valor) -> Math.min(capacidade, atual + valor));
+    }
+
+    public boolean retirar() {
+        long atual;
+        do {
+            atual = saldo.get();
+            if (atual < TOKEN) {
+                return false;
+            }
+        } while (!saldo.compareAndSet(atual, atual - TOKEN));
+        return true;
+    }
+
+    public double getSaldo() {
+        return (double) saldo.get() / TOKEN;
+    }
+}
@@ -0,0 +1,92 @@
+package com.portifolio.apiintegration.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de taxa por token bucket.
+ *
+ * <p>Quem não encontra token livre reserva o próximo e recebe o tempo que deve esperar;
+ * o saldo fica negativo e as reservas seguintes esperam mais, em ordem de chegada.
+ * Se a espera passaria do prazo do chamador, a reserva é recusada sem consumir token.
+ */
+public class TokenBucket {
+
+    private final String nome;
+    private final double tokensPorNano;
+    private final double capacidade;
+    private final LongSupplier relogio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+    private long ultimaRecarga;
+
+    private final LongAdder atrasadas = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+
+    public TokenBucket(String nome, double porSegundo, int rajada) {
+        this(nome, porSegundo, rajada, System::nanoTime);
+    }
+
+    TokenBucket(String nome, double porSegundo, int rajada, LongSupplier relogio) {
+        this.nome = nome;
+        this.tokensPorNano = porSegundo / 1_000_000_000d;
+        this.capacidade = Math.max(1, rajada);
+        this.relogio = relogio;
+        this.tokens = capacidade;
+        this.ultimaRecarga = relogio.getAsLong();
+    }
+
+    /**
+     * Reserva um token.
+     *
+     * @return nanossegundos a aguardar antes da chamada (0 se pode seguir já),
+     *         ou -1 se a espera ultrapassaria {@code esperaMaximaNanos}
+     */
+    public long reservar(long esperaMaximaNanos) {
+        lock.lock();
+        try {
+            long agora = relogio.getAsLong();
+            tokens = Math.min(capacidade, tokens + (agora - ultimaRecarga) * tokensPorNano);
+            ultimaRecarga = agora;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            long espera = (long) Math.ceil((1 - tokens) / tokensPorNano);
+            if (espera > esperaMaximaNanos) {
+                rejeitadas.increment();
+                return -1;
+            }
+            tokens -= 1;
+            atrasadas.increment();
+            return espera;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.sum();
+    }
+
+    public long getAtrasadas() {
+        return atrasadas.sum();
+    }
+
+    public void registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("ratelimiter.delayed", this, TokenBucket::getAtrasadas)
+                .tag("name", nome)
+                .description("Chamadas que aguardaram um token")
+                .register(registry);
+        FunctionCounter.builder("ratelimiter.rejected", this, TokenBucket::getRejeitadas)
+                .tag("name", nome)
+                .description("Chamadas recusadas por não haver token dentro do prazo")
+                .register(registry);
+    }
+}
@@ -0,0 +1,277 @@
+package com.portifolio.apiintegration.resilience;
+
+import com.portifolio.apiintegration.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Aplica as proteções de um upstream a cada chamada, nos caminhos bloqueante e reativo:
+ * <ol>
+ *     <li>circuit breaker: com o circuito aberto a chamada falha na hora;</li>
+ *     <li>token bucket: espera o próximo token, dentro do prazo de fila;</li>
+ *     <li>limite de concorrência adaptativo: espera uma vaga, dentro do mesmo prazo;</li>
+ *     <li>bulkhead: teto fixo de chamadas simultâneas.</li>
+ * </ol>
+ * Qualquer etapa pode ser {@code null} quando desativada. Toda recusa vira
+ * {@link UpstreamUnavailableException}.
+ *
+ * <p>Com {@link #registrarMetricas}, o tempo de cada chamada (histograma por resultado) e o
+ * tempo de espera por permissão são publicados separadamente, para distinguir lentidão do
+ * upstream de fila local.
+ */
+public class UpstreamGuard {
+
+    private final String api;
+    private final CircuitBreaker circuitBreaker;
+    private final TokenBucket rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Bulkhead bulkhead;
+    private final long esperaMaximaNanos;
+    // Exceções que contam como falha ou sobrecarga do upstream (ex.: CEP inexistente não conta)
+    private final Predicate<Throwable> falha;
+
+    // Preenchidos em registrarMetricas; sem registro, nada é medido
+    private Timer chamadasSucesso;
+    private Timer chamadasErroCliente;
+    private Timer chamadasErro;
+    private Timer esperaObtida;
+    private Timer esperaRecusada;
+
+    public UpstreamGuard(String api, CircuitBreaker circuitBreaker, TokenBucket rateLimiter,
+                         AdaptiveConcurrencyLimiter concurrencyLimiter, Bulkhead bulkhead,
+                         Duration esperaMaxima, Predicate<Throwable> falha) {
+        this.api = api;
+        this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.bulkhead = bulkhead;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.falha = falha;
+    }
+
+    public <T> T executar(String operacao, Supplier<T> chamada) {
+        Tentativa tentativa = new Tentativa(operacao);
+        try {
+            tentativa.entrarNoCircuito();
+            long atraso = tentativa.reservarToken();
+            if (atraso > 0) {
+                Thread.sleep(Duration.ofNanos(atraso));
+            }
+            aguardar(tentativa, tentativa.pedirVaga());
+            tentativa.entrarNoBulkhead(true);
+
+            T resultado = chamada.get();
+            tentativa.finalizar(null, false);
+            return resultado;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            UpstreamUnavailableException erro = tentativa.indisponivel("Espera por permissão interrompida");
+            tentativa.finalizar(erro, false);
+            throw erro;
+        } catch (RuntimeException | Error e) {
+            tentativa.finalizar(e, false);
+            throw e;
+        }
+    }
+
+    public <T> Mono<T> executarMono(String operacao, Supplier<Mono<T>> chamada) {
+        return Mono.defer(() -> {
+            Tentativa tentativa = new Tentativa(operacao);
+            return Mono.fromRunnable(tentativa::entrarNoCircuito)
+                    .then(Mono.defer(() -> {
+                        long atraso = tentativa.reservarToken();
+                        return atraso > 0 ? Mono.delay(Duration.ofNanos(atraso)).then() : Mono.<Void>empty();
+                    }))
+                    // A desistência é tratada em finalizar(), que cancela o pedido de vaga
+                    .then(Mono.defer(() -> Mono.fromFuture(tentativa.pedirVaga(), true)))
+                    .onErrorMap(e -> !(e instanceof UpstreamUnavailableException) && motivoRecusa(e) != null,
+                            e -> tentativa.indisponivel(motivoRecusa(e)))
+                    .then(Mono.defer(() -> {
+                        tentativa.entrarNoBulkhead(false);
+                        return chamada.get();
+                    }))
+                    .doOnSuccess(valor -> tentativa.finalizar(null, false))
+                    .doOnError(e -> tentativa.finalizar(e, false))
+                    .doOnCancel(() -> tentativa.finalizar(null, true));
+        });
+    }
+
+    public void registrarMetricas(MeterRegistry registry, String nome) {
+        chamadasSucesso = timerChamadas(registry, nome, "success");
+        chamadasErroCliente = timerChamadas(registry, nome, "client_error");
+        chamadasErro = timerChamadas(registry, nome, "error");
+        esperaObtida = timerEspera(registry, nome, "acquired");
+        esperaRecusada = timerEspera(registry, nome, "rejected");
+    }
+
+    private static Timer timerChamadas(MeterRegistry registry, String nome, String resultado) {
+        return Timer.builder("upstream.requests")
+                .tag("name", nome)
+                .tag("outcome", resultado)
+                .description("Duração das chamadas ao upstream, sem a espera por permissão")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    private static Timer timerEspera(MeterRegistry registry, String nome, String resultado) {
+        return Timer.builder("upstream.permit.wait")
+                .tag("name", nome)
+                .tag("result", resultado)
+                .description("Espera por circuito, token, vaga e bulkhead antes da chamada")
+                .register(registry);
+    }
+
+    private void aguardar(Tentativa tentativa, CompletableFuture<Void> pedido) throws InterruptedException {
+        if (pedido == null) {
+            return;
+        }
+        try {
+            pedido.get();
+        } catch (ExecutionException e) {
+            String motivo = motivoRecusa(e.getCause());
+            throw tentativa.indisponivel(motivo != null ? motivo : "Falha ao aguardar permissão");
+        }
+    }
+
+    private static String motivoRecusa(Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        if (causa instanceof TimeoutException) {
+            return "Tempo de espera por permissão esgotado";
+        }
+        if (causa instanceof RejectedExecutionException) {
+            return "Fila de espera por permissão cheia";
+        }
+        return null;
+    }
+
+    /**
+     * Estado de uma chamada: o que ela obteve e precisa devolver ao terminar.
+     * finalizar() roda uma única vez, seja qual for o sinal que chegar primeiro.
+     */
+    private final class Tentativa {
+
+        private final String operacao;
+        private final long criadaEm;
+        private final long prazo;
+        private final AtomicBoolean finalizada = new AtomicBoolean();
+        private volatile long permissaoCircuito = CircuitBreaker.NEGADA;
+        private volatile CompletableFuture<Void> pedidoVaga;
+        private volatile boolean noBulkhead;
+        private volatile long inicio;
+
+        Tentativa(String operacao) {
+            this.operacao = operacao;
+            this.criadaEm = System.nanoTime();
+            this.prazo = criadaEm + esperaMaximaNanos;
+        }
+
+        void entrarNoCircuito() {
+            if (circuitBreaker != null) {
+                long permissao = circuitBreaker.tentarPermissao();
+                if (permissao == CircuitBreaker.NEGADA) {
+                    throw indisponivel("Circuito aberto, chamada não realizada");
+                }
+                permissaoCircuito = permissao;
+            }
+        }
+
+        long reservarToken() {
+            if (rateLimiter == null) {
+                return 0;
+            }
+            long atraso = rateLimiter.reservar(restante());
+            if (atraso < 0) {
+                throw indisponivel("Limite de requisições por segundo atingido");
+            }
+            return atraso;
+        }
+
+        CompletableFuture<Void> pedirVaga() {
+            if (concurrencyLimiter == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            pedidoVaga = concurrencyLimiter.adquirir(restante());
+            return pedidoVaga;
+        }
+
+        void entrarNoBulkhead(boolean podeEsperar) {
+            if (bulkhead != null) {
+                if (!(podeEsperar ? bulkhead.tentarEntrar() : bulkhead.tentarEntrarSemEspera())) {
+                    throw indisponivel("Limite de chamadas simultâneas atingido");
+                }
+                noBulkhead = true;
+            }
+            inicio = System.nanoTime();
+            if (esperaObtida != null) {
+                esperaObtida.record(inicio - criadaEm, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void finalizar(Throwable erro, boolean cancelada) {
+            if (!finalizada.compareAndSet(false, true)) {
+                return;
+            }
+            boolean chamou = inicio != 0 && !cancelada;
+            long duracao = chamou ? System.nanoTime() - inicio : 0;
+            boolean sobrecarga = erro != null && falha.test(erro);
+            medir(erro, chamou, duracao, sobrecarga);
+
+            if (noBulkhead) {
+                bulkhead.sair();
+            }
+            // Se o pedido ainda está na fila, cancelar o retira; se já foi atendido, devolve a vaga
+            CompletableFuture<Void> pedido = pedidoVaga;
+            if (pedido != null && !pedido.cancel(false) && !pedido.isCompletedExceptionally()) {
+                if (chamou) {
+                    concurrencyLimiter.liberar(duracao, sobrecarga);
+                } else {
+                    concurrencyLimiter.liberarSemAmostra();
+                }
+            }
+            long permissao = permissaoCircuito;
+            if (permissao != CircuitBreaker.NEGADA) {
+                if (!chamou) {
+                    circuitBreaker.registrarIgnorada(permissao);
+                } else if (sobrecarga) {
+                    circuitBreaker.registrarFalha(permissao, duracao);
+                } else {
+                    circuitBreaker.registrarSucesso(permissao, duracao);
+                }
+            }
+        }
+
+        private void medir(Throwable erro, boolean chamou, long duracao, boolean sobrecarga) {
+            if (chamadasSucesso == null) {
+                return;
+            }
+            if (chamou) {
+                Timer timer = erro == null ? chamadasSucesso : sobrecarga ? chamadasErro : chamadasErroCliente;
+                timer.record(duracao, TimeUnit.NANOSECONDS);
+            } else if (erro instanceof UpstreamUnavailableException) {
+                esperaRecusada.record(System.nanoTime() - criadaEm, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        UpstreamUnavailableException indisponivel(String motivo) {
+            return new UpstreamUnavailableException(api, operacao, motivo);
+        }
+
+        private long restante() {
+            return Math.max(0, prazo - System.nanoTime());
+        }
+    }
+}
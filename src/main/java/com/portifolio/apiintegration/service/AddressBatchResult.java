@@ -0,0 +1,24 @@
+package com.portifolio.apiintegration.service;
+
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+
+import java.util.Map;
+
+public class AddressBatchResult {
+
+    private final Map<String, AddressResponse> sucessos;
+    private final Map<String, String> erros;
+
+    public AddressBatchResult(Map<String, AddressResponse> sucessos, Map<String, String> erros) {
+        this.sucessos = sucessos;
+        this.erros = erros;
+    }
+
+    public Map<String, AddressResponse> getSucessos() {
+        return sucessos;
+    }
+
+    public Map<String, String> getErros() {
+        return erros;
+    }
+}
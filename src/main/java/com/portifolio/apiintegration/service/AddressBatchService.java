@@ -0,0 +1,369 @@
+package com.portifolio.apiintegration.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressBatchItem;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.metrics.AddressMetrics;
+import com.portifolio.apiintegration.metrics.AddressMetrics.ModoLote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class AddressBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AddressBatchService.class);
+    private static final String MENSAGEM_TEMPO_ESGOTADO = "Tempo limite do lote excedido";
+    private static final String MENSAGEM_ERRO_INTERNO = "Erro interno ao processar o CEP";
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    @Qualifier("batchExecutor")
+    private Executor batchExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AddressMetrics addressMetrics;
+
+    @Value("${address.batch.max-concurrency:16}")
+    private int maxConcurrency;
+
+    @Value("${address.batch.timeout:30s}")
+    private Duration timeout;
+
+    public AddressBatchResult buscarEnderecos(List<String> ceps) {
+        long inicio = System.nanoTime();
+        addressMetrics.loteIniciado();
+        try {
+            AddressBatchResult resultado = processar(ceps, inicio + timeout.toNanos());
+            // Um resumo por lote; falhas de cada CEP só em DEBUG
+            logger.info("Lote concluído: {} CEPs, {} erros em {} ms",
+                    ceps.size(), resultado.getErros().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+            return resultado;
+        } finally {
+            addressMetrics.loteConcluido(ModoLote.LISTA, ceps.size(), inicio);
+        }
+    }
+
+    private AddressBatchResult processar(List<String> ceps, long prazo) {
+        Map<String, AddressResponse> sucessos = new LinkedHashMap<>();
+        Map<String, String> erros = new LinkedHashMap<>();
+
+        // Normaliza e remove duplicados antes de disparar as consultas:
+        // "01310-100" e "01310100" resultam em uma única consulta
+        Map<String, Integer> chavePorCep = new LinkedHashMap<>();
+        for (String cep : ceps) {
+            try {
+                chavePorCep.put(cep, Cep.chave(cep));
+            } catch (IllegalArgumentException e) {
+                addressMetrics.registrarRejeicao("batch");
+                erros.put(cep, e.getMessage());
+            }
+        }
+
+        Map<Integer, Future<AddressResponse>> consultas = new LinkedHashMap<>();
+        Semaphore permissoes = new Semaphore(maxConcurrency);
+
+        for (Integer chave : new LinkedHashSet<>(chavePorCep.values())) {
+            if (!adquirirPermissao(permissoes, prazo)) {
+                consultas.put(chave, CompletableFuture.failedFuture(new TimeoutException(MENSAGEM_TEMPO_ESGOTADO)));
+                continue;
+            }
+            Cep cep = Cep.deChave(chave);
+            // FutureTask, e não supplyAsync: cancel(true) precisa interromper a thread da consulta
+            FutureTask<AddressResponse> consulta = new FutureTask<>(() -> consultar(cep, prazo)) {
+                @Override
+                protected void done() {
+                    permissoes.release();
+                }
+            };
+            try {
+                batchExecutor.execute(consulta);
+                consultas.put(chave, consulta);
+            } catch (RejectedExecutionException e) {
+                permissoes.release();
+                consultas.put(chave, CompletableFuture.failedFuture(e));
+            }
+        }
+
+        Map<Integer, AddressResponse> enderecos = new HashMap<>();
+        Map<Integer, String> falhas = new HashMap<>();
+
+        for (Map.Entry<Integer, Future<AddressResponse>> entrada : consultas.entrySet()) {
+            Integer chave = entrada.getKey();
+            try {
+                long restante = Math.max(0, prazo - System.nanoTime());
+                enderecos.put(chave, entrada.getValue().get(restante, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                entrada.getValue().cancel(true);
+                falhas.put(chave, MENSAGEM_TEMPO_ESGOTADO);
+            } catch (ExecutionException e) {
+                Throwable causa = e.getCause() != null ? e.getCause() : e;
+                logger.debug("Erro ao processar CEP {}: {}", Cep.formatar(chave), causa.getMessage());
+                falhas.put(chave, causa.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                falhas.put(chave, "Processamento do lote interrompido");
+            }
+        }
+
+        // Devolve o resultado com os CEPs exatamente como foram enviados
+        chavePorCep.forEach((cep, chave) -> {
+            AddressResponse endereco = enderecos.get(chave);
+            if (endereco != null) {
+                sucessos.put(cep, endereco);
+            } else {
+                erros.put(cep, falhas.get(chave));
+            }
+        });
+
+        return new AddressBatchResult(sucessos, erros);
+    }
+
+    /**
+     * Processa um lote de tamanho arbitrário lido linha a linha.
+     *
+     * <p>Cada linha é um CEP ("01310-100") ou um objeto JSON com o campo {@code cep}; linhas em
+     * branco são ignoradas. No máximo {@code address.batch.max-concurrency} consultas ficam em
+     * andamento: a leitura da entrada só avança quando um resultado é escrito, então a memória
+     * usada não depende do tamanho do lote. Os resultados saem na ordem em que ficam prontos.
+     *
+     * <p>O lote inteiro tem {@code address.batch.timeout}: esgotado o prazo, as consultas em
+     * andamento são interrompidas e, como os CEPs ainda não lidos, saem com tempo esgotado.
+     */
+    public void buscarEnderecos(BufferedReader entrada, SaidaLote saida) throws IOException {
+        BlockingQueue<ConsultaLote> prontas = new LinkedBlockingQueue<>();
+        Set<ConsultaLote> emAndamento = new LinkedHashSet<>();
+        long linhas = 0;
+        long erros = 0;
+        long inicio = System.nanoTime();
+        long prazo = inicio + timeout.toNanos();
+        addressMetrics.loteIniciado();
+
+        try {
+            String linha;
+            while ((linha = entrada.readLine()) != null) {
+                String cep = extrairCep(linha);
+                if (cep == null) {
+                    continue;
+                }
+                linhas++;
+
+                int chave;
+                try {
+                    chave = Cep.chave(cep);
+                } catch (IllegalArgumentException e) {
+                    addressMetrics.registrarRejeicao("batch");
+                    saida.escrever(AddressBatchItem.erro(cep, e.getMessage()));
+                    erros++;
+                    continue;
+                }
+
+                // Sem permissão livre, escreve resultados até uma consulta terminar ou o prazo acabar
+                while (emAndamento.size() >= maxConcurrency) {
+                    erros += aguardar(prontas, emAndamento, prazo, saida);
+                }
+
+                if (System.nanoTime() >= prazo) {
+                    erros += escrever(saida, AddressBatchItem.erro(cep, MENSAGEM_TEMPO_ESGOTADO));
+                    continue;
+                }
+                String original = cep;
+                ConsultaLote consulta = new ConsultaLote(original, () -> consultar(original, chave), prontas);
+                try {
+                    batchExecutor.execute(consulta);
+                    emAndamento.add(consulta);
+                } catch (RejectedExecutionException e) {
+                    erros += escrever(saida, AddressBatchItem.erro(original, "Processamento do lote rejeitado"));
+                }
+
+                ConsultaLote pronta;
+                while ((pronta = prontas.poll()) != null) {
+                    erros += escrever(saida, pronta, emAndamento);
+                }
+            }
+
+            while (!emAndamento.isEmpty()) {
+                erros += aguardar(prontas, emAndamento, prazo, saida);
+            }
+            saida.descarregar();
+        } finally {
+            // Falha na escrita da saída: as consultas que sobraram não têm mais para onde ir
+            emAndamento.forEach(consulta -> consulta.cancel(true));
+            addressMetrics.loteConcluido(ModoLote.STREAM, linhas, inicio);
+        }
+
+        logger.info("Lote em streaming concluído: {} CEPs, {} erros em {} ms",
+                linhas, erros, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    // Consulta que começaria depois do prazo do lote nem chega a sair
+    private AddressResponse consultar(Cep cep, long prazo) throws TimeoutException {
+        if (System.nanoTime() >= prazo) {
+            throw new TimeoutException(MENSAGEM_TEMPO_ESGOTADO);
+        }
+        return consultar(cep);
+    }
+
+    private AddressResponse consultar(Cep cep) {
+        addressMetrics.itemIniciado();
+        try {
+            return addressService.buscarEnderecoPorCep(cep);
+        } finally {
+            addressMetrics.itemConcluido();
+        }
+    }
+
+    private AddressBatchItem consultar(String cep, int chave) {
+        try {
+            return AddressBatchItem.sucesso(cep, consultar(Cep.deChave(chave)));
+        } catch (RuntimeException e) {
+            logger.debug("Erro ao processar CEP {}: {}", cep, e.getMessage());
+            return AddressBatchItem.erro(cep, e.getMessage());
+        }
+    }
+
+    /**
+     * Espera a próxima consulta terminar e escreve o resultado. Se o prazo do lote acaba antes,
+     * interrompe todas as consultas em andamento e escreve tempo esgotado para cada uma.
+     */
+    private int aguardar(BlockingQueue<ConsultaLote> prontas, Set<ConsultaLote> emAndamento,
+                         long prazo, SaidaLote saida) throws IOException {
+        ConsultaLote pronta = prontas.poll();
+        if (pronta == null) {
+            // Vai bloquear: envia ao cliente o que já foi escrito
+            saida.descarregar();
+            try {
+                pronta = prontas.poll(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Processamento do lote interrompido");
+            }
+        }
+        if (pronta != null) {
+            return escrever(saida, pronta, emAndamento);
+        }
+
+        int erros = 0;
+        for (ConsultaLote consulta : emAndamento) {
+            consulta.cancel(true);
+            erros += escrever(saida, AddressBatchItem.erro(consulta.cep, MENSAGEM_TEMPO_ESGOTADO));
+        }
+        emAndamento.clear();
+        return erros;
+    }
+
+    // Consultas que já saíram por tempo esgotado ainda chegam na fila ao terminar; são ignoradas
+    private static int escrever(SaidaLote saida, ConsultaLote pronta, Set<ConsultaLote> emAndamento)
+            throws IOException {
+        return emAndamento.remove(pronta) ? escrever(saida, pronta.resultado()) : 0;
+    }
+
+    private static int escrever(SaidaLote saida, AddressBatchItem item) throws IOException {
+        saida.escrever(item);
+        return item.getErro() == null ? 0 : 1;
+    }
+
+    private String extrairCep(String linha) {
+        String conteudo = linha.strip();
+        if (conteudo.isEmpty()) {
+            return null;
+        }
+        if (conteudo.charAt(0) != '{') {
+            return conteudo;
+        }
+        try {
+            JsonNode cep = objectMapper.readTree(conteudo).get("cep");
+            return cep == null || cep.isNull() ? "" : cep.asText();
+        } catch (JsonProcessingException e) {
+            return conteudo;
+        }
+    }
+
+    private boolean adquirirPermissao(Semaphore permissoes, long prazo) {
+        try {
+            return permissoes.tryAcquire(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Consulta de um CEP do lote em streaming. Ao terminar, inclusive por cancelamento, entra na
+     * fila de prontas; FutureTask para que o tempo esgotado interrompa a thread da consulta.
+     */
+    private static final class ConsultaLote extends FutureTask<AddressBatchItem> {
+
+        private final String cep;
+        private final BlockingQueue<ConsultaLote> prontas;
+
+        ConsultaLote(String cep, Callable<AddressBatchItem> consulta, BlockingQueue<ConsultaLote> prontas) {
+            super(consulta);
+            this.cep = cep;
+            this.prontas = prontas;
+        }
+
+        @Override
+        protected void done() {
+            prontas.add(this);
+        }
+
+        // Chamado só depois de done(); erros comuns já viram item em consultar
+        AddressBatchItem resultado() {
+            try {
+                return get();
+            } catch (ExecutionException e) {
+                logger.error("Erro inesperado ao processar CEP {}", cep, e.getCause());
+                return AddressBatchItem.erro(cep, MENSAGEM_ERRO_INTERNO);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return AddressBatchItem.erro(cep, "Processamento do lote interrompido");
+            }
+        }
+    }
+
+    /**
+     * Destino dos resultados de um lote em streaming.
+     */
+    public interface SaidaLote {
+
+        void escrever(AddressBatchItem item) throws IOException;
+
+        // Envia ao cliente o que já foi escrito
+        void descarregar() throws IOException;
+    }
+}
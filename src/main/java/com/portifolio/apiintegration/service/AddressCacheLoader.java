@@ -0,0 +1,30 @@
+package com.portifolio.apiintegration.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loader usado pelo refreshAfterWrite do cache "addresses".
+ * A recarga roda em segundo plano enquanto o valor antigo continua sendo servido;
+ * se o ViaCEP falhar, o Caffeine mantém o valor antigo até o fim da janela de expiração.
+ */
+@Component
+public class AddressCacheLoader implements CacheLoader<Object, Object> {
+
+    @Lazy
+    @Autowired
+    private AddressService addressService;
+
+    @Override
+    public Object load(Object chave) {
+        try {
+            return addressService.recarregarEndereco((Integer) chave);
+        } catch (CepNotFoundException e) {
+            // CEP deixou de existir: remove a entrada em vez de mantê-la
+            return null;
+        }
+    }
+}
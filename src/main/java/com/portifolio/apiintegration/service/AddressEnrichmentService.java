@@ -0,0 +1,182 @@
+package com.portifolio.apiintegration.service;
+
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.domain.ExchangeRateTable;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.dto.response.EnrichedAddressResponse;
+import com.portifolio.apiintegration.dto.response.WeatherResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Endereço, clima e câmbio de um CEP em uma única chamada.
+ *
+ * <p>As consultas pedidas começam juntas no {@code enrichmentExecutor} e cada uma tem o seu
+ * prazo ({@code address.enrichment.*-timeout}), contado do início da requisição: a resposta sai
+ * quando todas terminaram ou venceram, então a latência acompanha a dependência mais lenta, não
+ * a soma. Clima e câmbio são opcionais; atraso ou falha deixa o campo de fora e o motivo vai em
+ * {@code indisponiveis}. O endereço é obrigatório e seus erros seguem como na consulta simples.
+ *
+ * <p>Consultas que passaram do prazo não são interrompidas: podem ser a chamada compartilhada
+ * de outras requisições pelo mesmo CEP ou município e, ao terminar, deixam o cache pronto.
+ */
+@Service
+public class AddressEnrichmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AddressEnrichmentService.class);
+
+    static final String CLIMA = "clima";
+    static final String COTACOES = "cotacoes";
+    static final String TEMPO_ESGOTADO = "Tempo limite excedido";
+    static final String DESATIVADO = "Integração desativada";
+    private static final String REAL = "BRL";
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired(required = false)
+    private WeatherService weatherService;
+
+    @Autowired(required = false)
+    private CurrencyService currencyService;
+
+    @Autowired
+    @Qualifier("enrichmentExecutor")
+    private Executor enrichmentExecutor;
+
+    @Value("${address.enrichment.address-timeout:5s}")
+    private Duration prazoEndereco;
+
+    @Value("${address.enrichment.weather-timeout:800ms}")
+    private Duration prazoClima;
+
+    @Value("${address.enrichment.currency-timeout:200ms}")
+    private Duration prazoCotacoes;
+
+    @Value("${address.enrichment.currencies:USD,EUR}")
+    private List<String> moedas;
+
+    public EnrichedAddressResponse enriquecer(Cep cep, boolean incluirClima, boolean incluirCotacoes) {
+        long inicio = System.nanoTime();
+        Map<String, String> indisponiveis = new LinkedHashMap<>();
+
+        // Tudo é disparado antes de aguardar qualquer resultado
+        CompletableFuture<AddressResponse> endereco = iniciarEndereco(cep);
+        CompletableFuture<WeatherResponse> clima = null;
+        if (incluirClima) {
+            clima = weatherService == null
+                    ? desativado(CLIMA, indisponiveis)
+                    : iniciar(() -> weatherService.buscarClimaPorCep(cep));
+        }
+        CompletableFuture<Map<String, Double>> cotacoes = null;
+        if (incluirCotacoes) {
+            cotacoes = currencyService == null
+                    ? desativado(COTACOES, indisponiveis)
+                    : iniciar(this::cotacoesEmReais);
+        }
+
+        AddressResponse resultadoEndereco = aguardarEndereco(endereco, inicio + prazoEndereco.toNanos());
+        WeatherResponse resultadoClima = aguardar(clima, inicio + prazoClima.toNanos(), CLIMA, indisponiveis);
+        Map<String, Double> resultadoCotacoes = aguardar(cotacoes, inicio + prazoCotacoes.toNanos(),
+                COTACOES, indisponiveis);
+
+        if (!indisponiveis.isEmpty()) {
+            logger.debug("Enriquecimento parcial do CEP {}: {}", cep, indisponiveis);
+        }
+        return new EnrichedAddressResponse(resultadoEndereco, resultadoClima, resultadoCotacoes, indisponiveis);
+    }
+
+    // Valor de 1 unidade de cada moeda configurada em reais, lido da tabela em memória
+    private Map<String, Double> cotacoesEmReais() {
+        ExchangeRateTable tabela = currencyService.getTabela();
+        int real = tabela.indice(REAL);
+        Map<String, Double> cotacoes = new LinkedHashMap<>();
+        for (String moeda : moedas) {
+            cotacoes.put(moeda, tabela.taxa(tabela.indice(moeda), real));
+        }
+        return cotacoes;
+    }
+
+    private CompletableFuture<AddressResponse> iniciarEndereco(Cep cep) {
+        try {
+            return CompletableFuture.supplyAsync(() -> addressService.buscarEnderecoPorCep(cep), enrichmentExecutor);
+        } catch (RejectedExecutionException e) {
+            // O endereço é obrigatório: sem thread livre, roda na thread da requisição
+            try {
+                return CompletableFuture.completedFuture(addressService.buscarEnderecoPorCep(cep));
+            } catch (RuntimeException erro) {
+                return CompletableFuture.failedFuture(erro);
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> iniciar(Supplier<T> consulta) {
+        try {
+            return CompletableFuture.supplyAsync(consulta, enrichmentExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T> CompletableFuture<T> desativado(String nome, Map<String, String> indisponiveis) {
+        indisponiveis.put(nome, DESATIVADO);
+        return null;
+    }
+
+    private static AddressResponse aguardarEndereco(CompletableFuture<AddressResponse> endereco, long prazo) {
+        try {
+            return endereco.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ApiIntegrationException("Provedores de CEP", "enriquecerEndereco", TEMPO_ESGOTADO);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            if (causa instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(causa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiIntegrationException("Provedores de CEP", "enriquecerEndereco", "Consulta interrompida", e);
+        }
+    }
+
+    private static <T> T aguardar(CompletableFuture<T> consulta, long prazo, String nome,
+                                  Map<String, String> indisponiveis) {
+        if (consulta == null) {
+            return null;
+        }
+        try {
+            return consulta.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            indisponiveis.put(nome, TEMPO_ESGOTADO);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            indisponiveis.put(nome, causa instanceof RejectedExecutionException
+                    ? "Sem capacidade para a consulta" : String.valueOf(causa.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            indisponiveis.put(nome, "Consulta interrompida");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.portifolio.apiintegration.service;
+
+import com.portifolio.apiintegration.client.brasilapi.dto.BrasilApiResponse;
+import com.portifolio.apiintegration.client.viacep.dto.ViaCepResponse;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+
+public final class AddressMapper {
+
+    private AddressMapper() {}
+
+    public static AddressResponse paraAddressResponse(ViaCepResponse viaCepResponse) {
+        return new AddressResponse(
+                viaCepResponse.getCep(),
+                viaCepResponse.getLogradouro(),
+                viaCepResponse.getComplemento(),
+                viaCepResponse.getBairro(),
+                viaCepResponse.getLocalidade(),
+                viaCepResponse.getLocalidade(), // Nome completo da cidade
+                viaCepResponse.getUf(),
+                viaCepResponse.getDdd()
+        );
+    }
+
+    // A BrasilAPI devolve o CEP sem traço e não informa complemento nem DDD
+    public static AddressResponse paraAddressResponse(Cep cep, BrasilApiResponse brasilApiResponse) {
+        return new AddressResponse(
+                cep.comTraco(),
+                brasilApiResponse.getStreet(),
+                null,
+                brasilApiResponse.getNeighborhood(),
+                brasilApiResponse.getCity(),
+                brasilApiResponse.getCity(),
+                brasilApiResponse.getState(),
+                null
+        );
+    }
+}
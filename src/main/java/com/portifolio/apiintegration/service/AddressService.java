@@ -1,42 +1,210 @@
 package com.portifolio.apiintegration.service;
 
-import com.portifolio.apiintegration.client.viacep.ViaCepClient;
-import com.portifolio.apiintegration.client.viacep.dto.ViaCepResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.portifolio.apiintegration.cache.AddressDiskStore;
+import com.portifolio.apiintegration.cache.NotFoundCepCache;
+import com.portifolio.apiintegration.cache.SingleFlight;
+import com.portifolio.apiintegration.config.CacheConfig;
+import com.portifolio.apiintegration.config.CachePolicyProperties;
+import com.portifolio.apiintegration.domain.Cep;
 import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import com.portifolio.apiintegration.logging.AccessLogFilter;
+import com.portifolio.apiintegration.logging.LogRateLimiter;
+import com.portifolio.apiintegration.metrics.AddressMetrics;
+import com.portifolio.apiintegration.metrics.AddressMetrics.Origem;
+import com.portifolio.apiintegration.provider.CepProviderRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
 public class AddressService {
 
     private static final Logger logger = LoggerFactory.getLogger(AddressService.class);
+    private static final LogRateLimiter logRegistroAntigo = new LogRateLimiter(5, Duration.ofSeconds(10));
+
+    @Autowired
+    private CepProviderRouter cepProviderRouter;
+
+    @Autowired
+    private NotFoundCepCache notFoundCepCache;
+
+    @Autowired
+    private AddressDiskStore addressDiskStore;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CachePolicyProperties cachePolicyProperties;
 
     @Autowired
-    private ViaCepClient viaCepClient;
+    private MeterRegistry meterRegistry;
 
-    @Cacheable(value = "addresses", key = "#cep")
+    @Autowired
+    private AddressMetrics addressMetrics;
+
+    private final SingleFlight<Integer, AddressResponse> singleFlight = new SingleFlight<>("addresses");
+
+    @PostConstruct
+    public void registrarMetricas() {
+        singleFlight.registrarMetricas(meterRegistry);
+    }
+
+    // A chave é normalizada antes do cache: "01310-100" e "01310100" compartilham a mesma entrada
     public AddressResponse buscarEnderecoPorCep(String cep) {
-        logger.info("Buscando endereço para CEP: {}", cep);
-
-        ViaCepResponse viaCepResponse = viaCepClient.consultarCep(cep);
-
-        AddressResponse response = new AddressResponse(
-                viaCepResponse.getCep(),
-                viaCepResponse.getLogradouro(),
-                viaCepResponse.getComplemento(),
-                viaCepResponse.getBairro(),
-                viaCepResponse.getLocalidade(),
-                viaCepResponse.getLocalidade(), // Nome completo da cidade
-                viaCepResponse.getUf(),
-                viaCepResponse.getDdd()
-        );
-
-        logger.info("Endereço encontrado para CEP {}: {}, {}-{}",
+        return buscarEnderecoPorCep(Cep.of(cep));
+    }
+
+    public AddressResponse buscarEnderecoPorCep(Cep cep) {
+        long inicio = System.nanoTime();
+        AddressResponse local = buscarLocal(cep);
+        if (local != null) {
+            return local;
+        }
+
+        int chave = cep.valor();
+        try {
+            // Consultas concorrentes ao mesmo CEP compartilham uma única consulta aos provedores
+            AddressResponse endereco = singleFlight.executar(chave, () -> consultarEndereco(cep));
+            registrarConsulta(Origem.UPSTREAM, inicio);
+            return endereco;
+        } catch (CepNotFoundException e) {
+            registrarConsulta(Origem.UPSTREAM, inicio);
+            throw e;
+        } catch (ApiIntegrationException e) {
+            AddressResponse antigo = buscarRegistroAntigo(cep);
+            if (antigo == null) {
+                registrarConsulta(Origem.ERRO, inicio);
+                throw e;
+            }
+            registrarConsulta(Origem.ANTIGO, inicio);
+            long suprimidas = logRegistroAntigo.permitir();
+            if (suprimidas >= 0) {
+                logger.warn("Provedores de CEP indisponíveis, servindo registro antigo do CEP {}: {} ({} avisos omitidos)",
+                        cep, e.getMessage(), suprimidas);
+            }
+            return antigo;
+        }
+    }
+
+    /**
+     * Resolve o CEP sem ir à rede: base local, cache em memória, cache negativo e cache em disco.
+     * Retorna {@code null} quando é preciso consultar os provedores remotos. Respostas daqui são
+     * registradas em {@code address.lookup} com a etapa que as resolveu.
+     *
+     * @throws CepNotFoundException se o CEP é sabidamente inexistente
+     */
+    public AddressResponse buscarLocal(Cep cep) {
+        long inicio = System.nanoTime();
+        int chave = cep.valor();
+
+        // Provedores locais (base importada): resolvem sem rede e sem ocupar o cache
+        AddressResponse local;
+        try {
+            local = cepProviderRouter.buscarLocal(cep);
+        } catch (CepNotFoundException e) {
+            registrarConsulta(Origem.NEGATIVO, inicio);
+            throw e;
+        }
+        if (local != null) {
+            registrarConsulta(Origem.LOCAL, inicio);
+            return local;
+        }
+
+        // getIfPresent também dispara o refresh assíncrono quando a entrada passou do refreshAfterWrite
+        AddressResponse emCache = (AddressResponse) addressCache().getIfPresent(chave);
+        if (emCache != null) {
+            registrarConsulta(Origem.MEMORIA, inicio);
+            return emCache;
+        }
+
+        // CEPs sabidamente inexistentes são respondidos sem ir à rede
+        if (notFoundCepCache.contem(chave)) {
+            logger.debug("CEP {} presente no cache negativo", cep);
+            registrarConsulta(Origem.NEGATIVO, inicio);
+            throw new CepNotFoundException("ViaCEP", "consultarCep",
+                    "CEP não encontrado: " + cep);
+        }
+
+        // Segundo nível: arquivo mapeado em memória, preservado entre reinícios
+        AddressDiskStore.Registro registro = addressDiskStore.buscar(chave);
+        if (registro != null && addressDiskStore.isFresco(registro)) {
+            addressCache().put(chave, registro.endereco());
+            registrarConsulta(Origem.DISCO, inicio);
+            return registro.endereco();
+        }
+        return null;
+    }
+
+    /**
+     * Registro do cache em disco mesmo que vencido, para responder quando os provedores falham.
+     * Vale a mesma janela do Caffeine ({@code refresh-after-write} + {@code stale-if-error} da
+     * política {@code addresses}); sem ela, registros antigos não são servidos.
+     */
+    public AddressResponse buscarRegistroAntigo(Cep cep) {
+        AddressDiskStore.Registro registro = addressDiskStore.buscar(cep.valor());
+        Duration idadeMaxima = CacheConfig.idadeMaximaAntigo(
+                cachePolicyProperties.getPolicies().get(CacheConfig.ADDRESSES));
+        if (registro == null || idadeMaxima == null
+                || System.currentTimeMillis() - registro.gravadoEm() > idadeMaxima.toMillis()) {
+            return null;
+        }
+        return registro.endereco();
+    }
+
+    /**
+     * Grava o endereço nos dois níveis de cache.
+     */
+    public AddressResponse armazenar(Cep cep, AddressResponse response) {
+        addressDiskStore.gravar(cep.valor(), response);
+        addressCache().put(cep.valor(), response);
+
+        logger.debug("Endereço encontrado para CEP {}: {}, {}-{}",
                 cep, response.getLogradouro(), response.getCidade(), response.getUf());
 
         return response;
     }
+
+    public void registrarNaoEncontrado(Cep cep) {
+        notFoundCepCache.registrar(cep.valor());
+    }
+
+    public AddressResponse recarregarEndereco(int chave) {
+        Cep cep = Cep.deChave(chave);
+        logger.debug("Recarregando CEP {} em segundo plano", cep);
+        return singleFlight.executar(chave, () -> consultarEndereco(cep));
+    }
+
+    // Métrica e linha de acesso da requisição recebem a mesma etapa
+    private void registrarConsulta(Origem origem, long inicio) {
+        addressMetrics.registrarConsulta(origem, inicio);
+        AccessLogFilter.registrarCache(origem.getTag());
+    }
+
+    private Cache<Object, Object> addressCache() {
+        return ((CaffeineCache) cacheManager.getCache(CacheConfig.ADDRESSES)).getNativeCache();
+    }
+
+    private AddressResponse consultarEndereco(Cep cep) {
+        logger.debug("Buscando endereço para CEP: {}", cep);
+
+        AddressResponse response;
+        try {
+            response = cepProviderRouter.consultar(cep);
+        } catch (CepNotFoundException e) {
+            registrarNaoEncontrado(cep);
+            throw e;
+        }
+        return armazenar(cep, response);
+    }
 }
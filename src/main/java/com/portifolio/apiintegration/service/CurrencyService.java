@@ -0,0 +1,116 @@
+package com.portifolio.apiintegration.service;
+
+import com.portifolio.apiintegration.client.currency.CurrencyClient;
+import com.portifolio.apiintegration.client.currency.dto.ExchangeRateResponse;
+import com.portifolio.apiintegration.domain.ExchangeRateTable;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.logging.LogRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Conversão de moedas sobre uma {@link ExchangeRateTable} em memória.
+ *
+ * <p>A cada {@code external-apis.currency.refresh-interval} a tabela de cada moeda de
+ * {@code external-apis.currency.bases} é buscada uma vez e uma nova tabela imutável substitui
+ * a anterior. As conversões só leem a tabela atual: sem I/O e sem lock. Quem converte em
+ * volume deve obter a tabela com {@link #getTabela()} e usar os métodos por índice.
+ * Se a atualização de uma base falha, a última cotação dela continua valendo.
+ */
+@Service
+@ConditionalOnProperty(prefix = "external-apis.currency", name = "enabled", havingValue = "true")
+public class CurrencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrencyService.class);
+    private static final LogRateLimiter logFalhas = new LogRateLimiter(5, Duration.ofMinutes(1));
+
+    @Autowired
+    private CurrencyClient currencyClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${external-apis.currency.bases:USD,EUR,BRL}")
+    private List<String> bases;
+
+    private volatile ExchangeRateTable tabela = ExchangeRateTable.VAZIA;
+    private volatile long ultimaAtualizacao;
+
+    @PostConstruct
+    public void registrarMetricas() {
+        Gauge.builder("currency.rates.age", this,
+                        servico -> servico.ultimaAtualizacao == 0 ? Double.NaN
+                                : (System.currentTimeMillis() - servico.ultimaAtualizacao) / 1000d)
+                .description("Segundos desde a última atualização das cotações")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("currency.rates.currencies", this, servico -> servico.tabela.getQuantidade())
+                .description("Moedas na tabela de cotações")
+                .register(meterRegistry);
+    }
+
+    // Roda na inicialização e depois a cada intervalo; synchronized só contra chamadas manuais
+    @Scheduled(fixedDelayString = "${external-apis.currency.refresh-interval:1h}")
+    public synchronized void atualizar() {
+        ExchangeRateTable nova = tabela;
+        int atualizadas = 0;
+        for (String base : bases) {
+            String codigo = base.strip().toUpperCase(Locale.ROOT);
+            try {
+                ExchangeRateResponse resposta = currencyClient.consultarCotacoes(codigo);
+                long data = resposta.timeLastUpdated() != null
+                        ? resposta.timeLastUpdated() : System.currentTimeMillis() / 1000;
+                nova = nova.comBase(codigo, resposta.rates(), data);
+                atualizadas++;
+            } catch (ApiIntegrationException e) {
+                long suprimidas = logFalhas.permitir();
+                if (suprimidas >= 0) {
+                    logger.warn("Cotações de {} não atualizadas, mantendo as anteriores: {} ({} avisos omitidos)",
+                            codigo, e.getMessage(), suprimidas);
+                }
+            }
+        }
+        tabela = nova;
+        if (atualizadas > 0) {
+            ultimaAtualizacao = System.currentTimeMillis();
+        }
+        logger.debug("Cotações atualizadas: {} de {} bases, {} moedas", atualizadas, bases.size(), nova.getQuantidade());
+    }
+
+    /**
+     * Tabela atual. Imutável: pode ser guardada e usada à vontade, mas não verá atualizações.
+     *
+     * @throws ApiIntegrationException se nenhuma cotação foi carregada ainda
+     */
+    public ExchangeRateTable getTabela() {
+        ExchangeRateTable atual = tabela;
+        if (atual.isVazia()) {
+            throw new ApiIntegrationException("ExchangeRate-API", "converter", "Cotações ainda não carregadas");
+        }
+        return atual;
+    }
+
+    public double converter(String de, String para, double valor) {
+        ExchangeRateTable atual = getTabela();
+        return atual.converter(atual.indice(de), atual.indice(para), valor);
+    }
+
+    public double[] converter(String de, String para, double[] valores) {
+        ExchangeRateTable atual = getTabela();
+        double[] convertidos = new double[valores.length];
+        atual.converter(atual.indice(de), atual.indice(para), valores, convertidos);
+        return convertidos;
+    }
+}
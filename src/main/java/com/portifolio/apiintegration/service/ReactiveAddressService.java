@@ -0,0 +1,169 @@
+package com.portifolio.apiintegration.service;
+
+import com.portifolio.apiintegration.client.viacep.ReactiveViaCepClient;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressBatchItem;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import com.portifolio.apiintegration.logging.LogRateLimiter;
+import com.portifolio.apiintegration.metrics.AddressMetrics;
+import com.portifolio.apiintegration.metrics.AddressMetrics.ModoLote;
+import com.portifolio.apiintegration.metrics.AddressMetrics.Origem;
+import com.portifolio.apiintegration.provider.CepProviderRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caminho não bloqueante da consulta de endereços.
+ *
+ * <p>Usa os mesmos níveis de cache do {@link AddressService} (todos em memória ou em arquivo
+ * mapeado, sem I/O de rede) e só a ida ao ViaCEP é assíncrona. Nenhuma thread fica parada
+ * aguardando o upstream: milhares de consultas em andamento ocupam apenas conexões do pool
+ * do WebClient e as poucas threads do event loop.
+ *
+ * <p>O ViaCEP é sempre o primeiro provedor, independente da ordem do {@link CepProviderRouter}:
+ * só ele tem cliente reativo. Se falha, a consulta segue pelo roteador para os demais provedores;
+ * esses clientes são bloqueantes e rodam em {@link Schedulers#boundedElastic()}, então durante
+ * uma queda do ViaCEP o caminho reativo passa a ocupar threads como o síncrono.
+ */
+@Service
+public class ReactiveAddressService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAddressService.class);
+    private static final String MENSAGEM_TEMPO_ESGOTADO = "Tempo limite do lote excedido";
+    private static final LogRateLimiter logRegistroAntigo = new LogRateLimiter(5, Duration.ofSeconds(10));
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private ReactiveViaCepClient reactiveViaCepClient;
+
+    @Autowired
+    private CepProviderRouter cepProviderRouter;
+
+    @Autowired
+    private AddressMetrics addressMetrics;
+
+    @Value("${address.batch.max-concurrency:16}")
+    private int maxConcurrency;
+
+    @Value("${address.batch.timeout:30s}")
+    private Duration timeout;
+
+    // Single-flight reativo: assinantes do mesmo CEP compartilham a mesma chamada em andamento
+    private final ConcurrentHashMap<Integer, Mono<AddressResponse>> emAndamento = new ConcurrentHashMap<>();
+
+    public Mono<AddressResponse> buscarEnderecoPorCep(Cep cep) {
+        return Mono.defer(() -> {
+            long inicio = System.nanoTime();
+            AddressResponse local = addressService.buscarLocal(cep);
+            if (local != null) {
+                return Mono.just(local);
+            }
+            return consultarCompartilhado(cep)
+                    .doOnSuccess(endereco -> addressMetrics.registrarConsulta(Origem.UPSTREAM, inicio))
+                    .doOnError(CepNotFoundException.class,
+                            e -> addressMetrics.registrarConsulta(Origem.UPSTREAM, inicio))
+                    .onErrorResume(e -> e instanceof ApiIntegrationException && !(e instanceof CepNotFoundException),
+                            e -> servirRegistroAntigo(cep, e, inicio));
+        });
+    }
+
+    /**
+     * Consulta os CEPs com no máximo {@code address.batch.max-concurrency} chamadas simultâneas
+     * e emite cada resultado assim que fica pronto, fora da ordem de entrada.
+     * A demanda do assinante limita quantos CEPs são lidos da lista (backpressure).
+     */
+    public Flux<AddressBatchItem> buscarEnderecos(List<String> ceps) {
+        return Flux.defer(() -> {
+            long inicio = System.nanoTime();
+            long prazo = inicio + timeout.toNanos();
+            AtomicInteger erros = new AtomicInteger();
+            addressMetrics.loteIniciado();
+            return Flux.fromIterable(ceps)
+                    .flatMap(cep -> buscarItem(cep, prazo), maxConcurrency)
+                    .doOnNext(item -> {
+                        if (item.getErro() != null) {
+                            erros.incrementAndGet();
+                        }
+                    })
+                    .doFinally(sinal -> {
+                        addressMetrics.loteConcluido(ModoLote.REATIVO, ceps.size(), inicio);
+                        logger.info("Lote reativo concluído ({}): {} CEPs, {} erros em {} ms", sinal, ceps.size(),
+                                erros.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+                    });
+        });
+    }
+
+    private Mono<AddressBatchItem> buscarItem(String texto, long prazo) {
+        Cep cep;
+        try {
+            cep = Cep.of(texto);
+        } catch (IllegalArgumentException e) {
+            addressMetrics.registrarRejeicao("batch");
+            return Mono.just(AddressBatchItem.erro(texto, e.getMessage()));
+        }
+        // O prazo é do lote inteiro: CEPs que entram por último têm menos tempo
+        return Mono.defer(() -> buscarEnderecoPorCep(cep)
+                        .timeout(Duration.ofNanos(Math.max(0, prazo - System.nanoTime()))))
+                .map(endereco -> AddressBatchItem.sucesso(texto, endereco))
+                .onErrorResume(TimeoutException.class,
+                        e -> Mono.just(AddressBatchItem.erro(texto, MENSAGEM_TEMPO_ESGOTADO)))
+                .onErrorResume(e -> {
+                    logger.debug("Erro ao processar CEP {}: {}", cep, e.getMessage());
+                    return Mono.just(AddressBatchItem.erro(texto, e.getMessage()));
+                })
+                .doOnSubscribe(assinatura -> addressMetrics.itemIniciado())
+                .doFinally(sinal -> addressMetrics.itemConcluido());
+    }
+
+    private Mono<AddressResponse> consultarCompartilhado(Cep cep) {
+        int chave = cep.valor();
+        return emAndamento.computeIfAbsent(chave, k -> {
+            logger.debug("Buscando endereço para CEP: {}", cep);
+            return reactiveViaCepClient.consultarCep(cep)
+                    .map(resposta -> addressService.armazenar(cep, resposta))
+                    .onErrorResume(e -> e instanceof ApiIntegrationException && !(e instanceof CepNotFoundException),
+                            e -> consultarAlternativos(cep, (ApiIntegrationException) e))
+                    .doOnError(CepNotFoundException.class, e -> addressService.registrarNaoEncontrado(cep))
+                    .doFinally(sinal -> emAndamento.remove(chave))
+                    .cache();
+        });
+    }
+
+    private Mono<AddressResponse> consultarAlternativos(Cep cep, ApiIntegrationException falha) {
+        return Mono.fromCallable(() -> cepProviderRouter.consultarAposFalha(cep, "viacep", falha))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(endereco -> addressService.armazenar(cep, endereco));
+    }
+
+    private Mono<AddressResponse> servirRegistroAntigo(Cep cep, Throwable erro, long inicio) {
+        AddressResponse antigo = addressService.buscarRegistroAntigo(cep);
+        if (antigo == null) {
+            addressMetrics.registrarConsulta(Origem.ERRO, inicio);
+            return Mono.error(erro);
+        }
+        addressMetrics.registrarConsulta(Origem.ANTIGO, inicio);
+        long suprimidas = logRegistroAntigo.permitir();
+        if (suprimidas >= 0) {
+            logger.warn("ViaCEP indisponível, servindo registro antigo do CEP {}: {} ({} avisos omitidos)",
+                    cep, erro.getMessage(), suprimidas);
+        }
+        return Mono.just(antigo);
+    }
+}
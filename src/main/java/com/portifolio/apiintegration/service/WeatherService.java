@@ -0,0 +1,167 @@
+package com.portifolio.apiintegration.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.portifolio.apiintegration.cache.SingleFlight;
+import com.portifolio.apiintegration.client.weather.WeatherClient;
+import com.portifolio.apiintegration.client.weather.dto.OpenWeatherResponse;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.dto.response.WeatherResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Clima atual a partir do CEP.
+ *
+ * <p>O CEP é resolvido pelo {@link AddressService}, com todos os seus caches, até o município.
+ * Na primeira consulta de um município a API é chamada pelo nome da cidade, e as coordenadas
+ * devolvidas definem a célula da grade ({@code external-apis.weather.cache.grid-degrees}) a que
+ * ele pertence. O clima fica em cache por célula, com TTL curto: os CEPs de um município e os
+ * municípios vizinhos da mesma célula compartilham uma entrada e uma única renovação, feita
+ * pelas coordenadas do centro da célula. Consultas concorrentes à mesma célula ou ao mesmo
+ * município viram uma chamada só.
+ */
+@Service
+@ConditionalOnProperty(prefix = "external-apis.weather", name = "enabled", havingValue = "true")
+public class WeatherService {
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private WeatherClient weatherClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${external-apis.weather.cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${external-apis.weather.cache.location-ttl:7d}")
+    private Duration ttlLocalizacao;
+
+    @Value("${external-apis.weather.cache.maximum-size:10000}")
+    private long tamanhoMaximo;
+
+    @Value("${external-apis.weather.cache.grid-degrees:0.1}")
+    private double grade;
+
+    private Ticker ticker = Ticker.systemTicker();
+
+    // Célula da grade -> última leitura; município ("SP|são paulo") -> célula
+    private Cache<Long, WeatherResponse> climas;
+    private Cache<String, Long> celulas;
+
+    private final SingleFlight<Long, WeatherResponse> renovacoes = new SingleFlight<>("weather");
+    private final SingleFlight<String, WeatherResponse> localizacoes = new SingleFlight<>("weather-locations");
+
+    @PostConstruct
+    public void iniciar() {
+        climas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        celulas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttlLocalizacao)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, climas, "weather", "cache.manager", "weatherService");
+        CaffeineCacheMetrics.monitor(meterRegistry, celulas, "weather-locations", "cache.manager", "weatherService");
+        renovacoes.registrarMetricas(meterRegistry);
+        localizacoes.registrarMetricas(meterRegistry);
+    }
+
+    public WeatherResponse buscarClimaPorCep(Cep cep) {
+        AddressResponse endereco = addressService.buscarEnderecoPorCep(cep);
+        return buscarClima(endereco.getCidade(), endereco.getUf());
+    }
+
+    public WeatherResponse buscarClima(String cidade, String uf) {
+        if (cidade == null || cidade.isBlank()) {
+            throw new ApiIntegrationException("OpenWeatherMap", "consultarClima", "Município do CEP desconhecido");
+        }
+        String municipio = chaveMunicipio(cidade, uf);
+
+        WeatherResponse clima;
+        Long celula = celulas.getIfPresent(municipio);
+        if (celula == null) {
+            clima = localizacoes.executar(municipio, () -> localizar(municipio, cidade));
+        } else {
+            clima = climas.getIfPresent(celula);
+            if (clima == null) {
+                clima = renovacoes.executar(celula, () -> renovar(celula));
+            }
+        }
+        return clima.paraMunicipio(cidade, uf);
+    }
+
+    private WeatherResponse localizar(String municipio, String cidade) {
+        OpenWeatherResponse resposta = weatherClient.consultarPorCidade(cidade);
+        long celula = celula(resposta.coord().lat(), resposta.coord().lon(), grade);
+        WeatherResponse clima = converter(resposta);
+
+        // A leitura é recente: passa a valer para os outros municípios da célula também
+        climas.put(celula, clima);
+        celulas.put(municipio, celula);
+        return clima;
+    }
+
+    private WeatherResponse renovar(long celula) {
+        // Quem leu o cache vazio logo antes da renovação anterior terminar não chama a API de novo
+        WeatherResponse atual = climas.getIfPresent(celula);
+        if (atual != null) {
+            return atual;
+        }
+        double latitude = (linha(celula) + 0.5) * grade;
+        double longitude = (coluna(celula) + 0.5) * grade;
+        WeatherResponse clima = converter(weatherClient.consultarPorCoordenadas(latitude, longitude));
+        climas.put(celula, clima);
+        return clima;
+    }
+
+    // Linha e coluna da grade em um long: 32 bits cada, com sinal
+    static long celula(double latitude, double longitude, double grade) {
+        int linha = (int) Math.floor(latitude / grade);
+        int coluna = (int) Math.floor(longitude / grade);
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+
+    static int linha(long celula) {
+        return (int) (celula >> 32);
+    }
+
+    static int coluna(long celula) {
+        return (int) celula;
+    }
+
+    private static String chaveMunicipio(String cidade, String uf) {
+        return (uf == null ? "" : uf.toUpperCase(Locale.ROOT)) + "|" + cidade.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static WeatherResponse converter(OpenWeatherResponse resposta) {
+        OpenWeatherResponse.Weather condicao = resposta.weather() == null || resposta.weather().isEmpty()
+                ? null : resposta.weather().get(0);
+        return new WeatherResponse(null, null, resposta.name(),
+                resposta.coord().lat(), resposta.coord().lon(),
+                resposta.main().temp(), resposta.main().feelsLike(), resposta.main().humidity(),
+                condicao == null ? null : condicao.description(),
+                resposta.wind() == null ? null : resposta.wind().speed(),
+                resposta.dt());
+    }
+}
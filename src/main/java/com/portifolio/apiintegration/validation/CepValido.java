@@ -0,0 +1,28 @@
+package com.portifolio.apiintegration.validation;
+
+import com.portifolio.apiintegration.domain.Cep;
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Valida o formato do CEP com a mesma leitura de {@link Cep}, sem regex.
+ * Valores nulos ou vazios são aceitos; use @NotBlank para torná-los obrigatórios.
+ */
+@Documented
+@Constraint(validatedBy = CepValidoValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CepValido {
+
+    String message() default Cep.MENSAGEM_FORMATO;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
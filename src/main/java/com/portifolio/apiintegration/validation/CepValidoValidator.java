@@ -0,0 +1,13 @@
+package com.portifolio.apiintegration.validation;
+
+import com.portifolio.apiintegration.domain.Cep;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class CepValidoValidator implements ConstraintValidator<CepValido, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence valor, ConstraintValidatorContext context) {
+        return valor == null || valor.isEmpty() || Cep.isValido(valor);
+    }
+}
@@ -0,0 +1,119 @@
+package com.portifolio.apiintegration.cache;
+
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressDiskStoreTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void gravar_DevePersistirEntreReinicios() throws Exception {
+        String arquivo = diretorio.resolve("addresses.db").toString();
+
+        AddressDiskStore store = novoStore(arquivo);
+        store.abrir();
+        store.gravar(1310100, new AddressResponse("01310-100", "Avenida Paulista", null,
+                "Bela Vista", "São Paulo", "São Paulo", "SP", "11"));
+        store.fechar();
+
+        AddressDiskStore reaberto = novoStore(arquivo);
+        reaberto.abrir();
+        try {
+            AddressDiskStore.Registro registro = reaberto.buscar(1310100);
+
+            assertNotNull(registro);
+            assertTrue(reaberto.isFresco(registro));
+            assertEquals("Avenida Paulista", registro.endereco().getLogradouro());
+            assertEquals("São Paulo", registro.endereco().getCidade());
+            assertNull(registro.endereco().getComplemento());
+            assertEquals(1, reaberto.getQuantidade());
+            assertNull(reaberto.buscar(20040020));
+        } finally {
+            reaberto.fechar();
+        }
+    }
+
+    @Test
+    void gravar_MesmoCep_DeveSubstituirRegistro() throws Exception {
+        AddressDiskStore store = novoStore(diretorio.resolve("addresses.db").toString());
+        store.abrir();
+        try {
+            store.gravar(20040020, new AddressResponse("20040-020", "Rua Antiga", null,
+                    "Centro", "Rio de Janeiro", "Rio de Janeiro", "RJ", "21"));
+            store.gravar(20040020, new AddressResponse("20040-020", "Praça Pio X", null,
+                    "Centro", "Rio de Janeiro", "Rio de Janeiro", "RJ", "21"));
+
+            assertEquals("Praça Pio X", store.buscar(20040020).endereco().getLogradouro());
+            assertEquals(1, store.getQuantidade());
+        } finally {
+            store.fechar();
+        }
+    }
+
+    @Test
+    void gravar_RenovacoesAteEncherArquivo_DeveCompactarESeguirGravando() throws Exception {
+        String arquivo = diretorio.resolve("addresses.db").toString();
+        AddressDiskStore store = novoStore(arquivo);
+        store.abrir();
+        store.gravar(20040020, new AddressResponse("20040-020", "Praça Pio X", null,
+                "Centro", "Rio de Janeiro", "Rio de Janeiro", "RJ", "21"));
+
+        // ~100 bytes por registro: 2000 renovações passam várias vezes dos 64KB da área de dados;
+        // a que encontra o arquivo cheio é descartada e dispara a compactação
+        for (int i = 0; i < 2000; i++) {
+            store.gravar(1310100, new AddressResponse("01310-100", "Avenida Paulista " + i, null,
+                    "Bela Vista", "São Paulo", "São Paulo", "SP", "11"));
+        }
+        store.gravar(1310100, new AddressResponse("01310-100", "Avenida Paulista 1999", null,
+                "Bela Vista", "São Paulo", "São Paulo", "SP", "11"));
+
+        assertEquals("Avenida Paulista 1999", store.buscar(1310100).endereco().getLogradouro());
+        assertEquals("Praça Pio X", store.buscar(20040020).endereco().getLogradouro());
+        assertEquals(2, store.getQuantidade());
+        store.fechar();
+
+        AddressDiskStore reaberto = novoStore(arquivo);
+        reaberto.abrir();
+        try {
+            assertEquals("Avenida Paulista 1999", reaberto.buscar(1310100).endereco().getLogradouro());
+            assertEquals("Praça Pio X", reaberto.buscar(20040020).endereco().getLogradouro());
+            assertEquals(2, reaberto.getQuantidade());
+        } finally {
+            reaberto.fechar();
+        }
+    }
+
+    @Test
+    void gravar_TabelaAcimaDaOcupacaoMaxima_DeveReconstruirIndiceEAceitarNovosCeps() throws Exception {
+        AddressDiskStore store = novoStore(diretorio.resolve("addresses.db").toString());
+        store.abrir();
+        try {
+            // 1024 slots aceitam 768 CEPs; os excedentes disparam a reconstrução do índice
+            for (int cep = 1; cep <= 1000; cep++) {
+                store.gravar(cep, new AddressResponse(String.format("%08d", cep), "Rua " + cep, null,
+                        "Centro", "São Paulo", "São Paulo", "SP", "11"));
+            }
+            store.gravar(20040020, new AddressResponse("20040-020", "Praça Pio X", null,
+                    "Centro", "Rio de Janeiro", "Rio de Janeiro", "RJ", "21"));
+
+            assertEquals("Praça Pio X", store.buscar(20040020).endereco().getLogradouro());
+            assertEquals("Rua 1000", store.buscar(1000).endereco().getLogradouro());
+            assertTrue(store.getQuantidade() <= 768, "quantidade: " + store.getQuantidade());
+        } finally {
+            store.fechar();
+        }
+    }
+
+    // Compactação na própria thread, para o teste não depender de tempo
+    private static AddressDiskStore novoStore(String arquivo) {
+        return new AddressDiskStore(true, arquivo, 1024, 64 * 1024, Duration.ofDays(30), Runnable::run);
+    }
+}
@@ -0,0 +1,73 @@
+package com.portifolio.apiintegration.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void executar_ChamadasConcorrentes_DeveExecutarUmaUnicaVez() throws Exception {
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>("teste");
+        AtomicInteger chamadas = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                resultados.add(executor.submit(() -> singleFlight.executar(1310100, () -> {
+                    chamadas.incrementAndGet();
+                    aguardar(liberar);
+                    return "Avenida Paulista";
+                })));
+            }
+
+            // Garante que todas as threads entraram antes de liberar a chamada
+            while (singleFlight.getCoalescidas() < 7) {
+                Thread.onSpinWait();
+            }
+            liberar.countDown();
+
+            for (Future<String> resultado : resultados) {
+                assertEquals("Avenida Paulista", resultado.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, chamadas.get());
+            assertEquals(1, singleFlight.getExecucoes());
+            assertEquals(7, singleFlight.getCoalescidas());
+            assertEquals(0, singleFlight.getEmAndamento());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void executar_Falha_DevePropagarExcecao() {
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>("teste");
+
+        IllegalStateException erro = assertThrows(IllegalStateException.class,
+                () -> singleFlight.executar(1, () -> {
+                    throw new IllegalStateException("falha");
+                }));
+
+        assertEquals("falha", erro.getMessage());
+        assertEquals(0, singleFlight.getEmAndamento());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
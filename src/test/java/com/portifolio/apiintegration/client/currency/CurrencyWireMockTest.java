@@ -0,0 +1,98 @@
+package com.portifolio.apiintegration.client.currency;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.portifolio.apiintegration.domain.ExchangeRateTable;
+import com.portifolio.apiintegration.service.CurrencyService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Atualização das cotações contra um stub da ExchangeRate-API.
+ */
+@SpringBootTest
+class CurrencyWireMockTest {
+
+    private static final WireMockServer exchangeRate = iniciar();
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registry) {
+        registry.add("external-apis.currency.enabled", () -> "true");
+        registry.add("external-apis.currency.base-url", () -> exchangeRate.baseUrl() + "/v4/latest");
+        registry.add("external-apis.currency.bases", () -> "USD,BRL");
+        registry.add("address.disk-cache.enabled", () -> "false");
+    }
+
+    @BeforeEach
+    void setUp() {
+        exchangeRate.resetAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        exchangeRate.stop();
+    }
+
+    @Test
+    void conversoes_DevemUsarATabelaSemConsultarAApi() {
+        stubCotacoes("USD", "{\"USD\":1,\"BRL\":5.0,\"EUR\":0.92}");
+        stubCotacoes("BRL", "{\"BRL\":1,\"USD\":0.2,\"EUR\":0.184}");
+
+        currencyService.atualizar();
+        int chamadas = exchangeRate.getAllServeEvents().size();
+
+        assertEquals(50.0, currencyService.converter("USD", "BRL", 10), 1e-9);
+        assertEquals(0.184, currencyService.converter("BRL", "EUR", 1), 1e-9);
+        assertArrayEquals(new double[]{5.0, 12.5, 0.0},
+                currencyService.converter("USD", "BRL", new double[]{1, 2.5, 0}), 1e-9);
+
+        ExchangeRateTable tabela = currencyService.getTabela();
+        int usd = tabela.indice("USD");
+        int brl = tabela.indice("BRL");
+        for (int i = 0; i < 10_000; i++) {
+            tabela.converter(usd, brl, i);
+        }
+        assertEquals(chamadas, exchangeRate.getAllServeEvents().size());
+    }
+
+    @Test
+    void falhaNaAtualizacao_DeveManterCotacoesAnteriores() {
+        stubCotacoes("USD", "{\"USD\":1,\"BRL\":5.0,\"EUR\":0.92}");
+        stubCotacoes("BRL", "{\"BRL\":1,\"USD\":0.2,\"EUR\":0.184}");
+        currencyService.atualizar();
+
+        exchangeRate.resetAll();
+        exchangeRate.stubFor(get(urlPathMatching("/v4/latest/.*")).willReturn(aResponse().withStatus(500)));
+        currencyService.atualizar();
+
+        assertEquals(50.0, currencyService.converter("USD", "BRL", 10), 1e-9);
+    }
+
+    private static void stubCotacoes(String base, String rates) {
+        exchangeRate.stubFor(get(urlPathEqualTo("/v4/latest/" + base)).willReturn(okJson("""
+                {"provider":"https://www.exchangerate-api.com","base":"%s","date":"2026-10-18",
+                 "time_last_updated":1760745601,"rates":%s}
+                """.formatted(base, rates))));
+    }
+
+    private static WireMockServer iniciar() {
+        WireMockServer servidor = new WireMockServer(options().dynamicPort());
+        servidor.start();
+        return servidor;
+    }
+}
@@ -0,0 +1,73 @@
+package com.portifolio.apiintegration.client.viacep;
+
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViaCepParserTest {
+
+    @Test
+    void deveLerARespostaDiretoParaOEndereco() throws Exception {
+        AddressResponse endereco = ler("""
+                {
+                  "cep": "01310-100",
+                  "logradouro": "Avenida Paulista",
+                  "complemento": "de 612 a 1510 - lado par",
+                  "unidade": "",
+                  "bairro": "Bela Vista",
+                  "localidade": "São Paulo",
+                  "uf": "SP",
+                  "estado": "São Paulo",
+                  "regiao": "Sudeste",
+                  "ibge": "3550308",
+                  "gia": "1004",
+                  "ddd": "11",
+                  "siafi": "7107",
+                  "extra": {"lista": [1, 2, {"a": null}]}
+                }
+                """);
+
+        assertEquals("01310-100", endereco.getCep());
+        assertEquals("Avenida Paulista", endereco.getLogradouro());
+        assertEquals("de 612 a 1510 - lado par", endereco.getComplemento());
+        assertEquals("Bela Vista", endereco.getBairro());
+        assertEquals("São Paulo", endereco.getCidade());
+        assertEquals("São Paulo", endereco.getEstado());
+        assertEquals("SP", endereco.getUf());
+        assertEquals("11", endereco.getDdd());
+    }
+
+    @Test
+    void camposNulos_DevemFicarAusentes() throws Exception {
+        AddressResponse endereco = ler("""
+                {"cep": "70040-010", "logradouro": null, "bairro": null, "localidade": "Brasília", "uf": "DF"}
+                """);
+
+        assertEquals("70040-010", endereco.getCep());
+        assertNull(endereco.getLogradouro());
+        assertNull(endereco.getBairro());
+        assertNull(endereco.getDdd());
+    }
+
+    @Test
+    void respostaDeErro_DeveRetornarNulo() throws Exception {
+        assertNull(ler("{\"erro\": true}"));
+        assertNull(ler("{\"erro\": \"true\"}"));
+    }
+
+    @Test
+    void corpoInvalido_DeveLancarIOException() {
+        assertThrows(IOException.class, () -> ler(""));
+        assertThrows(IOException.class, () -> ler("[]"));
+        assertThrows(IOException.class, () -> ler("{\"cep\": \"01310-100\""));
+    }
+
+    private static AddressResponse ler(String corpo) throws IOException {
+        return ViaCepParser.ler(new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,146 @@
+package com.portifolio.apiintegration.client.weather;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.WeatherResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.service.WeatherService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clima por CEP contra stubs do ViaCEP e do OpenWeatherMap.
+ */
+@SpringBootTest
+class WeatherWireMockTest {
+
+    private static final WireMockServer viaCep = iniciar();
+    private static final WireMockServer openWeather = iniciar();
+
+    @Autowired
+    private WeatherService weatherService;
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registry) {
+        registry.add("external-apis.viacep.base-url", () -> viaCep.baseUrl() + "/ws");
+        registry.add("external-apis.viacep.retry.enabled", () -> "false");
+        registry.add("external-apis.brasilapi.enabled", () -> "false");
+        registry.add("external-apis.weather.enabled", () -> "true");
+        registry.add("external-apis.weather.base-url", () -> openWeather.baseUrl() + "/data/2.5");
+        registry.add("external-apis.weather.api-key", () -> "chave-teste");
+        registry.add("address.disk-cache.enabled", () -> "false");
+    }
+
+    @BeforeEach
+    void setUp() {
+        viaCep.resetAll();
+        openWeather.resetAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        viaCep.stop();
+        openWeather.stop();
+    }
+
+    @Test
+    void cepsDoMesmoMunicipio_DevemCompartilharUmaConsulta() {
+        stubEndereco("01310100", "01310-100", "Avenida Paulista", "São Paulo");
+        stubEndereco("04538133", "04538-133", "Avenida Brigadeiro Faria Lima", "São Paulo");
+        openWeather.stubFor(get(urlPathEqualTo("/data/2.5/weather"))
+                .withQueryParam("q", equalTo("São Paulo,BR"))
+                .withQueryParam("appid", equalTo("chave-teste"))
+                .withQueryParam("units", equalTo("metric"))
+                .willReturn(okJson(clima("São Paulo", -23.5475, -46.6361, 22.4))));
+
+        WeatherResponse paulista = weatherService.buscarClimaPorCep(Cep.of("01310-100"));
+        WeatherResponse fariaLima = weatherService.buscarClimaPorCep(Cep.of("04538-133"));
+
+        assertEquals("São Paulo", paulista.getCidade());
+        assertEquals("SP", paulista.getUf());
+        assertEquals(22.4, paulista.getTemperatura());
+        assertEquals(21.9, paulista.getSensacaoTermica());
+        assertEquals(64, paulista.getUmidade());
+        assertEquals("nublado", paulista.getDescricao());
+        assertEquals(3.6, paulista.getVento());
+        assertEquals(22.4, fariaLima.getTemperatura());
+        openWeather.verify(1, getRequestedFor(urlPathEqualTo("/data/2.5/weather")));
+    }
+
+    @Test
+    void consultasSimultaneas_DevemVirarUmaChamada() throws Exception {
+        stubEndereco("13015904", "13015-904", "Rua Barão de Jaguara", "Campinas");
+        openWeather.stubFor(get(urlPathEqualTo("/data/2.5/weather"))
+                .withQueryParam("q", equalTo("Campinas,BR"))
+                .willReturn(okJson(clima("Campinas", -22.9056, -47.0608, 24.1)).withFixedDelay(300)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<WeatherResponse>> consultas = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                consultas.add(executor.submit(() -> weatherService.buscarClimaPorCep(Cep.of("13015-904"))));
+            }
+            for (Future<WeatherResponse> consulta : consultas) {
+                assertEquals(24.1, consulta.get().getTemperatura());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        openWeather.verify(1, getRequestedFor(urlPathEqualTo("/data/2.5/weather")));
+    }
+
+    @Test
+    void cidadeDesconhecida_DeveLancarErroDeIntegracao() {
+        stubEndereco("69945000", "69945-000", "", "Cidade Inexistente");
+        openWeather.stubFor(get(urlPathEqualTo("/data/2.5/weather")).willReturn(aResponse()
+                .withStatus(404)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"cod\":\"404\",\"message\":\"city not found\"}")));
+
+        ApiIntegrationException erro = assertThrows(ApiIntegrationException.class,
+                () -> weatherService.buscarClimaPorCep(Cep.of("69945-000")));
+        assertTrue(erro.getMessage().contains("Local não encontrado"));
+    }
+
+    private static void stubEndereco(String digitos, String cep, String logradouro, String cidade) {
+        viaCep.stubFor(get(urlPathEqualTo("/ws/" + digitos + "/json/")).willReturn(okJson("""
+                {"cep":"%s","logradouro":"%s","complemento":"","bairro":"Centro",
+                 "localidade":"%s","uf":"SP","ddd":"11"}
+                """.formatted(cep, logradouro, cidade))));
+    }
+
+    private static String clima(String nome, double latitude, double longitude, double temperatura) {
+        return """
+                {"coord":{"lon":%s,"lat":%s},
+                 "weather":[{"id":804,"main":"Clouds","description":"nublado","icon":"04d"}],
+                 "main":{"temp":%s,"feels_like":%s,"temp_min":20.0,"temp_max":24.0,"pressure":1015,"humidity":64},
+                 "wind":{"speed":3.6,"deg":140},"dt":1760781600,"name":"%s","cod":200}
+                """.formatted(longitude, latitude, temperatura, temperatura - 0.5, nome);
+    }
+
+    private static WireMockServer iniciar() {
+        WireMockServer servidor = new WireMockServer(options().dynamicPort());
+        servidor.start();
+        return servidor;
+    }
+}
@@ -0,0 +1,57 @@
+package com.portifolio.apiintegration.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressResponseMessageConverterTest {
+
+    private final AddressResponseMessageConverter conversor = new AddressResponseMessageConverter();
+
+    @Test
+    void deveAtenderSoAddressResponseEmJson() {
+        assertTrue(conversor.canWrite(AddressResponse.class, MediaType.APPLICATION_JSON));
+        assertTrue(conversor.canWrite(AddressResponse.class, null));
+        assertFalse(conversor.canWrite(AddressResponse.class, MediaType.APPLICATION_XML));
+        assertFalse(conversor.canWrite(AddressResponse.class, MediaType.TEXT_PLAIN));
+        assertFalse(conversor.canWrite(Map.class, MediaType.APPLICATION_JSON));
+        assertFalse(conversor.canWrite(String.class, MediaType.APPLICATION_JSON));
+        assertFalse(conversor.canRead(AddressResponse.class, MediaType.APPLICATION_JSON));
+        assertTrue(conversor.getSupportedMediaTypes(String.class).isEmpty());
+    }
+
+    @Test
+    void deveEscreverOMesmoJsonDoObjectMapper() throws Exception {
+        AddressResponse endereco = new AddressResponse("01310-100", "Avenida Paulista", null,
+                "Bela Vista", "São Paulo", "São Paulo", "SP", "11");
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+
+        conversor.write(endereco, MediaType.APPLICATION_JSON, saida);
+
+        assertEquals(MediaType.APPLICATION_JSON, saida.getHeaders().getContentType());
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(endereco), saida.getBodyAsBytes());
+    }
+
+    @Test
+    void webConfig_DeveRegistrarLogoAntesDoJackson() {
+        List<HttpMessageConverter<?>> conversores = new ArrayList<>(List.of(
+                new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter()));
+
+        new WebConfig().extendMessageConverters(conversores);
+
+        assertInstanceOf(StringHttpMessageConverter.class, conversores.get(0));
+        assertInstanceOf(AddressResponseMessageConverter.class, conversores.get(1));
+        assertInstanceOf(MappingJackson2HttpMessageConverter.class, conversores.get(2));
+    }
+}
@@ -0,0 +1,29 @@
+package com.portifolio.apiintegration.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    @Test
+    void especificacao_SemPolitica_DeveManterSpecDoProfile() {
+        String spec = CacheConfig.especificacao("maximumSize=5000,expireAfterWrite=600s", null);
+
+        assertEquals("maximumSize=5000,expireAfterWrite=600s", spec);
+    }
+
+    @Test
+    void especificacao_ComPolitica_DeveSobreporCamposInformados() {
+        CachePolicyProperties.Policy politica = new CachePolicyProperties.Policy();
+        politica.setMaximumWeight(64L * 1024 * 1024);
+        politica.setRefreshAfterWrite(Duration.ofMinutes(5));
+        politica.setStaleIfError(Duration.ofHours(1));
+
+        String spec = CacheConfig.especificacao("maximumSize=5000,expireAfterWrite=600s", politica);
+
+        assertEquals("expireAfterWrite=3900s,maximumWeight=67108864,refreshAfterWrite=300s,recordStats", spec);
+    }
+}
@@ -0,0 +1,38 @@
+package com.portifolio.apiintegration.config;
+
+import com.portifolio.apiintegration.metrics.VirtualThreadMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Com {@code spring.threads.virtual.enabled=true} os executores da aplicação e o Tomcat
+ * precisam trocar os pools de plataforma por virtual threads.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class ExecutorConfigTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void threadsVirtuais_DevemSerUsadasPelosExecutoresEPeloTomcat() throws Exception {
+        for (String nome : List.of("batchExecutor", "cacheRefreshExecutor", "hedgeExecutor", "enrichmentExecutor")) {
+            AsyncTaskExecutor executor = context.getBean(nome, AsyncTaskExecutor.class);
+
+            assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS), nome);
+        }
+
+        assertEquals(1, context.getBeansOfType(TomcatVirtualThreadsWebServerFactoryCustomizer.class).size());
+        assertEquals(1, context.getBeansOfType(VirtualThreadMetrics.class).size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.portifolio.apiintegration.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.function.Resolver;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestTemplateConfigTest {
+
+    private final RestTemplateConfig config = new RestTemplateConfig();
+
+    @Test
+    void restTemplate_DeveUsarOPoolEOsTimeoutsConfigurados() throws Exception {
+        RestTemplateProperties properties = new RestTemplateProperties();
+        properties.setConnectionTimeout(Duration.ofMillis(1500));
+        properties.setReadTimeout(Duration.ofMillis(2500));
+        properties.setConnectionRequestTimeout(Duration.ofMillis(750));
+        properties.setMaxConnectionsPerRoute(7);
+        properties.setMaxConnectionsTotal(42);
+        properties.setTimeToLive(Duration.ofMinutes(3));
+
+        PoolingHttpClientConnectionManager pool = config.connectionManager(properties);
+        try (CloseableHttpClient httpClient = config.httpClient(pool, properties)) {
+            RestTemplate restTemplate = config.restTemplate(httpClient);
+
+            HttpComponentsClientHttpRequestFactory fabrica = assertInstanceOf(
+                    HttpComponentsClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+            assertSame(httpClient, fabrica.getHttpClient());
+            assertSame(pool, ReflectionTestUtils.getField(httpClient, "connManager"));
+
+            assertEquals(42, pool.getMaxTotal());
+            assertEquals(7, pool.getDefaultMaxPerRoute());
+
+            @SuppressWarnings("unchecked")
+            Resolver<Object, ConnectionConfig> resolver =
+                    (Resolver<Object, ConnectionConfig>) ReflectionTestUtils.getField(pool, "connectionConfigResolver");
+            ConnectionConfig conexao = resolver.resolve(null);
+            assertEquals(Timeout.ofMilliseconds(1500), conexao.getConnectTimeout());
+            assertEquals(Timeout.ofMilliseconds(2500), conexao.getSocketTimeout());
+            assertEquals(TimeValue.ofMinutes(3).toMilliseconds(), conexao.getTimeToLive().toMilliseconds());
+
+            RequestConfig requisicao = ((Configurable) httpClient).getConfig();
+            assertEquals(Timeout.ofMilliseconds(750), requisicao.getConnectionRequestTimeout());
+            assertEquals(Timeout.ofMilliseconds(2500), requisicao.getResponseTimeout());
+        }
+    }
+}
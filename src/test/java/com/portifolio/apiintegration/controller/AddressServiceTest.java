@@ -1,46 +1,82 @@
 package com.portifolio.apiintegration.controller;
 
-import com.portifolio.apiintegration.client.viacep.ViaCepClient;
-import com.portifolio.apiintegration.client.viacep.dto.ViaCepResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portifolio.apiintegration.cache.AddressDiskStore;
+import com.portifolio.apiintegration.cache.NotFoundCepCache;
+import com.portifolio.apiintegration.config.CachePolicyProperties;
+import com.portifolio.apiintegration.domain.Cep;
 import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import com.portifolio.apiintegration.metrics.AddressMetrics;
+import com.portifolio.apiintegration.metrics.AddressMetrics.Origem;
+import com.portifolio.apiintegration.provider.CepProviderRouter;
 import com.portifolio.apiintegration.service.AddressService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AddressServiceTest {
 
     @Mock
-    private ViaCepClient viaCepClient;
+    private CepProviderRouter cepProviderRouter;
+
+    @Mock
+    private NotFoundCepCache notFoundCepCache;
+
+    @Mock
+    private AddressDiskStore addressDiskStore;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private AddressMetrics addressMetrics;
+
+    @Spy
+    private CachePolicyProperties cachePolicyProperties = new CachePolicyProperties();
 
     @InjectMocks
     private AddressService addressService;
 
-    private ViaCepResponse viaCepResponse;
+    private AddressResponse endereco;
+
+    private final Cache<Object, Object> cache = Caffeine.newBuilder().build();
 
     @BeforeEach
     void setUp() {
-        viaCepResponse = new ViaCepResponse();
-        viaCepResponse.setCep("01310-100");
-        viaCepResponse.setLogradouro("Avenida Paulista");
-        viaCepResponse.setBairro("Bela Vista");
-        viaCepResponse.setLocalidade("São Paulo");
-        viaCepResponse.setUf("SP");
-        viaCepResponse.setDdd("11");
+        lenient().when(cacheManager.getCache("addresses")).thenReturn(new CaffeineCache("addresses", cache));
+
+        CachePolicyProperties.Policy politica = new CachePolicyProperties.Policy();
+        politica.setRefreshAfterWrite(Duration.ofMinutes(5));
+        politica.setStaleIfError(Duration.ofHours(1));
+        cachePolicyProperties.getPolicies().put("addresses", politica);
+
+        endereco = new AddressResponse("01310-100", "Avenida Paulista", null,
+                "Bela Vista", "São Paulo", "São Paulo", "SP", "11");
     }
 
     @Test
     void buscarEnderecoPorCep_DeveRetornarEnderecoValido() {
         // Given
         String cep = "01310100";
-        when(viaCepClient.consultarCep(cep)).thenReturn(viaCepResponse);
+        when(cepProviderRouter.consultar(Cep.of(cep))).thenReturn(endereco);
 
         // When
         AddressResponse result = addressService.buscarEnderecoPorCep(cep);
@@ -54,6 +90,73 @@ class AddressServiceTest {
         assertEquals("SP", result.getUf());
         assertEquals("11", result.getDdd());
 
-        verify(viaCepClient, times(1)).consultarCep(cep);
+        verify(cepProviderRouter, times(1)).consultar(Cep.of(cep));
+    }
+
+    @Test
+    void buscarEnderecoPorCep_FormatosDiferentes_DevemCompartilharAEntradaDoCache() {
+        when(cepProviderRouter.consultar(Cep.of("01310100"))).thenReturn(endereco);
+
+        AddressResponse comTraco = addressService.buscarEnderecoPorCep("01310-100");
+        AddressResponse semTraco = addressService.buscarEnderecoPorCep("01310100");
+
+        assertSame(comTraco, semTraco);
+        // Uma única entrada, com a chave int do CEP, e a segunda consulta resolvida em memória
+        assertEquals(Map.of(1310100, endereco), cache.asMap());
+        verify(addressMetrics).registrarConsulta(eq(Origem.MEMORIA), anyLong());
+        verify(cepProviderRouter, times(1)).consultar(any());
+    }
+
+    @Test
+    void buscarEnderecoPorCep_CepNoCacheNegativo_NaoDeveConsultarApi() {
+        when(notFoundCepCache.contem(99999999)).thenReturn(true);
+
+        assertThrows(CepNotFoundException.class,
+                () -> addressService.buscarEnderecoPorCep("99999-999"));
+
+        verify(cepProviderRouter, never()).consultar(any());
+    }
+
+    @Test
+    void buscarEnderecoPorCep_CepInexistente_DeveRegistrarNoCacheNegativo() {
+        when(cepProviderRouter.consultar(Cep.of("99999999")))
+                .thenThrow(new CepNotFoundException("ViaCEP", "consultarCep", "CEP não encontrado: 99999999"));
+
+        assertThrows(CepNotFoundException.class,
+                () -> addressService.buscarEnderecoPorCep("99999999"));
+
+        verify(notFoundCepCache).registrar(99999999);
+    }
+
+    @Test
+    void buscarEnderecoPorCep_CepNaBaseLocal_NaoDeveConsultarApi() {
+        AddressResponse local = new AddressResponse("01310-100", "Avenida Paulista", null,
+                "Bela Vista", "São Paulo", "São Paulo", "SP", "11");
+        when(cepProviderRouter.buscarLocal(Cep.of("01310100"))).thenReturn(local);
+
+        assertSame(local, addressService.buscarEnderecoPorCep("01310-100"));
+
+        verify(cepProviderRouter, never()).consultar(any());
+    }
+
+    @Test
+    void buscarEnderecoPorCep_ProvedoresIndisponiveis_DeveServirRegistroAntigo() {
+        when(cepProviderRouter.consultar(Cep.of("01310100")))
+                .thenThrow(new ApiIntegrationException("ViaCEP", "consultarCep", "Erro na comunicação com a API"));
+        when(addressDiskStore.buscar(1310100)).thenReturn(
+                new AddressDiskStore.Registro(endereco, System.currentTimeMillis() - Duration.ofMinutes(30).toMillis()));
+
+        assertSame(endereco, addressService.buscarEnderecoPorCep("01310-100"));
+    }
+
+    @Test
+    void buscarEnderecoPorCep_RegistroAntigoForaDoStaleIfError_DevePropagarErro() {
+        when(cepProviderRouter.consultar(Cep.of("01310100")))
+                .thenThrow(new ApiIntegrationException("ViaCEP", "consultarCep", "Erro na comunicação com a API"));
+        // Gravado há 2h: passa dos 5min de refresh + 1h de stale-if-error
+        when(addressDiskStore.buscar(1310100)).thenReturn(
+                new AddressDiskStore.Registro(endereco, System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+
+        assertThrows(ApiIntegrationException.class, () -> addressService.buscarEnderecoPorCep("01310-100"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.portifolio.apiintegration.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CepDatasetLoaderTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final CepDatasetLoader loader = new CepDatasetLoader(new ObjectMapper());
+
+    @Test
+    void carregar_Csv_DeveIndexarCepsECompartilharTextos() throws Exception {
+        Path arquivo = diretorio.resolve("ceps.csv");
+        Files.writeString(arquivo, """
+                cep;logradouro;complemento;bairro;cidade;uf;ddd
+                20040-020;Praça Pio X;;Centro;Rio de Janeiro;RJ;21
+                01310-100;Avenida Paulista;"de 612 a 1510 - lado par";Bela Vista;São Paulo;SP;11
+                01310-200;Avenida Paulista;;Bela Vista;São Paulo;SP;11
+                invalido;Rua X;;Centro;Cidade;SP;11
+                """, StandardCharsets.UTF_8);
+
+        CepIndex index = loader.carregar(arquivo);
+        AddressResponse endereco = index.buscar(1310100);
+
+        assertEquals(3, index.tamanho());
+        assertEquals("01310-100", endereco.getCep());
+        assertEquals("Avenida Paulista", endereco.getLogradouro());
+        assertEquals("de 612 a 1510 - lado par", endereco.getComplemento());
+        assertEquals("São Paulo", endereco.getCidade());
+        assertEquals("SP", endereco.getUf());
+        assertEquals("11", endereco.getDdd());
+        assertSame(endereco.getLogradouro(), index.buscar(1310200).getLogradouro());
+        assertNull(index.buscar(99999999));
+        // Acertos repetidos reaproveitam o endereço montado
+        assertSame(endereco, index.buscar(1310100));
+    }
+
+    @Test
+    void carregar_Json_DeveLerNoFormatoViaCep() throws Exception {
+        Path arquivo = diretorio.resolve("ceps.json");
+        Files.writeString(arquivo, """
+                [
+                  {"cep": "01310-100", "logradouro": "Avenida Paulista", "bairro": "Bela Vista",
+                   "localidade": "São Paulo", "uf": "SP", "ddd": "11", "ibge": "3550308"}
+                ]
+                """, StandardCharsets.UTF_8);
+
+        CepIndex index = loader.carregar(arquivo);
+
+        assertEquals(1, index.tamanho());
+        assertEquals("Bela Vista", index.buscar(1310100).getBairro());
+        assertNull(index.buscar(1310100).getComplemento());
+    }
+}
@@ -0,0 +1,35 @@
+package com.portifolio.apiintegration.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CepTest {
+
+    @Test
+    void of_ComESemTraco_DeveGerarMesmoValor() {
+        Cep comTraco = Cep.of("01310-100");
+        Cep semTraco = Cep.of("01310100");
+
+        assertEquals(comTraco, semTraco);
+        assertEquals(1310100, comTraco.valor());
+        assertEquals("01310100", comTraco.digitos());
+        assertEquals("01310-100", comTraco.comTraco());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "123", "0131010", "013101000", "0131-0100", "01310_100", "abcdefgh", "01310-10a"})
+    void of_FormatoInvalido_DeveLancarExcecao(String cep) {
+        assertFalse(Cep.isValido(cep));
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> Cep.of(cep));
+        assertEquals(Cep.MENSAGEM_FORMATO, erro.getMessage());
+    }
+
+    @Test
+    void deChave_DevePreservarZerosAEsquerda() {
+        assertEquals("00001000", Cep.deChave(1000).digitos());
+        assertThrows(IllegalArgumentException.class, () -> Cep.deChave(100_000_000));
+    }
+}
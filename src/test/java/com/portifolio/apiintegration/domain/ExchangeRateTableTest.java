@@ -0,0 +1,72 @@
+package com.portifolio.apiintegration.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeRateTableTest {
+
+    private static final ExchangeRateTable TABELA = ExchangeRateTable.VAZIA
+            .comBase("USD", Map.of("USD", 1.0, "BRL", 5.0, "EUR", 0.9), 100)
+            .comBase("BRL", Map.of("BRL", 1.0, "USD", 0.2, "EUR", 0.18, "JPY", 30.0), 200);
+
+    @Test
+    void deveConverterPelaLinhaDaBase() {
+        int usd = TABELA.indice("USD");
+        int brl = TABELA.indice("BRL");
+
+        assertEquals(500.0, TABELA.converter(usd, brl, 100), 1e-9);
+        assertEquals(20.0, TABELA.converter(brl, usd, 100), 1e-9);
+        assertEquals(100, TABELA.atualizadoEm(usd));
+        assertEquals(200, TABELA.atualizadoEm(brl));
+    }
+
+    @Test
+    void moedaSemLinhaPropria_DeveUsarCotacaoCruzada() {
+        // EUR não é base: EUR -> BRL = USD->BRL / USD->EUR
+        assertEquals(5.0 / 0.9, TABELA.taxa(TABELA.indice("EUR"), TABELA.indice("BRL")), 1e-9);
+    }
+
+    @Test
+    void moedaSemCotacaoNoPivo_DeveLancarExcecao() {
+        // JPY só aparece na linha do BRL, e o pivô (USD) não a conhece
+        int jpy = TABELA.indice("JPY");
+        int eur = TABELA.indice("EUR");
+
+        assertEquals(30.0, TABELA.taxa(TABELA.indice("BRL"), jpy), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> TABELA.taxa(eur, jpy));
+    }
+
+    @Test
+    void indices_DevemSerEstaveisEntreAtualizacoes() {
+        int brl = TABELA.indice("BRL");
+        int jpy = TABELA.indice("JPY");
+
+        ExchangeRateTable nova = TABELA.comBase("USD", Map.of("USD", 1.0, "BRL", 5.5, "GBP", 0.8), 300);
+
+        assertEquals(brl, nova.indice("BRL"));
+        assertEquals(jpy, nova.indice("JPY"));
+        assertEquals(TABELA.getQuantidade() + 1, nova.getQuantidade());
+        assertEquals(5.5, nova.taxa(nova.indice("USD"), brl), 1e-9);
+        // A tabela anterior não muda
+        assertEquals(5.0, TABELA.taxa(TABELA.indice("USD"), brl), 1e-9);
+    }
+
+    @Test
+    void converterEmLote_DeveAplicarAMesmaTaxa() {
+        double[] valores = {1, 10, 2.5};
+        double[] destino = new double[3];
+
+        TABELA.converter(TABELA.indice("USD"), TABELA.indice("BRL"), valores, destino);
+
+        assertArrayEquals(new double[]{5, 50, 12.5}, destino, 1e-9);
+    }
+
+    @Test
+    void moedaDesconhecida_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> TABELA.indice("XYZ"));
+        assertTrue(ExchangeRateTable.VAZIA.isVazia());
+    }
+}
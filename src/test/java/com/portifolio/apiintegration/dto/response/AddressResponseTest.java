@@ -0,0 +1,80 @@
+package com.portifolio.apiintegration.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portifolio.apiintegration.domain.Uf;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressResponseTest {
+
+    @Test
+    void deveManterOsCamposComoTexto() {
+        AddressResponse endereco = new AddressResponse("01310100", "Avenida Paulista", "",
+                "Bela Vista", "São Paulo", "São Paulo", "sp", "11");
+
+        assertEquals("01310-100", endereco.getCep());
+        assertEquals("Avenida Paulista", endereco.getLogradouro());
+        assertEquals("", endereco.getComplemento());
+        assertEquals("Bela Vista", endereco.getBairro());
+        assertEquals("São Paulo", endereco.getCidade());
+        assertEquals("São Paulo", endereco.getEstado());
+        assertEquals("SP", endereco.getUf());
+        assertEquals("11", endereco.getDdd());
+    }
+
+    @Test
+    void textosRepetidos_DevemSerCompartilhados() {
+        // Instâncias distintas, como chegam de respostas diferentes do provedor
+        AddressResponse primeiro = new AddressResponse("01310-100", "Avenida Paulista", new String("lado par"),
+                new String("Bela Vista"), new String("São Paulo"), new String("São Paulo"), "SP", "11");
+        AddressResponse segundo = new AddressResponse("01310-200", "Avenida Paulista", new String("lado par"),
+                new String("Bela Vista"), new String("São Paulo"), new String("São Paulo"), "SP", "11");
+
+        assertSame(primeiro.getCidade(), segundo.getCidade());
+        assertSame(primeiro.getCidade(), primeiro.getEstado());
+        assertSame(primeiro.getBairro(), segundo.getBairro());
+        assertSame(primeiro.getComplemento(), segundo.getComplemento());
+        assertSame(primeiro.getDdd(), segundo.getDdd());
+    }
+
+    @Test
+    void ufEDddDesconhecidos_DevemManterOTextoRecebido() {
+        AddressResponse endereco = new AddressResponse("01310-100", "Avenida Paulista", null,
+                "Bela Vista", "São Paulo", "São Paulo", "XX", "1a");
+        AddressResponse semUfEDdd = new AddressResponse("01310-100", "Avenida Paulista", null,
+                "Bela Vista", "São Paulo", "São Paulo", null, null);
+
+        assertEquals("XX", endereco.getUf());
+        assertEquals("1a", endereco.getDdd());
+        assertNull(endereco.getComplemento());
+        assertNull(semUfEDdd.getUf());
+        assertNull(semUfEDdd.getDdd());
+        assertNull(Uf.buscar(" "));
+        assertEquals(Uf.TO, Uf.buscar(" to "));
+    }
+
+    @Test
+    void json_DeveManterOsCamposEAOrdem() throws Exception {
+        AddressResponse endereco = new AddressResponse(1310100, "Avenida Paulista", null,
+                "Bela Vista", "São Paulo", "São Paulo", Uf.SP, (short) 11);
+
+        assertEquals("{\"cep\":\"01310-100\",\"logradouro\":\"Avenida Paulista\",\"complemento\":null,"
+                        + "\"bairro\":\"Bela Vista\",\"cidade\":\"São Paulo\",\"estado\":\"São Paulo\","
+                        + "\"uf\":\"SP\",\"ddd\":\"11\"}",
+                new ObjectMapper().writeValueAsString(endereco));
+    }
+
+    @Test
+    void escreverJson_DeveSerIgualAoDoObjectMapper() throws Exception {
+        AddressResponse endereco = new AddressResponse("01310-100", "Avenida \"Paulista\"", null,
+                "Bela Vista", "São Paulo", "São Paulo", "SP", null);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        endereco.escreverJson(saida);
+
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(endereco), saida.toByteArray());
+    }
+}
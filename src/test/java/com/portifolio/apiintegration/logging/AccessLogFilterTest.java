@@ -0,0 +1,76 @@
+package com.portifolio.apiintegration.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private final AccessLogFilter filter = new AccessLogFilter();
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger("com.portifolio.apiintegration.access");
+    private final ListAppender<ILoggingEvent> eventos = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "taxaAmostragem", 1.0);
+        ReflectionTestUtils.setField(filter, "limiteLento", Duration.ofSeconds(1));
+        eventos.start();
+        accessLogger.addAppender(eventos);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(eventos);
+    }
+
+    @Test
+    void deveRegistrarUmaLinhaComStatusLatenciaECache() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/address/cep/01310100");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> AccessLogFilter.registrarCache("memory"));
+
+        assertEquals(1, eventos.list.size());
+        String linha = eventos.list.get(0).getFormattedMessage();
+        assertTrue(linha.startsWith("method=GET path=/api/v1/address/cep/01310100 status=200 latency_ms="), linha);
+        assertTrue(linha.endsWith("cache=memory"), linha);
+    }
+
+    @Test
+    void deveAmostrarSucessosMasRegistrarErros() throws Exception {
+        ReflectionTestUtils.setField(filter, "taxaAmostragem", 0.0);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/address/cep/01310100"),
+                new MockHttpServletResponse(), new MockFilterChain());
+        assertTrue(eventos.list.isEmpty());
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/address/cep/123"), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(400));
+        assertEquals(1, eventos.list.size());
+        assertTrue(eventos.list.get(0).getFormattedMessage().contains("status=400 "));
+        assertTrue(eventos.list.get(0).getFormattedMessage().endsWith("cache=-"));
+    }
+
+    @Test
+    void deveIgnorarCacheForaDeUmaRequisicao() {
+        // Threads do lote não têm requisição associada
+        AccessLogFilter.registrarCache("upstream");
+
+        assertDoesNotThrow(() -> filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/address/health"),
+                new MockHttpServletResponse(), new MockFilterChain()));
+        assertTrue(eventos.list.get(0).getFormattedMessage().endsWith("cache=-"));
+    }
+}
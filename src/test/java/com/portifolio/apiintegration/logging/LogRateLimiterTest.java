@@ -0,0 +1,29 @@
+package com.portifolio.apiintegration.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRateLimiterTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    @Test
+    void deveDescartarExcedenteDaJanelaEInformarNaProximaEscrita() {
+        LogRateLimiter limitador = new LogRateLimiter(2, Duration.ofSeconds(10), relogio::get);
+
+        assertEquals(0, limitador.permitir());
+        assertEquals(0, limitador.permitir());
+        assertEquals(-1, limitador.permitir());
+        assertEquals(-1, limitador.permitir());
+
+        // Nova janela: a primeira mensagem escrita carrega a contagem das descartadas
+        relogio.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(2, limitador.permitir());
+        assertEquals(0, limitador.permitir());
+        assertEquals(-1, limitador.permitir());
+    }
+}
@@ -0,0 +1,49 @@
+package com.portifolio.apiintegration.metrics;
+
+import com.portifolio.apiintegration.metrics.AddressMetrics.ModoLote;
+import com.portifolio.apiintegration.metrics.AddressMetrics.Origem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AddressMetrics metrics = new AddressMetrics(registry);
+
+    @Test
+    void deveSepararConsultasPorOrigem() {
+        long inicio = System.nanoTime();
+        metrics.registrarConsulta(Origem.MEMORIA, inicio);
+        metrics.registrarConsulta(Origem.MEMORIA, inicio);
+        metrics.registrarConsulta(Origem.UPSTREAM, inicio);
+
+        assertEquals(2, registry.get("address.lookup").tag("source", "memory").timer().count());
+        assertEquals(1, registry.get("address.lookup").tag("source", "upstream").timer().count());
+        assertEquals(0, registry.get("address.lookup").tag("source", "disk").timer().count());
+    }
+
+    @Test
+    void deveRegistrarTamanhoEDuracaoDoLote() {
+        long inicio = System.nanoTime();
+        metrics.loteIniciado();
+        assertEquals(1, registry.get("address.batch.active").gauge().value());
+
+        metrics.loteConcluido(ModoLote.LISTA, 25, inicio);
+
+        assertEquals(0, registry.get("address.batch.active").gauge().value());
+        assertEquals(25, registry.get("address.batch.size").tag("mode", "list").summary().totalAmount());
+        assertEquals(1, registry.get("address.batch.duration").tag("mode", "list").timer().count());
+    }
+
+    @Test
+    void deveContarRejeicoesPorOrigem() {
+        metrics.registrarRejeicao("path");
+        metrics.registrarRejeicao("batch");
+        metrics.registrarRejeicao("batch");
+
+        assertEquals(1, registry.get("address.validation.rejected").tag("source", "path").counter().count());
+        assertEquals(2, registry.get("address.validation.rejected").tag("source", "batch").counter().count());
+    }
+}
@@ -0,0 +1,40 @@
+package com.portifolio.apiintegration.metrics;
+
+import com.portifolio.apiintegration.metrics.AddressMetrics.Origem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * As métricas de consulta precisam sair no formato do Prometheus em /actuator/prometheus.
+ */
+@SpringBootTest(properties = "address.disk-cache.enabled=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AddressMetrics addressMetrics;
+
+    @Test
+    void prometheus_DeveExporSeriesDeConsulta() throws Exception {
+        addressMetrics.registrarConsulta(Origem.MEMORIA, System.nanoTime());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("address_lookup_seconds_count{")))
+                .andExpect(content().string(containsString("source=\"memory\"")))
+                .andExpect(content().string(containsString("jvm_memory_used_bytes")));
+    }
+}
@@ -0,0 +1,209 @@
+package com.portifolio.apiintegration.provider;
+
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CepProviderRouterTest {
+
+    private static final Cep PAULISTA = Cep.of("01310-100");
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deveSeguirOrdemConfiguradaSemMedicoes() {
+        ProvedorFalso viaCep = new ProvedorFalso("viacep", Duration.ZERO);
+        ProvedorFalso brasilApi = new ProvedorFalso("brasilapi", Duration.ZERO);
+        CepProviderRouter router = criar(false, brasilApi, viaCep);
+
+        assertEquals("viacep", router.consultar(PAULISTA).getLogradouro());
+        assertEquals(0, brasilApi.chamadas.get());
+    }
+
+    @Test
+    void deveTrocarDeProvedorQuandoOEscolhidoFalha() {
+        ProvedorFalso viaCep = new ProvedorFalso("viacep", Duration.ZERO);
+        viaCep.falhar = true;
+        ProvedorFalso brasilApi = new ProvedorFalso("brasilapi", Duration.ZERO);
+        CepProviderRouter router = criar(false, viaCep, brasilApi);
+
+        assertEquals("brasilapi", router.consultar(PAULISTA).getLogradouro());
+        assertEquals(1, viaCep.chamadas.get());
+        // Com a falha registrada, o provedor que respondeu passa à frente
+        assertEquals(List.of("brasilapi", "viacep"), router.getOrdemAtual());
+    }
+
+    @Test
+    void devePreferirProvedorMaisRapido() {
+        ProvedorFalso viaCep = new ProvedorFalso("viacep", Duration.ofMillis(40));
+        ProvedorFalso brasilApi = new ProvedorFalso("brasilapi", Duration.ZERO);
+        CepProviderRouter router = criar(false, viaCep, brasilApi);
+
+        router.consultar(PAULISTA);
+        viaCep.falhar = true;
+        router.consultar(PAULISTA);
+        viaCep.falhar = false;
+
+        // Mesmo com o erro do viacep decaindo, a latência menor mantém a brasilapi na frente
+        for (int i = 0; i < 5; i++) {
+            assertEquals("brasilapi", router.consultar(PAULISTA).getLogradouro());
+        }
+        assertEquals(List.of("brasilapi", "viacep"), router.getOrdemAtual());
+    }
+
+    @Test
+    void exploracao_DeveMedirProvedorSemAmostras() {
+        ProvedorFalso viaCep = new ProvedorFalso("viacep", Duration.ZERO);
+        ProvedorFalso brasilApi = new ProvedorFalso("brasilapi", Duration.ZERO);
+        CepProviderRouter router = criar(false, viaCep, brasilApi);
+        router.consultar(PAULISTA);
+        assertEquals(List.of("viacep", "brasilapi"), router.getOrdemAtual());
+
+        ReflectionTestUtils.setField(router, "exploracao", 1.0);
+        assertEquals("brasilapi", router.consultar(PAULISTA).getLogradouro());
+        assertEquals(1, viaCep.chamadas.get());
+        assertEquals(1, brasilApi.chamadas.get());
+    }
+
+    @Test
+    void cepInexistenteNaoDeveTrocarDeProvedor() {
+        ProvedorFalso viaCep = new ProvedorFalso("viacep", Duration.ZERO);
+        viaCep.naoEncontrado = true;
+        ProvedorFalso brasilApi = new ProvedorFalso("brasilapi", Duration.ZERO);
+        CepProviderRouter router = criar(false, viaCep, brasilApi);
+
+        assertThrows(CepNotFoundException.class, () -> router.consultar(PAULISTA));
+        assertEquals(0, brasilApi.chamadas.get());
+    }
+
+    @Test
+    void todosFalhando_DevePropagarUltimaFalha() {
+        ProvedorFalso viaCep = new ProvedorFalso("viacep", Duration.ZERO);
+        viaCep.falhar = true;
+        ProvedorFalso brasilApi = new ProvedorFalso("brasilapi", Duration.ZERO);
+        brasilApi.falhar = true;
+        CepProviderRouter router = criar(false, viaCep, brasilApi);
+
+        ApiIntegrationException erro = assertThrows(ApiIntegrationException.class, () -> router.consultar(PAULISTA));
+        assertEquals("brasilapi", erro.getApiName());
+    }
+
+    @Test
+    void consultarAposFalha_DeveIgnorarProvedorQueFalhou() {
+        ProvedorFalso viaCep = new ProvedorFalso("viacep", Duration.ZERO);
+        ProvedorFalso brasilApi = new ProvedorFalso("brasilapi", Duration.ZERO);
+        CepProviderRouter router = criar(false, viaCep, brasilApi);
+        ApiIntegrationException falha = new ApiIntegrationException("ViaCEP", "consultarCep", "timeout");
+
+        assertEquals("brasilapi", router.consultarAposFalha(PAULISTA, "viacep", falha).getLogradouro());
+        assertEquals(0, viaCep.chamadas.get());
+    }
+
+    @Test
+    void consultarAposFalha_SemOutroProvedor_DevePropagarFalhaOriginal() {
+        CepProviderRouter router = criar(false, new ProvedorFalso("viacep", Duration.ZERO));
+        ApiIntegrationException falha = new ApiIntegrationException("ViaCEP", "consultarCep", "timeout");
+
+        assertSame(falha, assertThrows(ApiIntegrationException.class,
+                () -> router.consultarAposFalha(PAULISTA, "viacep", falha)));
+    }
+
+    @Test
+    void corridaDeveUsarPrimeiraResposta() {
+        ProvedorFalso viaCep = new ProvedorFalso("viacep", Duration.ofSeconds(2));
+        ProvedorFalso brasilApi = new ProvedorFalso("brasilapi", Duration.ZERO);
+        CepProviderRouter router = criar(true, viaCep, brasilApi);
+
+        long inicio = System.nanoTime();
+        assertEquals("brasilapi", router.consultar(PAULISTA).getLogradouro());
+        assertTrue(Duration.ofNanos(System.nanoTime() - inicio).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void buscarLocal_DeveIgnorarProvedoresRemotos() {
+        ProvedorFalso viaCep = new ProvedorFalso("viacep", Duration.ZERO);
+        ProvedorFalso local = new ProvedorFalso("local", Duration.ZERO);
+        local.local = true;
+        CepProviderRouter router = criar(false, viaCep, local);
+
+        assertEquals("local", router.buscarLocal(PAULISTA).getLogradouro());
+        assertEquals("viacep", router.consultar(PAULISTA).getLogradouro());
+        assertEquals(1, local.chamadas.get());
+    }
+
+    private CepProviderRouter criar(boolean corrida, CepProvider... provedores) {
+        CepProviderRouter router = new CepProviderRouter();
+        ReflectionTestUtils.setField(router, "provedores", List.of(provedores));
+        ReflectionTestUtils.setField(router, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(router, "hedgeExecutor", executor);
+        ReflectionTestUtils.setField(router, "ordem", List.of("viacep", "brasilapi", "opencep"));
+        ReflectionTestUtils.setField(router, "alfa", 0.5);
+        ReflectionTestUtils.setField(router, "penalidadeErro", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(router, "meiaVidaErro", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(router, "corrida", corrida);
+        router.iniciar();
+        return router;
+    }
+
+    private static final class ProvedorFalso implements CepProvider {
+
+        private final String nome;
+        private final Duration latencia;
+        private final AtomicInteger chamadas = new AtomicInteger();
+        private volatile boolean falhar;
+        private volatile boolean naoEncontrado;
+        private boolean local;
+
+        private ProvedorFalso(String nome, Duration latencia) {
+            this.nome = nome;
+            this.latencia = latencia;
+        }
+
+        @Override
+        public String getNome() {
+            return nome;
+        }
+
+        @Override
+        public AddressResponse consultar(Cep cep) {
+            chamadas.incrementAndGet();
+            try {
+                Thread.sleep(latencia);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (naoEncontrado) {
+                throw new CepNotFoundException(nome, "consultarCep", "CEP não encontrado: " + cep);
+            }
+            if (falhar) {
+                throw new ApiIntegrationException(nome, "consultarCep", "Erro na comunicação com a API");
+            }
+            // O logradouro identifica quem respondeu
+            return new AddressResponse(cep.comTraco(), nome, null, "Bela Vista",
+                    "São Paulo", "São Paulo", "SP", "11");
+        }
+
+        @Override
+        public boolean isLocal() {
+            return local;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.portifolio.apiintegration.provider;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.portifolio.apiintegration.client.brasilapi.BrasilApiClient;
+import com.portifolio.apiintegration.client.opencep.OpenCepClient;
+import com.portifolio.apiintegration.client.viacep.ReactiveViaCepClient;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cada provedor de CEP contra um stub WireMock com o formato da API real.
+ */
+@SpringBootTest
+class CepProvidersWireMockTest {
+
+    private static final Cep PAULISTA = Cep.of("01310-100");
+
+    private static final WireMockServer viaCep = iniciar();
+    private static final WireMockServer brasilApi = iniciar();
+    private static final WireMockServer openCep = iniciar();
+
+    @Autowired
+    private ViaCepProvider viaCepProvider;
+
+    @Autowired
+    private ReactiveViaCepClient reactiveViaCepClient;
+
+    @Autowired
+    private BrasilApiClient brasilApiClient;
+
+    @Autowired
+    private OpenCepClient openCepClient;
+
+    @Autowired
+    private CepProviderRouter cepProviderRouter;
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registry) {
+        registry.add("external-apis.viacep.base-url", () -> viaCep.baseUrl() + "/ws");
+        registry.add("external-apis.viacep.retry.enabled", () -> "false");
+        registry.add("external-apis.brasilapi.enabled", () -> "true");
+        registry.add("external-apis.brasilapi.base-url", () -> brasilApi.baseUrl() + "/api/cep/v1");
+        registry.add("external-apis.opencep.enabled", () -> "true");
+        registry.add("external-apis.opencep.base-url", () -> openCep.baseUrl() + "/v1");
+        registry.add("address.disk-cache.enabled", () -> "false");
+    }
+
+    @BeforeEach
+    void setUp() {
+        viaCep.resetAll();
+        brasilApi.resetAll();
+        openCep.resetAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        viaCep.stop();
+        brasilApi.stop();
+        openCep.stop();
+    }
+
+    @Test
+    void viaCep_DeveConverterResposta() {
+        viaCep.stubFor(get(urlPathEqualTo("/ws/01310100/json/")).willReturn(okJson("""
+                {"cep":"01310-100","logradouro":"Avenida Paulista","complemento":"de 612 a 1510 - lado par",
+                 "bairro":"Bela Vista","localidade":"São Paulo","uf":"SP","ibge":"3550308","ddd":"11"}
+                """)));
+
+        AddressResponse endereco = viaCepProvider.consultar(PAULISTA);
+
+        assertEquals("01310-100", endereco.getCep());
+        assertEquals("Avenida Paulista", endereco.getLogradouro());
+        assertEquals("São Paulo", endereco.getCidade());
+        assertEquals("11", endereco.getDdd());
+    }
+
+    @Test
+    void viaCep_ErroTrue_DeveLancarCepNaoEncontrado() {
+        viaCep.stubFor(get(urlPathEqualTo("/ws/99999999/json/")).willReturn(okJson("{\"erro\": true}")));
+
+        assertThrows(CepNotFoundException.class, () -> viaCepProvider.consultar(Cep.of("99999999")));
+    }
+
+    @Test
+    void viaCepReativo_DeveConverterResposta() {
+        viaCep.stubFor(get(urlPathEqualTo("/ws/01310100/json/")).willReturn(okJson("""
+                {"cep":"01310-100","logradouro":"Avenida Paulista","complemento":"de 612 a 1510 - lado par",
+                 "bairro":"Bela Vista","localidade":"São Paulo","uf":"SP","ibge":"3550308","ddd":"11"}
+                """)));
+
+        AddressResponse endereco = reactiveViaCepClient.consultarCep(PAULISTA).block();
+
+        assertEquals("01310-100", endereco.getCep());
+        assertEquals("Avenida Paulista", endereco.getLogradouro());
+        assertEquals("São Paulo", endereco.getCidade());
+        assertEquals("11", endereco.getDdd());
+    }
+
+    @Test
+    void viaCepReativo_ErroTrue_DeveLancarCepNaoEncontrado() {
+        viaCep.stubFor(get(urlPathEqualTo("/ws/99999999/json/")).willReturn(okJson("{\"erro\": \"true\"}")));
+
+        assertThrows(CepNotFoundException.class,
+                () -> reactiveViaCepClient.consultarCep(Cep.of("99999999")).block());
+    }
+
+    @Test
+    void brasilApi_DeveConverterResposta() {
+        brasilApi.stubFor(get(urlPathEqualTo("/api/cep/v1/01310100")).willReturn(okJson("""
+                {"cep":"01310100","state":"SP","city":"São Paulo","neighborhood":"Bela Vista",
+                 "street":"Avenida Paulista","service":"open-cep"}
+                """)));
+
+        AddressResponse endereco = brasilApiClient.consultar(PAULISTA);
+
+        assertEquals("01310-100", endereco.getCep());
+        assertEquals("Avenida Paulista", endereco.getLogradouro());
+        assertEquals("Bela Vista", endereco.getBairro());
+        assertEquals("São Paulo", endereco.getCidade());
+        assertEquals("SP", endereco.getUf());
+        assertNull(endereco.getDdd());
+    }
+
+    @Test
+    void brasilApi_404_DeveLancarCepNaoEncontrado() {
+        brasilApi.stubFor(get(urlPathEqualTo("/api/cep/v1/99999999")).willReturn(aResponse()
+                .withStatus(404)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"name\":\"CepPromiseError\",\"type\":\"service_error\"}")));
+
+        assertThrows(CepNotFoundException.class, () -> brasilApiClient.consultar(Cep.of("99999999")));
+    }
+
+    @Test
+    void brasilApi_500_DeveLancarFalhaDeIntegracao() {
+        brasilApi.stubFor(get(urlPathEqualTo("/api/cep/v1/01310100")).willReturn(aResponse().withStatus(500)));
+
+        ApiIntegrationException erro = assertThrows(ApiIntegrationException.class,
+                () -> brasilApiClient.consultar(PAULISTA));
+        assertFalse(erro instanceof CepNotFoundException);
+    }
+
+    @Test
+    void openCep_DeveConverterResposta() {
+        openCep.stubFor(get(urlPathEqualTo("/v1/01310100")).willReturn(okJson("""
+                {"cep":"01310-100","logradouro":"Avenida Paulista","complemento":"de 612 a 1510 - lado par",
+                 "bairro":"Bela Vista","localidade":"São Paulo","uf":"SP","ibge":"3550308"}
+                """)));
+
+        AddressResponse endereco = openCepClient.consultar(PAULISTA);
+
+        assertEquals("01310-100", endereco.getCep());
+        assertEquals("Avenida Paulista", endereco.getLogradouro());
+        assertEquals("São Paulo", endereco.getCidade());
+    }
+
+    @Test
+    void openCep_404_DeveLancarCepNaoEncontrado() {
+        openCep.stubFor(get(urlPathEqualTo("/v1/99999999")).willReturn(aResponse().withStatus(404)));
+
+        assertThrows(CepNotFoundException.class, () -> openCepClient.consultar(Cep.of("99999999")));
+    }
+
+    @Test
+    void roteador_DeveUsarProvedorQueResponde() {
+        viaCep.stubFor(get(urlPathEqualTo("/ws/01310100/json/")).willReturn(aResponse().withStatus(503)));
+        openCep.stubFor(get(urlPathEqualTo("/v1/01310100")).willReturn(aResponse().withStatus(500)));
+        brasilApi.stubFor(get(urlPathEqualTo("/api/cep/v1/01310100")).willReturn(okJson("""
+                {"cep":"01310100","state":"SP","city":"São Paulo","neighborhood":"Bela Vista",
+                 "street":"Avenida Paulista","service":"correios"}
+                """)));
+
+        AddressResponse endereco = cepProviderRouter.consultar(PAULISTA);
+
+        assertEquals("Avenida Paulista", endereco.getLogradouro());
+        assertNull(endereco.getDdd());
+        assertEquals("brasilapi", cepProviderRouter.getOrdemAtual().get(0));
+    }
+
+    private static WireMockServer iniciar() {
+        WireMockServer servidor = new WireMockServer(options().dynamicPort());
+        servidor.start();
+        return servidor;
+    }
+}
@@ -0,0 +1,99 @@
+package com.portifolio.apiintegration.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long LATENCIA = Duration.ofMillis(100).toNanos();
+    private static final long ESPERA = Duration.ofSeconds(5).toNanos();
+
+    private final AtomicLong relogio = new AtomicLong();
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        AdaptiveConcurrencyProperties config = new AdaptiveConcurrencyProperties();
+        config.setInitialLimit(4);
+        config.setMinLimit(1);
+        config.setMaxLimit(8);
+        config.setBackoffRatio(0.5);
+        config.setLatencyTolerance(2.0);
+        limiter = new AdaptiveConcurrencyLimiter("teste", config, relogio::get);
+    }
+
+    @Test
+    void semVagaDeveEnfileirarEAtenderQuandoUmaChamadaTermina() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.adquirir(ESPERA).isDone());
+        }
+        CompletableFuture<Void> naFila = limiter.adquirir(ESPERA);
+        assertFalse(naFila.isDone());
+        assertEquals(1, limiter.getNaFila());
+
+        limiter.liberar(LATENCIA, false);
+
+        assertTrue(naFila.isDone());
+        assertFalse(naFila.isCompletedExceptionally());
+        assertEquals(0, limiter.getNaFila());
+        assertEquals(4, limiter.getEmAndamento());
+    }
+
+    @Test
+    void pedidoDeveExpirarNoPrazo() {
+        for (int i = 0; i < 4; i++) {
+            limiter.adquirir(ESPERA);
+        }
+        CompletableFuture<Void> naFila = limiter.adquirir(Duration.ofMillis(20).toNanos());
+
+        ExecutionException erro = assertThrows(ExecutionException.class, naFila::get);
+        assertInstanceOf(TimeoutException.class, erro.getCause());
+
+        // A vaga liberada depois não vai para o pedido expirado
+        limiter.liberar(LATENCIA, false);
+        assertEquals(3, limiter.getEmAndamento());
+    }
+
+    @Test
+    void sobrecargaDeveReduzirLimite() {
+        limiter.adquirir(ESPERA);
+        relogio.addAndGet(LATENCIA);
+        limiter.liberar(LATENCIA, true);
+
+        assertEquals(2, limiter.getLimite());
+    }
+
+    @Test
+    void latenciaAltaDeveReduzirLimite() {
+        limiter.adquirir(ESPERA);
+        limiter.liberar(LATENCIA, false);
+
+        limiter.adquirir(ESPERA);
+        relogio.addAndGet(Duration.ofSeconds(1).toNanos());
+        limiter.liberar(LATENCIA * 5, false);
+
+        assertEquals(2, limiter.getLimite());
+    }
+
+    @Test
+    void sucessosComLimiteEmUsoDevemAumentarLimite() {
+        for (int rodada = 0; rodada < 40; rodada++) {
+            int limite = limiter.getLimite();
+            for (int i = 0; i < limite; i++) {
+                limiter.adquirir(ESPERA);
+            }
+            for (int i = 0; i < limite; i++) {
+                limiter.liberar(LATENCIA, false);
+            }
+        }
+        assertEquals(8, limiter.getLimite());
+    }
+}
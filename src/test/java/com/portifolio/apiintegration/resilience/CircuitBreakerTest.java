@@ -0,0 +1,151 @@
+package com.portifolio.apiintegration.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long RAPIDA = Duration.ofMillis(10).toNanos();
+    private static final long LENTA = Duration.ofSeconds(5).toNanos();
+
+    private final AtomicLong relogio = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerProperties config = new CircuitBreakerProperties();
+        config.setSlidingWindowSize(10);
+        config.setMinimumNumberOfCalls(5);
+        config.setFailureRateThreshold(50);
+        config.setSlowCallRateThreshold(80);
+        config.setSlowCallDuration(Duration.ofSeconds(3));
+        config.setWaitDurationInOpenState(Duration.ofSeconds(30));
+        config.setPermittedCallsInHalfOpenState(2);
+        circuitBreaker = new CircuitBreaker("teste", config, relogio::get);
+    }
+
+    @Test
+    void deveAbrirQuandoTaxaDeFalhasAtingeLimite() {
+        for (int i = 0; i < 4; i++) {
+            registrar(true);
+        }
+        assertEquals(CircuitBreaker.Estado.FECHADO, circuitBreaker.getEstado(), "abaixo do mínimo de chamadas");
+
+        registrar(false);
+        assertEquals(CircuitBreaker.Estado.ABERTO, circuitBreaker.getEstado());
+        assertEquals(CircuitBreaker.NEGADA, circuitBreaker.tentarPermissao());
+        assertEquals(1, circuitBreaker.getNaoPermitidas());
+    }
+
+    @Test
+    void deveAbrirQuandoChamadasLentasAtingemLimite() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.registrarSucesso(permitir(), LENTA);
+        }
+        registrar(false);
+        assertEquals(CircuitBreaker.Estado.ABERTO, circuitBreaker.getEstado());
+    }
+
+    @Test
+    void janelaDeveConsiderarApenasUltimasChamadas() {
+        registrar(true);
+        for (int i = 0; i < 9; i++) {
+            registrar(false);
+        }
+        for (int i = 0; i < 4; i++) {
+            registrar(true);
+        }
+        assertEquals(CircuitBreaker.Estado.FECHADO, circuitBreaker.getEstado());
+
+        // 5 falhas nas últimas 10 chamadas; no total seriam 6 em 15
+        registrar(true);
+        assertEquals(CircuitBreaker.Estado.ABERTO, circuitBreaker.getEstado());
+    }
+
+    @Test
+    void meioAbertoDeveFecharQuandoSondasTemSucesso() {
+        abrir();
+        relogio.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        long primeira = permitir();
+        long segunda = permitir();
+        assertEquals(CircuitBreaker.NEGADA, circuitBreaker.tentarPermissao(), "apenas duas sondas");
+        assertEquals(CircuitBreaker.Estado.MEIO_ABERTO, circuitBreaker.getEstado());
+
+        circuitBreaker.registrarSucesso(primeira, RAPIDA);
+        circuitBreaker.registrarSucesso(segunda, RAPIDA);
+        assertEquals(CircuitBreaker.Estado.FECHADO, circuitBreaker.getEstado());
+    }
+
+    @Test
+    void meioAbertoDeveReabrirQuandoSondaFalha() {
+        abrir();
+        relogio.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        long primeira = permitir();
+        long segunda = permitir();
+        circuitBreaker.registrarFalha(primeira, RAPIDA);
+        circuitBreaker.registrarSucesso(segunda, RAPIDA);
+
+        assertEquals(CircuitBreaker.Estado.ABERTO, circuitBreaker.getEstado());
+        assertEquals(CircuitBreaker.NEGADA, circuitBreaker.tentarPermissao());
+    }
+
+    @Test
+    void sondaIgnoradaDeveDevolverPermissao() {
+        abrir();
+        relogio.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        long primeira = permitir();
+        permitir();
+        circuitBreaker.registrarIgnorada(primeira);
+        permitir();
+    }
+
+    @Test
+    void chamadaLiberadaFechada_NaoDeveContarComoSonda() {
+        long antesDaAbertura = permitir();
+        abrir();
+        relogio.addAndGet(Duration.ofSeconds(31).toNanos());
+        long sonda = permitir();
+        assertEquals(CircuitBreaker.Estado.MEIO_ABERTO, circuitBreaker.getEstado());
+
+        // Termina depois da abertura: não conta como a segunda sonda nem devolve permissão
+        circuitBreaker.registrarFalha(antesDaAbertura, RAPIDA);
+        circuitBreaker.registrarIgnorada(antesDaAbertura);
+        assertEquals(CircuitBreaker.Estado.MEIO_ABERTO, circuitBreaker.getEstado());
+
+        long segundaSonda = permitir();
+        assertEquals(CircuitBreaker.NEGADA, circuitBreaker.tentarPermissao());
+        circuitBreaker.registrarSucesso(sonda, RAPIDA);
+        circuitBreaker.registrarSucesso(segundaSonda, RAPIDA);
+        assertEquals(CircuitBreaker.Estado.FECHADO, circuitBreaker.getEstado());
+    }
+
+    private void abrir() {
+        for (int i = 0; i < 5; i++) {
+            registrar(true);
+        }
+        assertEquals(CircuitBreaker.Estado.ABERTO, circuitBreaker.getEstado());
+    }
+
+    private long permitir() {
+        long permissao = circuitBreaker.tentarPermissao();
+        assertNotEquals(CircuitBreaker.NEGADA, permissao);
+        return permissao;
+    }
+
+    private void registrar(boolean falha) {
+        long permissao = permitir();
+        if (falha) {
+            circuitBreaker.registrarFalha(permissao, RAPIDA);
+        } else {
+            circuitBreaker.registrarSucesso(permissao, RAPIDA);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.portifolio.apiintegration.resilience;
+
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedRetryTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deveRepetirFalhaTransitoriaAteConseguir() {
+        HedgedRetry retry = criar(false);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        String resultado = retry.executar(() -> {
+            if (chamadas.incrementAndGet() < 3) {
+                throw new IllegalStateException("503");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resultado);
+        assertEquals(3, chamadas.get());
+        assertEquals(2, retry.getRetentativas());
+    }
+
+    @Test
+    void naoDeveRepetirFalhaDefinitiva() {
+        HedgedRetry retry = criar(false);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> retry.executar(() -> {
+            chamadas.incrementAndGet();
+            throw new IllegalArgumentException("404");
+        }));
+        assertEquals(1, chamadas.get());
+    }
+
+    @Test
+    void deveRepetirNoCaminhoReativo() {
+        HedgedRetry retry = criar(false);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        String resultado = retry.executarMono(() -> chamadas.incrementAndGet() < 2
+                ? Mono.<String>error(new IllegalStateException("timeout"))
+                : Mono.just("ok")).block(Duration.ofSeconds(5));
+
+        assertEquals("ok", resultado);
+        assertEquals(2, chamadas.get());
+    }
+
+    @Test
+    void hedgeDeveResponderQuandoPrimeiraTentativaDemora() {
+        HedgedRetry retry = criar(true);
+        // Aquece o percentil com chamadas rápidas
+        for (int i = 0; i < 64; i++) {
+            retry.executar(() -> "rapida");
+        }
+        // Com a primeira tentativa no executor, a partida de uma thread pode disparar hedge no aquecimento
+        long hedgesAntes = retry.getHedges();
+
+        AtomicInteger chamadas = new AtomicInteger();
+        long inicio = System.nanoTime();
+        String resultado = retry.executar(() -> {
+            if (chamadas.incrementAndGet() == 1) {
+                dormir(Duration.ofSeconds(2));
+                return "lenta";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", resultado);
+        assertTrue(Duration.ofNanos(System.nanoTime() - inicio).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(hedgesAntes + 1, retry.getHedges());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void hedgePerdedor_DeveSerInterrompidoSemTocarNaThreadDeQuemChama() throws Exception {
+        HedgedRetry retry = criar(true);
+        for (int i = 0; i < 64; i++) {
+            retry.executar(() -> "rapida");
+        }
+
+        Thread chamador = Thread.currentThread();
+        CountDownLatch perdedoraInterrompida = new CountDownLatch(1);
+        AtomicInteger chamadas = new AtomicInteger();
+        long inicio = System.nanoTime();
+        String resultado = retry.executar(() -> {
+            assertNotSame(chamador, Thread.currentThread());
+            if (chamadas.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(Duration.ofSeconds(5));
+                } catch (InterruptedException e) {
+                    perdedoraInterrompida.countDown();
+                }
+                return "primeira";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", resultado);
+        assertTrue(Duration.ofNanos(System.nanoTime() - inicio).compareTo(Duration.ofSeconds(1)) < 0);
+        assertTrue(perdedoraInterrompida.await(1, TimeUnit.SECONDS));
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void hedge_PrazoEsgotado_DeveDesistirECancelarAsTentativas() throws Exception {
+        HedgedRetry retry = criar(true, Duration.ofMillis(300));
+        for (int i = 0; i < 64; i++) {
+            retry.executar(() -> "rapida");
+        }
+        long hedgesAntes = retry.getHedges();
+
+        CountDownLatch interrompidas = new CountDownLatch(2);
+        long inicio = System.nanoTime();
+        assertThrows(ApiIntegrationException.class, () -> retry.executar(() -> {
+            try {
+                Thread.sleep(Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                interrompidas.countDown();
+            }
+            return "lenta";
+        }));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - inicio).compareTo(Duration.ofSeconds(1)) < 0);
+        assertTrue(interrompidas.await(1, TimeUnit.SECONDS));
+        assertEquals(hedgesAntes + 1, retry.getHedges());
+    }
+
+    private HedgedRetry criar(boolean hedge) {
+        return criar(hedge, Duration.ofSeconds(15));
+    }
+
+    private HedgedRetry criar(boolean hedge, Duration maxDuration) {
+        RetryProperties retry = new RetryProperties();
+        retry.setMaxDuration(maxDuration);
+        retry.setInitialBackoff(Duration.ofMillis(1));
+        retry.setMaxBackoff(Duration.ofMillis(5));
+        HedgeProperties hedgeProperties = new HedgeProperties();
+        hedgeProperties.setEnabled(hedge);
+        hedgeProperties.setMinDelay(Duration.ofMillis(20));
+        return new HedgedRetry("teste", retry, hedgeProperties,
+                erro -> erro instanceof IllegalStateException, executor);
+    }
+
+    private static void dormir(Duration duracao) {
+        try {
+            Thread.sleep(duracao);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
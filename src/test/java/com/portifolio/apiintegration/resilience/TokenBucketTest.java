@@ -0,0 +1,51 @@
+package com.portifolio.apiintegration.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long UM_SEGUNDO = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    @Test
+    void deveLiberarRajadaEDepoisEnfileirarReservas() {
+        TokenBucket bucket = new TokenBucket("teste", 10, 2, relogio::get);
+
+        assertEquals(0, bucket.reservar(UM_SEGUNDO));
+        assertEquals(0, bucket.reservar(UM_SEGUNDO));
+
+        // 10 tokens/s: a próxima reserva espera 100ms e a seguinte 200ms
+        assertEquals(Duration.ofMillis(100).toNanos(), bucket.reservar(UM_SEGUNDO), 1);
+        assertEquals(Duration.ofMillis(200).toNanos(), bucket.reservar(UM_SEGUNDO), 1);
+        assertEquals(2, bucket.getAtrasadas());
+    }
+
+    @Test
+    void deveRecusarQuandoEsperaPassaDoPrazo() {
+        TokenBucket bucket = new TokenBucket("teste", 10, 1, relogio::get);
+
+        assertEquals(0, bucket.reservar(0));
+        assertEquals(-1, bucket.reservar(Duration.ofMillis(50).toNanos()));
+        assertEquals(1, bucket.getRejeitadas());
+
+        // A recusa não consome token
+        relogio.addAndGet(Duration.ofMillis(100).toNanos());
+        assertEquals(0, bucket.reservar(0));
+    }
+
+    @Test
+    void recargaNaoDeveUltrapassarRajada() {
+        TokenBucket bucket = new TokenBucket("teste", 10, 2, relogio::get);
+        relogio.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertEquals(0, bucket.reservar(0));
+        assertEquals(0, bucket.reservar(0));
+        assertEquals(-1, bucket.reservar(0));
+    }
+}
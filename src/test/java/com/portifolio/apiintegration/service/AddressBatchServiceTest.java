@@ -0,0 +1,172 @@
+package com.portifolio.apiintegration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressBatchItem;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import com.portifolio.apiintegration.metrics.AddressMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AddressBatchServiceTest {
+
+    private static final int MAX_CONCURRENCY = 4;
+
+    @Mock
+    private AddressService addressService;
+
+    @Mock
+    private AddressMetrics addressMetrics;
+
+    @InjectMocks
+    private AddressBatchService addressBatchService;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        ReflectionTestUtils.setField(addressBatchService, "batchExecutor", executor);
+        ReflectionTestUtils.setField(addressBatchService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(addressBatchService, "maxConcurrency", MAX_CONCURRENCY);
+        ReflectionTestUtils.setField(addressBatchService, "timeout", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void buscarEnderecosStream_DeveEscreverUmResultadoPorLinha() throws Exception {
+        AddressResponse paulista = new AddressResponse("01310-100", "Avenida Paulista", null,
+                "Bela Vista", "São Paulo", "São Paulo", "SP", "11");
+        when(addressService.buscarEnderecoPorCep(Cep.of("01310100"))).thenReturn(paulista);
+        when(addressService.buscarEnderecoPorCep(Cep.of("99999999")))
+                .thenThrow(new CepNotFoundException("ViaCEP", "consultarCep", "CEP não encontrado: 99999999"));
+
+        String corpo = "01310-100\n\n{\"cep\": \"99999999\"}\n123\n";
+        List<AddressBatchItem> itens = new ArrayList<>();
+        addressBatchService.buscarEnderecos(new BufferedReader(new StringReader(corpo)), saida(itens));
+
+        Map<String, AddressBatchItem> porCep = itens.stream()
+                .collect(Collectors.toMap(AddressBatchItem::getCep, item -> item));
+        assertEquals(3, porCep.size());
+        assertSame(paulista, porCep.get("01310-100").getEndereco());
+        assertNotNull(porCep.get("99999999").getErro());
+        assertEquals(Cep.MENSAGEM_FORMATO, porCep.get("123").getErro());
+    }
+
+    @Test
+    void buscarEnderecosStream_NaoDeveUltrapassarConcorrenciaMaxima() throws Exception {
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        when(addressService.buscarEnderecoPorCep(any(Cep.class))).thenAnswer(invocacao -> {
+            maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            emAndamento.decrementAndGet();
+            return new AddressResponse();
+        });
+
+        StringBuilder corpo = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            corpo.append(String.format("%08d", 1310000 + i)).append('\n');
+        }
+        List<AddressBatchItem> itens = new ArrayList<>();
+        addressBatchService.buscarEnderecos(new BufferedReader(new StringReader(corpo.toString())), saida(itens));
+
+        assertEquals(200, itens.size());
+        assertTrue(maximo.get() <= MAX_CONCURRENCY, "máximo em andamento: " + maximo.get());
+    }
+
+    @Test
+    void buscarEnderecosStream_ErroNaConsulta_NaoDeveTravarOLote() {
+        when(addressService.buscarEnderecoPorCep(Cep.of("01310100"))).thenThrow(new StackOverflowError());
+
+        List<AddressBatchItem> itens = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> addressBatchService.buscarEnderecos(
+                new BufferedReader(new StringReader("01310-100\n")), saida(itens)));
+
+        assertEquals(1, itens.size());
+        assertNotNull(itens.get(0).getErro());
+    }
+
+    @Test
+    void buscarEnderecos_TempoEsgotado_DeveInterromperConsulta() throws Exception {
+        ReflectionTestUtils.setField(addressBatchService, "timeout", Duration.ofMillis(200));
+        CountDownLatch interrompida = new CountDownLatch(1);
+        when(addressService.buscarEnderecoPorCep(any(Cep.class))).thenAnswer(invocacao -> {
+            try {
+                Thread.sleep(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                interrompida.countDown();
+            }
+            return new AddressResponse();
+        });
+
+        AddressBatchResult resultado = addressBatchService.buscarEnderecos(List.of("01310-100"));
+
+        assertEquals("Tempo limite do lote excedido", resultado.getErros().get("01310-100"));
+        assertTrue(interrompida.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void buscarEnderecosStream_TempoEsgotado_DeveEncerrarOLoteEInterromperConsultas() throws Exception {
+        ReflectionTestUtils.setField(addressBatchService, "timeout", Duration.ofMillis(200));
+        CountDownLatch interrompidas = new CountDownLatch(2);
+        when(addressService.buscarEnderecoPorCep(any(Cep.class))).thenAnswer(invocacao -> {
+            try {
+                Thread.sleep(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                interrompidas.countDown();
+            }
+            return new AddressResponse();
+        });
+
+        List<AddressBatchItem> itens = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> addressBatchService.buscarEnderecos(
+                new BufferedReader(new StringReader("01310-100\n20040-020\n")), saida(itens)));
+
+        assertEquals(2, itens.size());
+        itens.forEach(item -> assertEquals("Tempo limite do lote excedido", item.getErro()));
+        assertTrue(interrompidas.await(1, TimeUnit.SECONDS));
+    }
+
+    private static AddressBatchService.SaidaLote saida(List<AddressBatchItem> itens) {
+        return new AddressBatchService.SaidaLote() {
+            @Override
+            public void escrever(AddressBatchItem item) {
+                itens.add(item);
+            }
+
+            @Override
+            public void descarregar() {
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.portifolio.apiintegration.service;
+
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.domain.ExchangeRateTable;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.dto.response.EnrichedAddressResponse;
+import com.portifolio.apiintegration.dto.response.WeatherResponse;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AddressEnrichmentServiceTest {
+
+    private static final Cep CEP = Cep.of("01310100");
+    private static final AddressResponse ENDERECO = new AddressResponse("01310-100", "Avenida Paulista", "",
+            "Bela Vista", "São Paulo", "São Paulo", "SP", "11");
+    private static final WeatherResponse CLIMA = new WeatherResponse("São Paulo", "SP", "São Paulo",
+            -23.55, -46.63, 22.4, 22.1, 64, "nublado", 3.6, 1760781600L);
+    private static final ExchangeRateTable TABELA = ExchangeRateTable.VAZIA
+            .comBase("USD", Map.of("USD", 1.0, "BRL", 5.0, "EUR", 0.9), 100);
+
+    @Mock
+    private AddressService addressService;
+
+    @Mock
+    private WeatherService weatherService;
+
+    @Mock
+    private CurrencyService currencyService;
+
+    @InjectMocks
+    private AddressEnrichmentService addressEnrichmentService;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        ReflectionTestUtils.setField(addressEnrichmentService, "enrichmentExecutor", executor);
+        ReflectionTestUtils.setField(addressEnrichmentService, "prazoEndereco", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(addressEnrichmentService, "prazoClima", Duration.ofMillis(300));
+        ReflectionTestUtils.setField(addressEnrichmentService, "prazoCotacoes", Duration.ofMillis(300));
+        ReflectionTestUtils.setField(addressEnrichmentService, "moedas", List.of("USD", "EUR"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void enriquecer_DeveConsultarAsDependenciasEmParalelo() {
+        when(addressService.buscarEnderecoPorCep(any(Cep.class))).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return ENDERECO;
+        });
+        when(weatherService.buscarClimaPorCep(any(Cep.class))).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return CLIMA;
+        });
+        when(currencyService.getTabela()).thenReturn(TABELA);
+
+        long inicio = System.nanoTime();
+        EnrichedAddressResponse resposta = addressEnrichmentService.enriquecer(CEP, true, true);
+        long duracao = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertSame(ENDERECO, resposta.getEndereco());
+        assertSame(CLIMA, resposta.getClima());
+        assertEquals(5.0, resposta.getCotacoes().get("USD"), 1e-9);
+        assertEquals(5.0 / 0.9, resposta.getCotacoes().get("EUR"), 1e-9);
+        assertNull(resposta.getIndisponiveis());
+        // Em sequência seriam 400 ms
+        assertTrue(duracao < 390, "duração: " + duracao + " ms");
+    }
+
+    @Test
+    void climaLento_DeveRetornarResultadoParcialNoPrazo() {
+        when(addressService.buscarEnderecoPorCep(any(Cep.class))).thenReturn(ENDERECO);
+        when(weatherService.buscarClimaPorCep(any(Cep.class))).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return CLIMA;
+        });
+        when(currencyService.getTabela()).thenReturn(TABELA);
+
+        long inicio = System.nanoTime();
+        EnrichedAddressResponse resposta = addressEnrichmentService.enriquecer(CEP, true, true);
+        long duracao = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertSame(ENDERECO, resposta.getEndereco());
+        assertNull(resposta.getClima());
+        assertNotNull(resposta.getCotacoes());
+        assertEquals(Map.of(AddressEnrichmentService.CLIMA, AddressEnrichmentService.TEMPO_ESGOTADO),
+                resposta.getIndisponiveis());
+        assertTrue(duracao < 1000, "duração: " + duracao + " ms");
+    }
+
+    @Test
+    void falhaNoCambio_DeveAparecerEmIndisponiveis() {
+        when(addressService.buscarEnderecoPorCep(any(Cep.class))).thenReturn(ENDERECO);
+        when(currencyService.getTabela()).thenThrow(new IllegalStateException("Cotações ainda não carregadas"));
+
+        EnrichedAddressResponse resposta = addressEnrichmentService.enriquecer(CEP, false, true);
+
+        assertSame(ENDERECO, resposta.getEndereco());
+        assertNull(resposta.getCotacoes());
+        assertEquals("Cotações ainda não carregadas",
+                resposta.getIndisponiveis().get(AddressEnrichmentService.COTACOES));
+        verifyNoInteractions(weatherService);
+    }
+
+    @Test
+    void integracaoDesativada_DeveAparecerEmIndisponiveis() {
+        ReflectionTestUtils.setField(addressEnrichmentService, "weatherService", null);
+        when(addressService.buscarEnderecoPorCep(any(Cep.class))).thenReturn(ENDERECO);
+
+        EnrichedAddressResponse resposta = addressEnrichmentService.enriquecer(CEP, true, false);
+
+        assertEquals(Map.of(AddressEnrichmentService.CLIMA, AddressEnrichmentService.DESATIVADO),
+                resposta.getIndisponiveis());
+        verifyNoInteractions(currencyService);
+    }
+
+    @Test
+    void erroNoEndereco_DevePropagar() {
+        when(addressService.buscarEnderecoPorCep(any(Cep.class)))
+                .thenThrow(new CepNotFoundException("ViaCEP", "consultarCep", "CEP não encontrado"));
+
+        assertThrows(CepNotFoundException.class, () -> addressEnrichmentService.enriquecer(CEP, true, false));
+    }
+}
@@ -0,0 +1,129 @@
+package com.portifolio.apiintegration.service;
+
+import com.portifolio.apiintegration.client.viacep.ReactiveViaCepClient;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressBatchItem;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.exception.ApiIntegrationException;
+import com.portifolio.apiintegration.exception.CepNotFoundException;
+import com.portifolio.apiintegration.metrics.AddressMetrics;
+import com.portifolio.apiintegration.provider.CepProviderRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAddressServiceTest {
+
+    @Mock
+    private AddressService addressService;
+
+    @Mock
+    private ReactiveViaCepClient reactiveViaCepClient;
+
+    @Mock
+    private CepProviderRouter cepProviderRouter;
+
+    @Mock
+    private AddressMetrics addressMetrics;
+
+    @InjectMocks
+    private ReactiveAddressService reactiveAddressService;
+
+    private final AddressResponse paulista = new AddressResponse("01310-100", "Avenida Paulista", null,
+            "Bela Vista", "São Paulo", "São Paulo", "SP", "11");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reactiveAddressService, "maxConcurrency", 4);
+        ReflectionTestUtils.setField(reactiveAddressService, "timeout", Duration.ofSeconds(5));
+    }
+
+    @Test
+    void buscarEnderecoPorCep_CepEmCache_NaoDeveConsultarApi() {
+        when(addressService.buscarLocal(Cep.of("01310100"))).thenReturn(paulista);
+
+        assertSame(paulista, reactiveAddressService.buscarEnderecoPorCep(Cep.of("01310-100")).block());
+
+        verifyNoInteractions(reactiveViaCepClient);
+    }
+
+    @Test
+    void buscarEnderecoPorCep_ConsultasSimultaneas_DevemCompartilharUmaChamada() {
+        Cep cep = Cep.of("01310100");
+        AddressResponse resposta = new AddressResponse("01310-100", "Avenida Paulista", null,
+                "Bela Vista", "São Paulo", "São Paulo", "SP", "11");
+        when(reactiveViaCepClient.consultarCep(cep))
+                .thenReturn(Mono.just(resposta).delayElement(Duration.ofMillis(50)));
+        when(addressService.armazenar(cep, resposta)).thenReturn(paulista);
+
+        Mono<AddressResponse> primeira = reactiveAddressService.buscarEnderecoPorCep(cep);
+        Mono<AddressResponse> segunda = reactiveAddressService.buscarEnderecoPorCep(cep);
+        var ambas = Mono.zip(primeira, segunda).block();
+
+        assertSame(paulista, ambas.getT1());
+        assertSame(paulista, ambas.getT2());
+        verify(reactiveViaCepClient, times(1)).consultarCep(cep);
+    }
+
+    @Test
+    void buscarEnderecoPorCep_ViaCepIndisponivel_DeveConsultarOutrosProvedores() {
+        Cep cep = Cep.of("01310100");
+        ApiIntegrationException falha = new ApiIntegrationException("ViaCEP", "consultarCep", "timeout");
+        AddressResponse brasilApi = new AddressResponse("01310-100", "Avenida Paulista", null,
+                "Bela Vista", "São Paulo", "São Paulo", "SP", null);
+        when(reactiveViaCepClient.consultarCep(cep)).thenReturn(Mono.error(falha));
+        when(cepProviderRouter.consultarAposFalha(cep, "viacep", falha)).thenReturn(brasilApi);
+        when(addressService.armazenar(cep, brasilApi)).thenReturn(paulista);
+
+        assertSame(paulista, reactiveAddressService.buscarEnderecoPorCep(cep).block());
+        verify(addressService, never()).buscarRegistroAntigo(cep);
+    }
+
+    @Test
+    void buscarEnderecoPorCep_TodosProvedoresIndisponiveis_DeveServirRegistroAntigo() {
+        Cep cep = Cep.of("01310100");
+        ApiIntegrationException falha = new ApiIntegrationException("ViaCEP", "consultarCep", "timeout");
+        when(reactiveViaCepClient.consultarCep(cep)).thenReturn(Mono.error(falha));
+        when(cepProviderRouter.consultarAposFalha(cep, "viacep", falha)).thenThrow(falha);
+        when(addressService.buscarRegistroAntigo(cep)).thenReturn(paulista);
+
+        assertSame(paulista, reactiveAddressService.buscarEnderecoPorCep(cep).block());
+    }
+
+    @Test
+    void buscarEnderecos_DeveEmitirUmItemPorCep() {
+        Cep inexistente = Cep.of("99999999");
+        when(addressService.buscarLocal(Cep.of("01310100"))).thenReturn(paulista);
+        when(reactiveViaCepClient.consultarCep(inexistente))
+                .thenReturn(Mono.error(new CepNotFoundException("ViaCEP", "consultarCep",
+                        "CEP não encontrado: 99999999")));
+
+        Map<String, AddressBatchItem> itens = reactiveAddressService
+                .buscarEnderecos(List.of("01310-100", "99999999", "123"))
+                .collectList().block().stream()
+                .collect(Collectors.toMap(AddressBatchItem::getCep, item -> item));
+
+        assertEquals(3, itens.size());
+        assertSame(paulista, itens.get("01310-100").getEndereco());
+        assertNotNull(itens.get("99999999").getErro());
+        assertEquals(Cep.MENSAGEM_FORMATO, itens.get("123").getErro());
+        verify(addressService).registrarNaoEncontrado(inexistente);
+        verify(addressService, never()).armazenar(eq(inexistente), any(AddressResponse.class));
+    }
+}
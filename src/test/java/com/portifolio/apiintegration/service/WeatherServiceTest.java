@@ -0,0 +1,116 @@
+package com.portifolio.apiintegration.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.portifolio.apiintegration.client.weather.WeatherClient;
+import com.portifolio.apiintegration.client.weather.dto.OpenWeatherResponse;
+import com.portifolio.apiintegration.domain.Cep;
+import com.portifolio.apiintegration.dto.response.AddressResponse;
+import com.portifolio.apiintegration.dto.response.WeatherResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.doubleThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherServiceTest {
+
+    @Mock
+    private AddressService addressService;
+
+    @Mock
+    private WeatherClient weatherClient;
+
+    @InjectMocks
+    private WeatherService weatherService;
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(weatherService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(weatherService, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(weatherService, "ttlLocalizacao", Duration.ofDays(7));
+        ReflectionTestUtils.setField(weatherService, "tamanhoMaximo", 100L);
+        ReflectionTestUtils.setField(weatherService, "grade", 0.1);
+        ReflectionTestUtils.setField(weatherService, "ticker", (Ticker) relogio::get);
+        weatherService.iniciar();
+    }
+
+    @Test
+    void buscarClimaPorCep_DeveResolverMunicipioPeloEndereco() {
+        when(addressService.buscarEnderecoPorCep(Cep.of("01310-100"))).thenReturn(new AddressResponse(
+                "01310-100", "Avenida Paulista", null, "Bela Vista", "São Paulo", "São Paulo", "SP", "11"));
+        when(weatherClient.consultarPorCidade("São Paulo")).thenReturn(resposta("São Paulo", -23.55, -46.63, 22.5));
+
+        WeatherResponse clima = weatherService.buscarClimaPorCep(Cep.of("01310-100"));
+
+        assertEquals("São Paulo", clima.getCidade());
+        assertEquals("SP", clima.getUf());
+        assertEquals(22.5, clima.getTemperatura());
+        assertEquals("nublado", clima.getDescricao());
+        assertEquals(64, clima.getUmidade());
+    }
+
+    @Test
+    void mesmoMunicipio_DeveUsarCache() {
+        when(weatherClient.consultarPorCidade("São Paulo")).thenReturn(resposta("São Paulo", -23.55, -46.63, 22.5));
+
+        weatherService.buscarClima("São Paulo", "SP");
+        weatherService.buscarClima("são paulo ", "SP");
+
+        verify(weatherClient, times(1)).consultarPorCidade(anyString());
+    }
+
+    @Test
+    void municipiosDaMesmaCelula_DevemCompartilharRenovacao() {
+        when(weatherClient.consultarPorCidade("São Paulo")).thenReturn(resposta("São Paulo", -23.55, -46.63, 22.5));
+        when(weatherClient.consultarPorCidade("Guarulhos")).thenReturn(resposta("Guarulhos", -23.51, -46.61, 23.0));
+        weatherService.buscarClima("São Paulo", "SP");
+        weatherService.buscarClima("Guarulhos", "SP");
+
+        // Venceu o TTL do clima: a célula é renovada uma vez, pelo centro, para os dois municípios
+        relogio.addAndGet(Duration.ofMinutes(11).toNanos());
+        when(weatherClient.consultarPorCoordenadas(anyDouble(), anyDouble()))
+                .thenReturn(resposta("Centro", -23.55, -46.65, 25.0));
+
+        WeatherResponse saoPaulo = weatherService.buscarClima("São Paulo", "SP");
+        WeatherResponse guarulhos = weatherService.buscarClima("Guarulhos", "SP");
+
+        verify(weatherClient, times(1)).consultarPorCoordenadas(
+                doubleThat(latitude -> Math.abs(latitude + 23.55) < 1e-9),
+                doubleThat(longitude -> Math.abs(longitude + 46.65) < 1e-9));
+        assertEquals(25.0, saoPaulo.getTemperatura());
+        assertEquals(25.0, guarulhos.getTemperatura());
+        assertEquals("Guarulhos", guarulhos.getCidade());
+    }
+
+    @Test
+    void celula_DeveGuardarLinhaEColunaNegativas() {
+        long celula = WeatherService.celula(-23.55, -46.63, 0.1);
+
+        assertEquals(-236, WeatherService.linha(celula));
+        assertEquals(-467, WeatherService.coluna(celula));
+        assertNotEquals(celula, WeatherService.celula(-23.55, -46.71, 0.1));
+    }
+
+    private static OpenWeatherResponse resposta(String nome, double latitude, double longitude, double temperatura) {
+        return new OpenWeatherResponse(nome, 1760781600L,
+                new OpenWeatherResponse.Coord(latitude, longitude),
+                List.of(new OpenWeatherResponse.Weather("Clouds", "nublado", "04d")),
+                new OpenWeatherResponse.Main(temperatura, temperatura - 0.3, 64, 1015),
+                new OpenWeatherResponse.Wind(3.6));
+    }
+}